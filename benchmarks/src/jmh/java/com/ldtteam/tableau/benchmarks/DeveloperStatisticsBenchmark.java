@@ -0,0 +1,152 @@
+package com.ldtteam.tableau.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.ldtteam.tableau.git.repository.DeveloperStatistics;
+import com.ldtteam.tableau.git.repository.GitRepositoryReader;
+import com.ldtteam.tableau.git.repository.Mailmap;
+
+/**
+ * Compares collecting the developer statistics, which replaced parsing the output of {@code git shortlog}, by walking
+ * the entire history against advancing previously collected statistics by a few commits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeveloperStatisticsBenchmark {
+
+    /**
+     * The amount of commits in the synthetic repository.
+     */
+    @Param({"20000"})
+    public int commitCount;
+
+    /**
+     * The amount of distinct authors of the commits.
+     */
+    @Param({"50"})
+    public int authorCount;
+
+    /**
+     * The amount of commits the cached statistics are behind the head.
+     */
+    @Param({"10"})
+    public int newCommits;
+
+    private Path directory;
+    private Repository repository;
+    private ObjectId head;
+    private DeveloperStatistics cached;
+
+    /**
+     * Creates the synthetic repository, with a linear history of empty commits.
+     *
+     * @throws IOException When the repository could not be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tableau-developer-statistics");
+        repository = FileRepositoryBuilder.create(directory.resolve(Constants.DOT_GIT).toFile());
+        repository.create();
+
+        ObjectId parent = null;
+        ObjectId cachedHead = null;
+        try (ObjectInserter inserter = repository.newObjectInserter()) {
+            final ObjectId tree = inserter.insert(new TreeFormatter());
+            final Instant start = Instant.parse("2015-01-01T00:00:00Z");
+            for (int i = 0; i < commitCount; i++) {
+                final PersonIdent author = new PersonIdent(
+                        "Developer %d".formatted(i % authorCount),
+                        "developer%d@example.com".formatted(i % authorCount),
+                        start.plusSeconds(i * 3_600L),
+                        ZoneOffset.UTC);
+
+                final CommitBuilder commit = new CommitBuilder();
+                commit.setTreeId(tree);
+                commit.setAuthor(author);
+                commit.setCommitter(author);
+                commit.setMessage("Commit %d".formatted(i));
+                if (parent != null) {
+                    commit.setParentId(parent);
+                }
+                parent = inserter.insert(commit);
+
+                if (i == commitCount - newCommits - 1) {
+                    cachedHead = parent;
+                }
+            }
+            inserter.flush();
+        }
+
+        final RefUpdate update = repository.updateRef(Constants.R_HEADS + Constants.MASTER);
+        update.setNewObjectId(parent);
+        update.forceUpdate();
+
+        head = parent;
+        cached = DeveloperStatistics.collect(repository, cachedHead);
+    }
+
+    /**
+     * Closes and deletes the synthetic repository.
+     *
+     * @throws IOException When the repository could not be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Collects the statistics by walking the entire history, as happens when nothing is cached.
+     *
+     * @return The history summary.
+     * @throws IOException When the history could not be walked.
+     */
+    @Benchmark
+    public GitRepositoryReader.History fullWalk() throws IOException {
+        return DeveloperStatistics.collect(repository, head).toHistory(Mailmap.EMPTY);
+    }
+
+    /**
+     * Advances the cached statistics to the head, as happens after pulling a few commits.
+     *
+     * @return The history summary.
+     * @throws IOException When the history could not be walked.
+     */
+    @Benchmark
+    public GitRepositoryReader.History incremental() throws IOException {
+        return cached.advance(repository, head).toHistory(Mailmap.EMPTY);
+    }
+}
@@ -0,0 +1,128 @@
+package com.ldtteam.tableau.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ldtteam.tableau.resource.processing.utils.StreamingInterpolator;
+import com.ldtteam.tableau.resource.processing.utils.TokenIndex;
+
+import groovy.text.SimpleTemplateEngine;
+
+/**
+ * Compares rendering a tree of JSON resources as Groovy templates, which is what {@code expand} does,
+ * against the {@link StreamingInterpolator}, which copies resources without tokens through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InterpolationBenchmark {
+
+    private static final String MODEL = """
+            {
+              "parent": "minecraft:block/cube_all",
+              "textures": {
+                "all": "examplemod:block/block_%d"
+              }
+            }
+            """;
+
+    private static final String TOKENIZED = """
+            {
+              "id": "${mod_id}",
+              "version": "${version}",
+              "minecraft": "${minecraft.version}",
+              "index": %d
+            }
+            """;
+
+    /**
+     * The amount of resources to render.
+     */
+    @Param({"2000"})
+    public int resourceCount;
+
+    /**
+     * Every n-th resource references properties, the others contain no tokens at all.
+     */
+    @Param({"1", "50"})
+    public int tokenizedEvery;
+
+    private List<String> resources;
+    private List<String> groovyResources;
+    private Map<String, Object> properties;
+
+    /**
+     * Creates the synthetic resources.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        resources = new ArrayList<>(resourceCount);
+        for (int i = 0; i < resourceCount; i++) {
+            resources.add((i % tokenizedEvery == 0 ? TOKENIZED : MODEL).formatted(i));
+        }
+
+        //A dotted key is not a valid Groovy reference, so the Groovy resources reference the version twice instead.
+        groovyResources = resources.stream().map(resource -> resource.replace("${minecraft.version}", "${version}")).toList();
+
+        properties = new HashMap<>();
+        properties.put("mod_id", "examplemod");
+        properties.put("version", "1.0.0");
+        properties.put("minecraft.version", "1.21.3");
+    }
+
+    /**
+     * Renders every resource as a Groovy template, like {@code expand} does.
+     *
+     * @return The total length of the rendered resources.
+     * @throws Exception When a resource could not be rendered.
+     */
+    @Benchmark
+    public long groovyTemplate() throws Exception {
+        final SimpleTemplateEngine engine = new SimpleTemplateEngine();
+        long length = 0;
+        for (final String resource : groovyResources) {
+            final StringWriter writer = new StringWriter();
+            engine.createTemplate(resource).make(new HashMap<>(properties)).writeTo(writer);
+            length += writer.getBuffer().length();
+        }
+        return length;
+    }
+
+    /**
+     * Scans every resource for tokens, copies resources without tokens and streams the others.
+     *
+     * @return The total length of the rendered resources.
+     * @throws IOException When a resource could not be rendered.
+     */
+    @Benchmark
+    public long streaming() throws IOException {
+        long length = 0;
+        for (final String resource : resources) {
+            if (TokenIndex.scan(new StringReader(resource)).isEmpty()) {
+                length += resource.length();
+                continue;
+            }
+
+            final StringWriter writer = new StringWriter();
+            StreamingInterpolator.interpolate(new StringReader(resource), writer, properties);
+            length += writer.getBuffer().length();
+        }
+        return length;
+    }
+}
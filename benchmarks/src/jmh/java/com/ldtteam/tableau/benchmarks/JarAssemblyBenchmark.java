@@ -0,0 +1,179 @@
+package com.ldtteam.tableau.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.ldtteam.tableau.java.tasks.ParallelZipWriter;
+
+/**
+ * Compares writing the jar of a large mod with a single threaded {@link ZipOutputStream} against the
+ * {@link ParallelZipWriter} of the Tableau jar task, both when every entry has to be compressed and when the
+ * compressed entries of a previous build are reused.
+ * <p>
+ * This isolates the zip writers from Gradle. The stock jar task itself is compared against the Tableau jar task by
+ * the {@code JAR} and {@code JAR_STOCK} scenarios of the performance suite in {@code src/performanceTest}, which
+ * build the example projects with and without parallel compression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JarAssemblyBenchmark {
+
+    /**
+     * The amount of class files in the jar.
+     */
+    @Param({"20000"})
+    public int classCount;
+
+    /**
+     * The amount of resource files in the jar.
+     */
+    @Param({"5000"})
+    public int resourceCount;
+
+    private Path directory;
+    private Path cache;
+    private Map<String, byte[]> entries;
+
+    /**
+     * Creates the synthetic mod output, and fills the cache of compressed entries.
+     *
+     * @throws IOException When the cache could not be filled.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tableau-jar-assembly");
+        cache = directory.resolve("cache");
+        entries = new TreeMap<>();
+
+        final Random random = new Random(0);
+        entries.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\nImplementation-Title: synthetic\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < classCount; i++) {
+            entries.put("com/example/mod/package%d/Class%d.class".formatted(i % 200, i), classFile(random, i));
+        }
+        for (int i = 0; i < resourceCount; i++) {
+            entries.put("assets/mod/models/block/block%d.json".formatted(i), """
+                    {
+                      "parent": "minecraft:block/cube_all",
+                      "textures": {
+                        "all": "mod:block/block%d"
+                      }
+                    }
+                    """.formatted(i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        parallel(cache, directory.resolve("warm-up.jar"));
+    }
+
+    /**
+     * Deletes the synthetic mod output and the written jars.
+     *
+     * @throws IOException When a file could not be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Writes the jar with a single threaded zip output stream.
+     *
+     * @return The written jar.
+     * @throws IOException When the jar could not be written.
+     */
+    @Benchmark
+    public Path zipOutputStream() throws IOException {
+        final Path jar = directory.resolve("zip-output-stream.jar");
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(jar), 1 << 16); ZipOutputStream zip = new ZipOutputStream(stream)) {
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                final ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                zipEntry.setTime(ParallelZipWriter.CONSTANT_TIME_FOR_ZIP_ENTRIES);
+                zip.putNextEntry(zipEntry);
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    /**
+     * Writes the jar with the parallel zip writer, compressing every entry.
+     *
+     * @return The written jar.
+     * @throws IOException When the jar could not be written.
+     */
+    @Benchmark
+    public Path parallel() throws IOException {
+        return parallel(null, directory.resolve("parallel.jar"));
+    }
+
+    /**
+     * Writes the jar with the parallel zip writer, reusing the compressed entries of a previous build.
+     *
+     * @return The written jar.
+     * @throws IOException When the jar could not be written.
+     */
+    @Benchmark
+    public Path parallelReusingEntries() throws IOException {
+        return parallel(cache, directory.resolve("parallel-reusing-entries.jar"));
+    }
+
+    private Path parallel(Path cacheDirectory, Path jar) throws IOException {
+        try (ParallelZipWriter writer = new ParallelZipWriter(true, false, false, StandardCharsets.UTF_8, Runtime.getRuntime().availableProcessors(), cacheDirectory)) {
+            for (final Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                writer.addFile(entry.getKey(), ParallelZipWriter.FILE_FLAG | 0644, 0, entry.getValue());
+            }
+            writer.write(jar);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing " + jar, e);
+        }
+        return jar;
+    }
+
+    private static byte[] classFile(Random random, int index) {
+        //Roughly the shape of a class file: a constant pool of repeating names, followed by less compressible code.
+        final StringBuilder constants = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            constants.append("com/example/mod/package").append(random.nextInt(200)).append("/Class").append(random.nextInt(index + 1)).append(';');
+        }
+
+        final byte[] names = constants.toString().getBytes(StandardCharsets.UTF_8);
+        final byte[] code = new byte[1024 + random.nextInt(4096)];
+        for (int i = 0; i < code.length; i++) {
+            code[i] = (byte) random.nextInt(48);
+        }
+
+        final byte[] classFile = new byte[names.length + code.length];
+        System.arraycopy(names, 0, classFile, 0, names.length);
+        System.arraycopy(code, 0, classFile, names.length, code.length);
+        return classFile;
+    }
+}
@@ -0,0 +1,165 @@
+package com.ldtteam.tableau.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.core.file.FileConfig;
+import com.ldtteam.tableau.neoforge.metadata.utils.JarInspector;
+
+/**
+ * Compares reading the mod metadata of many jars through a zip {@link FileSystem}, the previous approach,
+ * against the {@link JarInspector}, sequentially and in parallel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JarInspectionBenchmark {
+
+    private static final String MODS_TOML = """
+            modLoader = "javafml"
+            loaderVersion = "[4,)"
+            license = "MIT"
+
+            [[mods]]
+            modId = "%s"
+            version = "1.0.0"
+            displayName = "Synthetic mod %s"
+            """;
+
+    /**
+     * The amount of synthetic jars to inspect.
+     */
+    @Param({"300"})
+    public int jarCount;
+
+    /**
+     * The amount of filler class entries in each synthetic jar.
+     */
+    @Param({"500"})
+    public int entriesPerJar;
+
+    private Path directory;
+    private List<File> jars;
+
+    /**
+     * Creates the synthetic mod jars.
+     *
+     * @throws IOException When a jar could not be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tableau-jar-inspection");
+        jars = new ArrayList<>(jarCount);
+
+        final byte[] filler = new byte[512];
+        for (int i = 0; i < jarCount; i++) {
+            final Path jar = directory.resolve("mod-%d.jar".formatted(i));
+            try (OutputStream stream = Files.newOutputStream(jar); ZipOutputStream zip = new ZipOutputStream(stream)) {
+                for (int j = 0; j < entriesPerJar; j++) {
+                    zip.putNextEntry(new ZipEntry("com/example/mod%d/Class%d.class".formatted(i, j)));
+                    zip.write(filler);
+                    zip.closeEntry();
+                }
+
+                zip.putNextEntry(new ZipEntry(JarInspector.MODS_TOML));
+                zip.write(MODS_TOML.formatted("mod" + i, i).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            jars.add(jar.toFile());
+        }
+    }
+
+    /**
+     * Deletes the synthetic mod jars.
+     *
+     * @throws IOException When a jar could not be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Reads the metadata of every jar by opening it as a zip file system.
+     *
+     * @return The mod ids.
+     * @throws IOException When a jar could not be read.
+     */
+    @Benchmark
+    public List<String> fileSystem() throws IOException {
+        final List<String> modIds = new ArrayList<>(jars.size());
+        for (final File jar : jars) {
+            try (FileSystem fileSystem = FileSystems.newFileSystem(jar.toPath())) {
+                final Path path = fileSystem.getPath(JarInspector.MODS_TOML);
+                if (!Files.exists(path)) {
+                    continue;
+                }
+
+                final FileConfig config = FileConfig.builder(path).build();
+                config.load();
+                modIds.add(config.<List<CommentedConfig>>get("mods").get(0).get("modId"));
+            }
+        }
+        return modIds;
+    }
+
+    /**
+     * Reads the metadata of every jar with the inspector, one jar at a time.
+     *
+     * @return The mod ids.
+     * @throws IOException When a jar could not be read.
+     */
+    @Benchmark
+    public List<String> inspectorSequential() throws IOException {
+        final List<String> modIds = new ArrayList<>(jars.size());
+        for (final File jar : jars) {
+            JarInspector.readModsToml(jar, JarInspector.MODS_TOML).ifPresent(config -> modIds.add(modIdOf(config)));
+        }
+        return modIds;
+    }
+
+    /**
+     * Reads the metadata of all jars with the inspector, in parallel.
+     *
+     * @return The metadata per jar.
+     */
+    @Benchmark
+    public Map<File, Optional<String>> inspectorParallel() {
+        return JarInspector.inspectAll(jars, jar -> JarInspector.readModsToml(jar, JarInspector.MODS_TOML).map(JarInspectionBenchmark::modIdOf));
+    }
+
+    private static String modIdOf(CommentedConfig config) {
+        return config.<List<CommentedConfig>>get("mods").get(0).get("modId");
+    }
+}
@@ -0,0 +1,113 @@
+package com.ldtteam.tableau.benchmarks;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.toml.TomlWriter;
+import com.ldtteam.tableau.neoforge.metadata.toml.ConfigSnapshot;
+
+/**
+ * Measures writing the mods metadata file, from the configs the mods component writes to the TOML text.
+ * <p>
+ * The components themselves need a fully configured project, so the configs they produce are built directly,
+ * with the same structure as {@code ModsComponent.write}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetadataWritingBenchmark {
+
+    /**
+     * The amount of mods in the metadata file.
+     */
+    @Param({"1", "20"})
+    public int modCount;
+
+    /**
+     * The amount of dependencies of each mod.
+     */
+    @Param({"10"})
+    public int dependenciesPerMod;
+
+    private CommentedConfig config;
+    private ConfigSnapshot snapshot;
+
+    /**
+     * Builds the configs of the mods.
+     */
+    @Setup
+    public void setUp() {
+        config = CommentedConfig.inMemory();
+        config.set("modLoader", "javafml");
+        config.set("loaderVersion", "[4,)");
+        config.set("license", "MIT");
+        config.setComment("license", "The license of the mods in this jar.");
+
+        final List<CommentedConfig> mods = new ArrayList<>(modCount);
+        for (int i = 0; i < modCount; i++) {
+            final String modId = "mod%d".formatted(i);
+
+            final CommentedConfig mod = CommentedConfig.inMemory();
+            mod.set("modId", modId);
+            mod.set("version", "1.0.%d".formatted(i));
+            mod.set("displayName", "Synthetic mod %d".formatted(i));
+            mod.set("displayURL", "https://example.com/%s".formatted(modId));
+            mod.set("logoFile", "META-INF/Tableau/Logos/%s.png".formatted(modId));
+            mod.set("authors", "Tableau");
+            mod.set("description", "A synthetic mod, with a description\nwhich spans multiple lines.");
+            mods.add(mod);
+
+            final List<CommentedConfig> dependencies = new ArrayList<>(dependenciesPerMod);
+            for (int j = 0; j < dependenciesPerMod; j++) {
+                final CommentedConfig dependency = CommentedConfig.inMemory();
+                dependency.set("modId", "dependency%d".formatted(j));
+                dependency.set("type", "required");
+                dependency.set("version", "[1.0,2.0)");
+                dependency.set("ordering", "NONE");
+                dependency.set("side", "BOTH");
+                dependencies.add(dependency);
+            }
+            config.set("dependencies.%s".formatted(modId), dependencies);
+        }
+        config.set("mods", mods);
+
+        snapshot = ConfigSnapshot.of(config);
+    }
+
+    /**
+     * Snapshots the configs, as happens when the metadata task is configured.
+     *
+     * @return The snapshot.
+     */
+    @Benchmark
+    public ConfigSnapshot snapshot() {
+        return ConfigSnapshot.of(config);
+    }
+
+    /**
+     * Restores the configs from a snapshot and writes them as TOML, as happens when the metadata task runs.
+     *
+     * @return The TOML text.
+     */
+    @Benchmark
+    public String write() {
+        final CommentedConfig restored = CommentedConfig.inMemory();
+        snapshot.applyTo(restored);
+
+        final StringWriter writer = new StringWriter();
+        new TomlWriter().write(restored, writer);
+        return writer.toString();
+    }
+}
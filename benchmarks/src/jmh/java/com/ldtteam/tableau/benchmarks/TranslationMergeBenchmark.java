@@ -0,0 +1,147 @@
+package com.ldtteam.tableau.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.google.gson.stream.JsonWriter;
+import com.ldtteam.tableau.crowdin.utils.TranslationRuns;
+
+import groovy.json.JsonOutput;
+import groovy.json.JsonSlurper;
+
+/**
+ * Compares merging translation files by loading them all into a map, the previous approach, against merging
+ * their sorted runs, both when every run has to be written and when the runs of unchanged files are reused.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TranslationMergeBenchmark {
+
+    /**
+     * The amount of translation files to merge.
+     */
+    @Param({"20"})
+    public int fileCount;
+
+    /**
+     * The amount of translations in each file.
+     */
+    @Param({"20000"})
+    public int keysPerFile;
+
+    private Path directory;
+    private List<File> sources;
+    private List<File> runs;
+    private File target;
+
+    /**
+     * Creates the synthetic translation files, and their runs.
+     *
+     * @throws IOException When a file could not be written.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tableau-translation-merge");
+        Files.createDirectories(directory.resolve("tmp"));
+        sources = new ArrayList<>(fileCount);
+        runs = new ArrayList<>(fileCount);
+        target = directory.resolve("merged.json").toFile();
+
+        for (int i = 0; i < fileCount; i++) {
+            final Path source = directory.resolve("source-%d.json".formatted(i));
+            try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(source, StandardCharsets.UTF_8))) {
+                writer.beginObject();
+                for (int j = 0; j < keysPerFile; j++) {
+                    //Half of the keys overlap with the other files, so that overriding is exercised as well.
+                    final String key = j % 2 == 0 ? "shared.key.%d".formatted(j) : "file%d.key.%d".formatted(i, j);
+                    writer.name(key).value("Translation %d of file %d".formatted(j, i));
+                }
+                writer.endObject();
+            }
+            sources.add(source.toFile());
+
+            final File run = directory.resolve("run-%d.bin".formatted(i)).toFile();
+            TranslationRuns.writeRun(source.toFile(), run, directory.resolve("tmp").toFile(), TranslationRuns.DEFAULT_CHUNK_SIZE);
+            runs.add(run);
+        }
+    }
+
+    /**
+     * Deletes the synthetic translation files.
+     *
+     * @throws IOException When a file could not be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Loads every file into a single map, and writes the map.
+     *
+     * @throws IOException When the target could not be written.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void slurper() throws IOException {
+        final JsonSlurper slurper = new JsonSlurper();
+        final Map<String, Object> merged = new HashMap<>();
+        for (final File source : sources) {
+            merged.putAll((Map<String, Object>) slurper.parse(source));
+        }
+
+        try (Writer writer = Files.newBufferedWriter(target.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(JsonOutput.toJson(merged));
+        }
+    }
+
+    /**
+     * Writes the run of every file, and merges the runs.
+     *
+     * @throws IOException When a file could not be read or written.
+     */
+    @Benchmark
+    public void runs() throws IOException {
+        for (int i = 0; i < fileCount; i++) {
+            TranslationRuns.writeRun(sources.get(i), runs.get(i), directory.resolve("tmp").toFile(), TranslationRuns.DEFAULT_CHUNK_SIZE);
+        }
+        TranslationRuns.mergeToJson(runs, target);
+    }
+
+    /**
+     * Merges the existing runs, as happens when none of the files changed since the last merge.
+     *
+     * @throws IOException When a file could not be read or written.
+     */
+    @Benchmark
+    public void cachedRuns() throws IOException {
+        TranslationRuns.mergeToJson(runs, target);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ldtteam.tableau.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ldtteam.tableau.utilities.extensions.UtilityFunctions;
+
+/**
+ * Measures computing the project version from the minecraft version, as happens for every project which
+ * offsets its version by the minecraft version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VersionNumberBenchmark {
+
+    /**
+     * The version of the project, whose element is offset.
+     */
+    @Param({"1.2.3", "1.2.3.4.5.6"})
+    public String sourceVersion;
+
+    private UtilityFunctions utilityFunctions;
+
+    /**
+     * Creates the utility functions, the same way the extension is created for a project.
+     */
+    @Setup
+    public void setUp() {
+        utilityFunctions = ProjectBuilder.builder().build().getObjects().newInstance(UtilityFunctions.class);
+    }
+
+    /**
+     * Offsets the version by the difference between two minecraft versions.
+     *
+     * @return The version with the offset applied.
+     */
+    @Benchmark
+    public String buildVersionNumberWithOffset() {
+        return utilityFunctions.buildVersionNumberWithOffset(sourceVersion, "1.21.4", "1.20.1", 1, 1);
+    }
+}
@@ -9,10 +9,16 @@ import org.gradle.api.initialization.Settings;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Defines the core settings plugin for bootstrapping Tableau.
@@ -26,6 +32,18 @@ import java.util.Map;
  */
 public class BootstrapSettingsPlugin implements Plugin<Settings> {
 
+    /**
+     * The directory, relative to the Gradle user home, in which the bootstrap files are kept per version.
+     */
+    private static final String BOOTSTRAP_DIRECTORY = "caches/tableau/bootstrap";
+
+    private static final String BOOTSTRAP_FILE = "bootstrap.gradle";
+
+    /**
+     * How long the bootstrap file of another version may remain unused before it is deleted.
+     */
+    private static final Duration MAX_UNUSED_AGE = Duration.ofDays(30);
+
     /**
      * Creates a new plugin instance.
      */
@@ -45,13 +63,11 @@ public class BootstrapSettingsPlugin implements Plugin<Settings> {
             repo.setName("Tableau");
         });
 
-        //Configure the dependencies section -> This needs to be in a temporary file, with a different buildscript block.
+        //Configure the dependencies section -> This needs to be in a separate file, with a different buildscript block.
         //When gradle then applies the file, it will detect the different classpath and create a new isolation scope,
         //With a new classloader. This new classloader is now aware of the Tableau main plugin and will apply it.
+        //The file lives at a stable location per version, so gradle can reuse the compiled script between builds.
         try {
-            //Create the new temp file.
-            final File tempFile = File.createTempFile("tableau-bootstrap", ".gradle");
-
             //We need to write out a gradle plugin file that then applies the plugin.
             final String pluginFile = """
                     buildscript {
@@ -71,19 +87,62 @@ public class BootstrapSettingsPlugin implements Plugin<Settings> {
                     apply plugin: com.ldtteam.tableau.TableauPlugin
                     """.formatted(version);
 
-            //Write the file.
-            Files.writeString(tempFile.toPath(), pluginFile);
+            final Path bootstrapFile = target.getGradle().getGradleUserHomeDir().toPath()
+                    .resolve(BOOTSTRAP_DIRECTORY)
+                    .resolve(String.valueOf(version).replaceAll("[^A-Za-z0-9._-]", "_"))
+                    .resolve(BOOTSTRAP_FILE);
+            writeIfChanged(bootstrapFile, pluginFile);
 
             //Apply the plugin.
-            target.apply(Map.of("from", tempFile.getAbsolutePath()));
+            target.apply(Map.of("from", bootstrapFile.toAbsolutePath().toString()));
+        } catch (IOException e) {
+            LoggerFactory.getLogger(BootstrapSettingsPlugin.class).error("Failed to create the bootstrap file for plugin application.", e);
+            throw new GradleException("Failed to create the bootstrap file for plugin application.", e);
+        }
+    }
 
-            //Delete the temp file.
-            if (!tempFile.delete()) {
-                LoggerFactory.getLogger(BootstrapSettingsPlugin.class).warn("Failed to delete temp file: {}", tempFile.getAbsolutePath());
+    private static void writeIfChanged(Path file, String content) throws IOException {
+        if (Files.isRegularFile(file) && Files.readString(file).equals(content)) {
+            //Mark the file as used, so that it is not considered unused by builds using other versions.
+            final FileTime now = FileTime.from(Instant.now());
+            if (Files.getLastModifiedTime(file).toInstant().isBefore(now.toInstant().minus(Duration.ofDays(1)))) {
+                Files.setLastModifiedTime(file, now);
             }
+            return;
+        }
+
+        Files.createDirectories(file.getParent());
+
+        //Bootstrap files are replaced atomically, so that a build applying the file never reads a partial file.
+        //This plugin is published on its own, and therefore can not use the cache utilities of the core plugin.
+        final Path temporary = Files.createTempFile(file.getParent(), BOOTSTRAP_FILE, ".tmp");
+        try {
+            Files.writeString(temporary, content);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        try {
+            deleteUnusedVersions(file.getParent());
         } catch (IOException e) {
-            LoggerFactory.getLogger(BootstrapSettingsPlugin.class).error("Failed to create temp file for plugin application.", e);
-            throw new GradleException("Failed to create temp file for plugin application.", e);
+            LoggerFactory.getLogger(BootstrapSettingsPlugin.class).info("Failed to delete unused bootstrap files.", e);
+        }
+    }
+
+    private static void deleteUnusedVersions(Path versionDirectory) throws IOException {
+        final Instant unusedSince = Instant.now().minus(MAX_UNUSED_AGE);
+        try (Stream<Path> versions = Files.list(versionDirectory.getParent())) {
+            for (final Path version : versions.filter(Files::isDirectory).filter(version -> !version.equals(versionDirectory)).toList()) {
+                final Path file = version.resolve(BOOTSTRAP_FILE);
+                if (!Files.exists(file) || Files.getLastModifiedTime(file).toInstant().isBefore(unusedSince)) {
+                    try (Stream<Path> files = Files.walk(version)) {
+                        for (final Path unused : files.sorted(Comparator.reverseOrder()).toList()) {
+                            Files.deleteIfExists(unused);
+                        }
+                    }
+                }
+            }
         }
     }
 }
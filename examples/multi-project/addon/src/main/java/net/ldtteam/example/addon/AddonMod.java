@@ -0,0 +1,16 @@
+package net.ldtteam.example.addon;
+
+import net.neoforged.fml.common.Mod;
+
+/**
+ * Example mod class.
+ */
+@Mod("exampleaddon")
+public class AddonMod {
+
+    /**
+     * Creates a new example mod.
+     */
+    public AddonMod() {
+    }
+}
@@ -0,0 +1,16 @@
+package net.ldtteam.example.core;
+
+import net.neoforged.fml.common.Mod;
+
+/**
+ * Example mod class.
+ */
+@Mod("examplecore")
+public class CoreMod {
+
+    /**
+     * Creates a new example mod.
+     */
+    public CoreMod() {
+    }
+}
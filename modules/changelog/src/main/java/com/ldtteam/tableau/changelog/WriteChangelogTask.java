@@ -1,11 +1,13 @@
 package com.ldtteam.tableau.changelog;
 
 import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ProjectLayout;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.*;
 import org.gradle.work.DisableCachingByDefault;
 
+import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -27,13 +29,16 @@ public abstract class WriteChangelogTask extends DefaultTask {
 
     /**
      * Creates a new task instance.
+     *
+     * @param layout The layout of the project the task belongs to.
      */
-    public WriteChangelogTask() {
+    @Inject
+    public WriteChangelogTask(ProjectLayout layout) {
         setGroup("documentation");
         setDescription("Writes a changelog component to the changelog file.");
 
         getChangelogFile().convention(
-                getProject().getLayout().getBuildDirectory().file("changelog.md")
+                layout.getBuildDirectory().file("changelog.md")
         );
         onlyIf(t -> getComponent().isPresent());
     }
@@ -6,11 +6,16 @@ package com.ldtteam.tableau.common;
 import com.ldtteam.tableau.common.extensions.ProjectExtension;
 import com.ldtteam.tableau.common.extensions.VersioningExtension;
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import com.ldtteam.tableau.utilities.extensions.UtilityFunctions;
+import com.ldtteam.tableau.utilities.utils.FinalizableStringValue;
 import org.gradle.api.Project;
 import org.gradle.api.Plugin;
 import org.gradle.api.file.DuplicatesStrategy;
+import org.gradle.api.problems.ProblemGroup;
+import org.gradle.api.problems.ProblemId;
 import org.gradle.api.problems.Problems;
+import org.gradle.api.problems.Severity;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Copy;
 import org.gradle.api.tasks.bundling.Jar;
@@ -29,6 +34,7 @@ import java.util.Objects;
 @SuppressWarnings("UnstableApiUsage")
 public class CommonProjectPlugin implements Plugin<Project> {
 
+    private static final ProblemGroup COMMON_GROUP = TableauScriptingExtension.problemGroup("common", "Common");
 
     private final Problems problems;
 
@@ -130,15 +136,48 @@ public class CommonProjectPlugin implements Plugin<Project> {
         target.setVersion(projectVersion);
 
         //Set the group of the project.
-        target.setGroup(new ProjectGroup(ProjectExtension.get(target).getGroup()));
+        final ProjectGroup projectGroup = new ProjectGroup(ProjectExtension.get(target).getGroup());
+        target.setGroup(projectGroup);
+
+        //The version and group are finalized once the build script is evaluated. This plugin is applied before the build
+        //script runs, so its hook runs first. Changes made later are reported once the task graph is known.
+        ConfigurationProfiler.afterEvaluate(target, "CommonProjectPlugin", evaluated -> {
+            projectVersion.finalizeValue();
+            projectGroup.finalizeValue();
+        });
+        target.getGradle().getTaskGraph().whenReady(graph -> {
+            reportLateChange(target, "version", projectVersion);
+            reportLateChange(target, "group", projectGroup);
+        });
+    }
+
+    /**
+     * Reports a warning when the inputs of the given value changed after it was finalized and used.
+     *
+     * @param target The project the value belongs to.
+     * @param name   The name of the value.
+     * @param value  The value to check.
+     */
+    private void reportLateChange(Project target, String name, FinalizableStringValue value) {
+        final String changed = value.changedValue();
+        if (changed == null) {
+            return;
+        }
+
+        problems.getReporter().report(
+                ProblemId.create("late-project-%s-change".formatted(name), "Project %s changed after it was finalized".formatted(name), COMMON_GROUP),
+                spec -> spec.details("The %s of project %s was changed to %s after the build script was evaluated, %s is used instead.".formatted(name, target.getPath(), changed, value))
+                        .severity(Severity.WARNING)
+                        .solution("Configure the %s in tableau's project block of the build script, not in an after evaluate hook or a task.".formatted(name))
+                        .documentedAt("https://tableau.ldtteam.com/docs/getting-started#configuring-the-basics"));
     }
 
     /**
      * A record to store the project version, returning only the project version when {@link Object#toString()} is called.
+     * <p>
+     * The version is memoized once the build script is evaluated, see {@link FinalizableStringValue}.
      */
-    @SuppressWarnings("ClassCanBeRecord") //Gradle does not like it.
-    public static final class ProjectVersion {
-        private final Provider<String> versionProvider;
+    public static final class ProjectVersion extends FinalizableStringValue {
 
         /**
          * Creates a new project version provider wrapper.
@@ -146,12 +185,7 @@ public class CommonProjectPlugin implements Plugin<Project> {
          * @param versionProvider The provider for the version.
          */
         public ProjectVersion(Provider<String> versionProvider) {
-            this.versionProvider = versionProvider;
-        }
-
-        @Override
-        public String toString() {
-            return versionProvider().get();
+            super(versionProvider);
         }
 
         /**
@@ -160,7 +194,7 @@ public class CommonProjectPlugin implements Plugin<Project> {
          * @return The version provider.
          */
         public Provider<String> versionProvider() {
-            return versionProvider;
+            return provider();
         }
 
         @Override
@@ -168,22 +202,22 @@ public class CommonProjectPlugin implements Plugin<Project> {
             if (obj == this) return true;
             if (obj == null || obj.getClass() != this.getClass()) return false;
             var that = (ProjectVersion) obj;
-            return Objects.equals(this.versionProvider, that.versionProvider);
+            return Objects.equals(this.provider(), that.provider());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(versionProvider);
+            return Objects.hash(provider());
         }
 
     }
 
     /**
      * A record to store the project group, returning only the project group when {@link Object#toString()} is called.
+     * <p>
+     * The group is memoized once the build script is evaluated, see {@link FinalizableStringValue}.
      */
-    @SuppressWarnings("ClassCanBeRecord") //Gradle does not like it.
-    public static final class ProjectGroup {
-        private final Provider<String> groupProvider;
+    public static final class ProjectGroup extends FinalizableStringValue {
 
         /**
          * Creates a new project group provider wrapper.
@@ -191,12 +225,7 @@ public class CommonProjectPlugin implements Plugin<Project> {
          * @param groupProvider The provider for the group.
          */
         public ProjectGroup(Provider<String> groupProvider) {
-            this.groupProvider = groupProvider;
-        }
-
-        @Override
-        public String toString() {
-            return groupProvider().get();
+            super(groupProvider);
         }
 
         /**
@@ -205,7 +234,7 @@ public class CommonProjectPlugin implements Plugin<Project> {
          * @return The group provider.
          */
         public Provider<String> groupProvider() {
-            return groupProvider;
+            return provider();
         }
 
         @Override
@@ -213,12 +242,12 @@ public class CommonProjectPlugin implements Plugin<Project> {
             if (obj == this) return true;
             if (obj == null || obj.getClass() != this.getClass()) return false;
             var that = (ProjectGroup) obj;
-            return Objects.equals(this.groupProvider, that.groupProvider);
+            return Objects.equals(this.provider(), that.provider());
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(groupProvider);
+            return Objects.hash(provider());
         }
 
     }
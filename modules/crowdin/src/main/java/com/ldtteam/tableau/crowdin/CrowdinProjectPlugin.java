@@ -6,19 +6,23 @@ package com.ldtteam.tableau.crowdin;
 import com.ldtteam.tableau.common.CommonPlugin;
 import com.ldtteam.tableau.crowdin.extensions.CrowdinExtension;
 import com.ldtteam.tableau.crowdin.tasks.MergeTranslations;
+import com.ldtteam.tableau.crowdin.tasks.NormalizeTranslations;
+import com.ldtteam.tableau.crowdin.utils.CrowdinSourceManifestService;
 import com.ldtteam.tableau.git.GitPlugin;
 import com.ldtteam.tableau.git.extensions.GitExtension;
 import com.ldtteam.tableau.scripting.ScriptingPlugin;
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Project;
 import org.gradle.api.Plugin;
 import org.gradle.api.file.Directory;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.problems.ProblemGroup;
 import org.gradle.api.problems.ProblemId;
 import org.gradle.api.problems.Problems;
-import org.gradle.api.tasks.Copy;
-import org.gradle.api.tasks.Delete;
+import org.gradle.api.problems.Severity;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskProvider;
 import org.jetbrains.annotations.NotNull;
 import org.zaproxy.gradle.crowdin.CrowdinPlugin;
@@ -28,7 +32,9 @@ import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.util.Locale;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -37,6 +43,8 @@ import java.util.regex.Pattern;
 @SuppressWarnings("UnstableApiUsage")
 public class CrowdinProjectPlugin implements Plugin<Project> {
 
+    private static final String SOURCE_FILE_NAME = "en_us.json";
+
     private static final ProblemGroup CROWDIN_GROUP = TableauScriptingExtension.problemGroup("crowdin", "Crowdin");
 
     private final Problems problems;
@@ -62,7 +70,7 @@ public class CrowdinProjectPlugin implements Plugin<Project> {
         //Register the DSL extension.
         TableauScriptingExtension.register(target, CrowdinExtension.EXTENSION_NAME, CrowdinExtension.class);
 
-        target.afterEvaluate(ignored -> {
+        ConfigurationProfiler.afterEvaluate(target, "CrowdinProjectPlugin", ignored -> {
             final CrowdinExtension crowdinExtension = CrowdinExtension.get(target);
 
             if (!crowdinExtension.getProjectId().isPresent()) {
@@ -96,8 +104,22 @@ public class CrowdinProjectPlugin implements Plugin<Project> {
                     });
                 }
 
+                //The default target is the default source, a target is written by the merge and can never be one of its sources.
+                final Set<File> targetSources = new HashSet<>(crowdinExtension.getSourceFiles().getFiles());
+                targetSources.retainAll(crowdinExtension.getTargetFiles().getFiles());
+                if (!targetSources.isEmpty()) {
+                    problems.getReporter().report(
+                            ProblemId.create("crowdin-target-is-source", "Crowdin target file is also a source file", CROWDIN_GROUP),
+                            spec -> {
+                                spec.details("The Crowdin target files %s are also source files, they are written by the merge and are not merged as sources.".formatted(targetSources))
+                                        .severity(Severity.WARNING)
+                                        .solution("Remove the target files from the source files, or write the merged translations to a different target file")
+                                        .documentedAt("https://tableau.ldtteam.com/docs/guides/translate-crowdin");
+                            });
+                }
+
                 final TaskProvider<MergeTranslations> mergeTranslations = target.getTasks().register("mergeTranslations", MergeTranslations.class, task -> {
-                    task.getSourceFiles().from(crowdinExtension.getSourceFiles());
+                    task.getSourceFiles().from(crowdinExtension.getSourceFiles().minus(crowdinExtension.getTargetFiles()));
                     task.getTargetFiles().from(crowdinExtension.getTargetFiles());
                     task.setGroup("Crowdin");
                     task.setDescription("Merges the translations from the source files into the target files.");
@@ -133,6 +155,32 @@ public class CrowdinProjectPlugin implements Plugin<Project> {
                     task.getSkipUntranslatedStrings().set(crowdinExtension.getSkipUntranslatedStrings());
                 });
 
+                //Skip the upload and the server side build when the source did not change since each of them last completed.
+                //Each task records its own hash, so a failed or skipped translation build is not mistaken for a completed one.
+                //The translations are always downloaded, as they change on Crowdin even when the source does not.
+                final Provider<CrowdinSourceManifestService> sourceManifest = CrowdinSourceManifestService.register(target);
+                final int projectId = crowdinExtension.getProjectId().get();
+                final Provider<RegularFile> manifestFile = target.getLayout().getBuildDirectory().file(CrowdinSourceManifestService.MANIFEST_FILE);
+                final Provider<String> sourceHash = target.getProviders()
+                        .fileContents(crowdinExtension.getDownloadLocation().file(SOURCE_FILE_NAME))
+                        .getAsBytes()
+                        .map(CrowdinSourceManifestService::hashOf);
+                for (final String taskName : List.of(
+                        CrowdinPlugin.UPLOAD_SOURCE_FILES_TASK_NAME,
+                        CrowdinPlugin.BUILD_PROJECT_TRANSLATION_TASK_NAME)) {
+                    target.getTasks().named(taskName, task -> {
+                        task.usesService(sourceManifest);
+                        task.onlyIf("the Crowdin source changed since this task last completed",
+                                ignoredTask -> !sourceManifest.get().isUnchanged(manifestFile.get().getAsFile(), projectId, taskName, sourceHash.getOrNull()));
+                        task.doLast("recordSynchronizedSource", ignoredTask -> {
+                            final String hash = sourceHash.getOrNull();
+                            if (hash != null) {
+                                sourceManifest.get().record(manifestFile.get().getAsFile(), projectId, taskName, hash);
+                            }
+                        });
+                    });
+                }
+
                 boolean willBuildTranslations = false;
                 if (!crowdinExtension.getOnlyBuildOnBranchMatching().isPresent() || Pattern.matches(crowdinExtension.getOnlyBuildOnBranchMatching().get(), GitExtension.get(target).getBranch().get())) {
                     target.getTasks().named("processResources", processResources -> {
@@ -158,48 +206,19 @@ public class CrowdinProjectPlugin implements Plugin<Project> {
                     }
                 }
 
-                final TaskProvider<Delete> deleteTranslationFilesInBuildDir = target.getTasks().register("deleteTranslationFilesInBuildDir", Delete.class, task -> {
-                    task.setGroup("Crowdin");
-                    task.setDescription("Deletes the translation files from the build directory.");
+                final TaskProvider<NormalizeTranslations> normalizeTranslations = target.getTasks().register("normalizeTranslations", NormalizeTranslations.class, task -> {
                     task.dependsOn(target.getTasks().named(CrowdinPlugin.COPY_PROJECT_TRANSLATIONS_TASK_NAME));
-                    task.delete(target.getLayout().getBuildDirectory().dir("temp").map(dir -> dir.dir("translations")));
-                    task.setFollowSymlinks(true);
-                });
-
-                final TaskProvider<Copy> normalizeTranslationFilesInBuildDir = target.getTasks().register("normalizeTranslationFilesInBuildDir", Copy.class, task -> {
-                    task.setGroup("Crowdin");
-                    task.setDescription("Normalizes the translation files in the build directory.");
-                    task.dependsOn(deleteTranslationFilesInBuildDir);
-                    task.from(crowdinExtension.getDownloadLocation());
-                    task.into(target.getLayout().getBuildDirectory().dir("temp").map(dir -> dir.dir("translations")));
-                    task.rename(s -> s.toLowerCase(Locale.ROOT));
-                });
-
-                final TaskProvider<Delete> deleteTranslationFilesInRuntimeDir = target.getTasks().register("deleteTranslationFilesInRuntimeDir", Delete.class, task -> {
-                    task.setGroup("Crowdin");
-                    task.setDescription("Deletes the translation files from the runtime directory.");
-                    task.dependsOn(normalizeTranslationFilesInBuildDir);
-                    task.delete(crowdinExtension.getDownloadLocation());
-                    task.setFollowSymlinks(true);
-                });
-
-                final TaskProvider<Copy> normalizeTranslationFilesInRuntimeDir = target.getTasks().register("normalizeTranslationFilesInRuntimeDir", Copy.class, task -> {
-                    task.setGroup("Crowdin");
-                    task.setDescription("Normalizes the translation files in the runtime directory.");
-                    task.dependsOn(deleteTranslationFilesInRuntimeDir);
-                    task.from(target.getLayout().getBuildDirectory().dir("temp").map(dir -> dir.dir("translations")));
-                    task.into(crowdinExtension.getDownloadLocation());
-                    task.rename(s -> s.toLowerCase(Locale.ROOT));
+                    task.getTranslationsDirectory().set(crowdinExtension.getDownloadLocation());
                 });
 
                 target.getTasks().named(CrowdinPlugin.COPY_PROJECT_TRANSLATIONS_TASK_NAME, task -> {
                     task.dependsOn(CrowdinPlugin.UPLOAD_SOURCE_FILES_TASK_NAME);
                 });
                 target.getTasks().named("processResources", processResources -> {
-                    processResources.dependsOn(normalizeTranslationFilesInRuntimeDir);
+                    processResources.dependsOn(normalizeTranslations);
                 });
                 target.getTasks().named("sourcesJar", sourcesJar -> {
-                    sourcesJar.dependsOn(normalizeTranslationFilesInRuntimeDir);
+                    sourcesJar.dependsOn(normalizeTranslations);
                 });
             }
         });
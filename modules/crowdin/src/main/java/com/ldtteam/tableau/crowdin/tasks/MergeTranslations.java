@@ -1,53 +1,148 @@
 package com.ldtteam.tableau.crowdin.tasks;
 
-import groovy.json.JsonOutput;
-import groovy.json.JsonSlurper;
+import com.ldtteam.tableau.crowdin.utils.TranslationRuns;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.*;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * A task that merges translations generated or pre-existing by datagen.
+ * <p>
+ *     The sources are streamed and sorted in bounded chunks, and each source is kept as a sorted run in the local
+ *     state of the task. When only some sources change, only their runs are rebuilt before they are merged again.
+ *     The merged translations are written with their keys sorted, so the output is deterministic.
  */
 @CacheableTask
 public abstract class MergeTranslations extends DefaultTask {
 
+    private static final String RUN_EXTENSION = ".run";
+
     /**
      * Creates a new merge translations task.
+     *
+     * @param layout The layout of the project the task belongs to.
      */
     @Inject
-    public MergeTranslations() {
+    public MergeTranslations(ProjectLayout layout) {
         setGroup("Crowdin");
         setDescription("Merges the source translations into one translation set, and then writes that set to all targets.");
+
+        getRunsDirectory().convention(layout.getBuildDirectory().dir("translations").map(dir -> dir.dir(getName())));
+        getChunkSize().convention(TranslationRuns.DEFAULT_CHUNK_SIZE);
+
+        //The fingerprint of the sources ignores their order, which decides which value of a duplicate key wins.
+        final Path projectDirectory = layout.getProjectDirectory().getAsFile().toPath();
+        getSourceOrder().convention(getSourceFiles().getElements().map(sources -> sources.stream()
+                .map(FileSystemLocation::getAsFile)
+                .map(source -> relativePath(projectDirectory, source))
+                .toList()));
     }
 
     /**
      * Creates a merged translation as the task action.
      *
-     * @throws Exception when the merge fails, or when the merged translations could not be written.
+     * @param inputChanges The changes to the sources since the last execution.
+     * @throws IOException when the merge fails, or when the merged translations could not be written.
      */
-    @SuppressWarnings("unchecked")
     @TaskAction
-    public void mergeTranslations() throws Exception {
-        final Set<File> sources = getSourceFiles().getFiles();
-
-        JsonSlurper slurper = new JsonSlurper();
-        final Map<String, Object> merged = new HashMap<>();
-        for (File source : sources) {
-            Map<String, Object> sourceJson = (Map<String, Object>) slurper.parse(source);
-            merged.putAll(sourceJson);
+    public void mergeTranslations(InputChanges inputChanges) throws IOException {
+        final File runsDirectory = getRunsDirectory().get().getAsFile();
+        Files.createDirectories(runsDirectory.toPath());
+
+        if (!inputChanges.isIncremental()) {
+            deleteRuns(runsDirectory);
         }
 
-        final Set<File> targets = getTargetFiles().getFiles();
-        for (File target : targets) {
-            Files.writeString(target.toPath(), JsonOutput.toJson(merged), java.nio.file.StandardOpenOption.CREATE, java.nio.file.StandardOpenOption.TRUNCATE_EXISTING);
+        for (final FileChange change : inputChanges.getFileChanges(getSourceFiles())) {
+            if (change.getFileType() != FileType.FILE) {
+                continue;
+            }
+
+            final File run = runOf(runsDirectory, change.getFile());
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                Files.deleteIfExists(run.toPath());
+            } else {
+                Files.deleteIfExists(run.toPath());
+                writeRun(change.getFile(), run);
+            }
+        }
+
+        //Collect the runs in source order, later sources override earlier ones.
+        final List<File> runs = new ArrayList<>();
+        for (final File source : getSourceFiles()) {
+            final File run = runOf(runsDirectory, source);
+            if (!run.exists()) {
+                writeRun(source, run);
+            }
+            runs.add(run);
+        }
+
+        final Iterator<File> targets = getTargetFiles().getFiles().iterator();
+        if (!targets.hasNext()) {
+            return;
+        }
+
+        //Merge once, and copy the result to all other targets.
+        final File first = targets.next();
+        TranslationRuns.mergeToJson(runs, first);
+        while (targets.hasNext()) {
+            final File target = targets.next();
+            Files.createDirectories(target.toPath().toAbsolutePath().getParent());
+            Files.copy(first.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void writeRun(File source, File run) throws IOException {
+        TranslationRuns.writeRun(source, run, getTemporaryDir(), getChunkSize().get());
+    }
+
+    private static String relativePath(Path projectDirectory, File source) {
+        final Path path = source.toPath().toAbsolutePath();
+        return (path.startsWith(projectDirectory) ? projectDirectory.relativize(path) : path).toString().replace(File.separatorChar, '/');
+    }
+
+    private static File runOf(File runsDirectory, File source) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] hash = digest.digest(source.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+            return new File(runsDirectory, HexFormat.of().formatHex(hash) + RUN_EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteRuns(File runsDirectory) throws IOException {
+        final File[] runs = runsDirectory.listFiles((dir, name) -> name.endsWith(RUN_EXTENSION));
+        if (runs == null) {
+            return;
+        }
+
+        for (final File run : runs) {
+            Files.deleteIfExists(run.toPath());
         }
     }
 
@@ -57,21 +152,51 @@ public abstract class MergeTranslations extends DefaultTask {
      *     The collection is processed in order.
      *     Translation keys which already exist in earlier files, will get overridden by values
      *     of later files.
+     * <p>
+     *     The sources must not contain any of the targets, as a target would otherwise feed the result of the
+     *     previous merge back into the next one, and keep the task out of date.
      *
      * @return The source files which should be merged.
      */
+    @Incremental
     @InputFiles
-    @PathSensitive(PathSensitivity.NONE)
+    @PathSensitive(PathSensitivity.RELATIVE)
     public abstract ConfigurableFileCollection getSourceFiles();
 
     /**
-     * The files to which the merged results should be written.
+     * The paths of the source files, relative to the project directory, in the order in which they are merged.
      * <p>
-     *     This is marked as an input, because multiple distinct outputs can not exist.
+     *     Defaults to the order of {@link #getSourceFiles()}, and only exists so that reordering the sources, which
+     *     changes which value of a duplicate key wins, invalidates the output.
+     *
+     * @return The order of the sources.
+     */
+    @Input
+    public abstract ListProperty<String> getSourceOrder();
+
+    /**
+     * The files to which the merged results should be written.
      *
      * @return The output files.
      */
-    @InputFiles
-    @PathSensitive(PathSensitivity.NONE)
+    @OutputFiles
     public abstract ConfigurableFileCollection getTargetFiles();
+
+    /**
+     * The directory in which the sorted run of each source is kept between executions.
+     *
+     * @return The directory of the sorted runs.
+     */
+    @LocalState
+    public abstract DirectoryProperty getRunsDirectory();
+
+    /**
+     * The maximal amount of translations which are sorted in memory at once.
+     * <p>
+     *     Larger sources are sorted in chunks of this size, which are then merged.
+     *
+     * @return The chunk size.
+     */
+    @Internal
+    public abstract Property<Integer> getChunkSize();
 }
@@ -0,0 +1,138 @@
+package com.ldtteam.tableau.crowdin.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.*;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A task that normalizes the names of the translation files downloaded from Crowdin to lower case, in place.
+ * <p>
+ *     Only files which do not yet have a lower case name are processed. When a file with the normalized name already
+ *     exists, it is only rewritten when its content hash differs. Files are renamed in two steps, so that a change
+ *     in case alone also works on case-insensitive file systems.
+ *     When no new translations were downloaded there is nothing to normalize, and the task is skipped. The hashes of
+ *     the normalized files are recorded in a manifest, which is the only output of this task.
+ */
+public abstract class NormalizeTranslations extends DefaultTask {
+
+    /**
+     * Creates a new normalize translations task.
+     *
+     * @param layout The layout of the project the task belongs to.
+     */
+    @Inject
+    public NormalizeTranslations(ProjectLayout layout) {
+        setGroup("Crowdin");
+        setDescription("Normalizes the names of the downloaded translation files to lower case.");
+
+        getTranslationFiles().from(getTranslationsDirectory().map(directory -> directory.getAsFileTree().filter(file -> !isNormalized(file))));
+        getManifest().convention(layout.getBuildDirectory().file("translations/" + getName() + ".properties"));
+    }
+
+    /**
+     * Normalizes the translation files as the task action.
+     *
+     * @throws IOException when a translation file could not be read, written, or renamed.
+     */
+    @TaskAction
+    public void normalize() throws IOException {
+        final Map<String, String> normalized = new TreeMap<>();
+        for (final File file : getTranslationFiles()) {
+            final Path source = file.toPath();
+            final Path target = source.resolveSibling(normalizedName(file));
+            final String hash = hash(source);
+
+            if (Files.exists(target) && !Files.isSameFile(source, target)) {
+                //A different file already carries the normalized name, only replace it when the content changed.
+                if (hash.equals(hash(target))) {
+                    Files.delete(source);
+                } else {
+                    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } else {
+                //Move through an intermediate name, a case-only rename is a no-op on case-insensitive file systems.
+                final Path intermediate = Files.createTempFile(source.getParent(), file.getName(), ".tmp");
+                Files.move(source, intermediate, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(intermediate, target);
+            }
+
+            normalized.put(getTranslationsDirectory().get().getAsFile().toPath().relativize(target).toString().replace(File.separatorChar, '/'), hash);
+        }
+
+        final StringBuilder manifest = new StringBuilder();
+        normalized.forEach((name, hash) -> manifest.append(name).append('=').append(hash).append('\n'));
+
+        final Path manifestFile = getManifest().get().getAsFile().toPath();
+        Files.createDirectories(manifestFile.getParent());
+        Files.writeString(manifestFile, manifest.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isNormalized(File file) {
+        return file.getName().equals(normalizedName(file));
+    }
+
+    private static String normalizedName(File file) {
+        return file.getName().toLowerCase(Locale.ROOT);
+    }
+
+    private static String hash(Path file) throws IOException {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream stream = new DigestInputStream(Files.newInputStream(file), digest)) {
+                stream.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The directory into which the translations are downloaded, and in which they are normalized.
+     *
+     * @return The translations directory.
+     */
+    @Internal
+    public abstract DirectoryProperty getTranslationsDirectory();
+
+    /**
+     * The translation files which still need to be normalized.
+     * <p>
+     *     By default, all files in the translations directory whose name is not lower case.
+     *
+     * @return The translation files to normalize.
+     */
+    @InputFiles
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getTranslationFiles();
+
+    /**
+     * The manifest into which the content hashes of the normalized files are written.
+     *
+     * @return The manifest file.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getManifest();
+}
@@ -0,0 +1,143 @@
+package com.ldtteam.tableau.crowdin.utils;
+
+import com.ldtteam.tableau.utilities.utils.PersistentCache;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Build service which decides whether the Crowdin source of a project changed since it was last synchronized.
+ * <p>
+ * Each project keeps a manifest in its build directory, which maps the Crowdin project id and the synchronizing task
+ * to the hash of the source that task last completed for, so that an unchanged source is neither uploaded again nor
+ * followed by another server side translation build. Each task records its own hash, a failed or skipped translation
+ * build is therefore run again even when the upload of the same source succeeded. Cleaning the project, or setting the
+ * {@value #FORCE_PROPERTY} Gradle property, synchronizes the source again. Whether the source changed for a task is
+ * decided once per build.
+ */
+public abstract class CrowdinSourceManifestService implements BuildService<CrowdinSourceManifestService.Parameters> {
+
+    /**
+     * The name under which the service is registered.
+     */
+    public static final String SERVICE_NAME = "tableauCrowdinSourceManifest";
+
+    /**
+     * The Gradle property which, when set to {@code true}, synchronizes the source even when it is unchanged.
+     */
+    public static final String FORCE_PROPERTY = "tableau.crowdin.forceSync";
+
+    /**
+     * The file, relative to the build directory of a project, in which its manifest is stored.
+     */
+    public static final String MANIFEST_FILE = "crowdin/source-manifest.properties";
+
+    private final Map<String, Boolean> unchanged = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new service.
+     */
+    public CrowdinSourceManifestService() {
+    }
+
+    /**
+     * Registers the service with the build of the given project, if it is not already registered.
+     *
+     * @param project The project whose build the service is registered with.
+     * @return The provider for the service.
+     */
+    public static Provider<CrowdinSourceManifestService> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(SERVICE_NAME, CrowdinSourceManifestService.class, spec -> {
+            spec.getParameters().getForce().set(project.getProviders().gradleProperty(FORCE_PROPERTY).map(Boolean::parseBoolean).orElse(false));
+        });
+    }
+
+    /**
+     * Computes the hash of the given source content.
+     *
+     * @param content The content of the source.
+     * @return The hash, as hex string.
+     */
+    public static String hashOf(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Indicates whether the source of the given project is unchanged since the given task last synchronized it.
+     * <p>
+     * The answer is determined on the first call for a manifest, project id and task, later calls in the same build
+     * return the same answer, even when the source was recorded in between.
+     *
+     * @param manifest  The manifest file of the project.
+     * @param projectId The Crowdin project id.
+     * @param task      The name of the task which synchronizes the source.
+     * @param hash      The hash of the current source, or {@code null} when there is no source.
+     * @return {@code true} when the source is unchanged.
+     */
+    public boolean isUnchanged(File manifest, int projectId, String task, @Nullable String hash) {
+        return unchanged.computeIfAbsent(manifest.getAbsolutePath() + "#" + key(projectId, task), ignored -> {
+            if (hash == null || getParameters().getForce().get()) {
+                return false;
+            }
+
+            return hash.equals(read(manifest).getProperty(key(projectId, task)));
+        });
+    }
+
+    /**
+     * Records the hash of the source which the given task synchronized with the given project.
+     *
+     * @param manifest  The manifest file of the project.
+     * @param projectId The Crowdin project id.
+     * @param task      The name of the task which synchronized the source.
+     * @param hash      The hash of the synchronized source.
+     */
+    public synchronized void record(File manifest, int projectId, String task, String hash) {
+        //Synchronized, as the tasks of a project may complete in parallel and each rewrites the whole manifest.
+        final Properties properties = read(manifest);
+        properties.setProperty(key(projectId, task), hash);
+        PersistentCache.write(manifest.toPath(), output -> properties.store(output, "Crowdin project id and task to last synchronized source hash, maintained by Tableau"));
+    }
+
+    private static String key(int projectId, String task) {
+        return projectId + "." + task;
+    }
+
+    private static Properties read(File manifest) {
+        final Properties properties = PersistentCache.read(manifest.toPath(), input -> {
+            final Properties content = new Properties();
+            content.load(input);
+            return content;
+        });
+        //A missing or corrupt manifest is treated as empty, which at worst causes one more upload.
+        return properties == null ? new Properties() : properties;
+    }
+
+    /**
+     * The parameters of the service.
+     */
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * Whether the source should be synchronized even when it is unchanged.
+         *
+         * @return True to always synchronize the source.
+         */
+        Property<Boolean> getForce();
+    }
+}
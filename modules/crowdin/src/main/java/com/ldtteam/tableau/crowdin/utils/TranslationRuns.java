@@ -0,0 +1,272 @@
+package com.ldtteam.tableau.crowdin.utils;
+
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Utility class for merging large translation files with bounded memory.
+ * <p>
+ * Each translation file is converted into a sorted run, a binary file of its entries ordered by key, by streaming
+ * the JSON and sorting it in chunks. Sorted runs are then combined with a k-way merge, so at no point does the
+ * complete set of translations need to be held in memory.
+ */
+public final class TranslationRuns {
+
+    /**
+     * The maximal amount of entries which are sorted in memory, before they are written to a temporary chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 50_000;
+
+    private static final int END_OF_RUN = -1;
+
+    /**
+     * Utility class, not meant to be instantiated.
+     */
+    private TranslationRuns() {
+    }
+
+    /**
+     * Converts a translation file into a sorted run.
+     * <p>
+     * When a key occurs more than once, its last value wins, like it would when the file is loaded into a map.
+     * An empty file is treated as a file without translations.
+     *
+     * @param source            The translation file, a JSON object.
+     * @param run               The file to write the sorted run to.
+     * @param temporaryDirectory The directory for the temporary chunks.
+     * @param chunkSize         The maximal amount of entries to sort in memory.
+     * @throws IOException When the source could not be read, or the run could not be written.
+     */
+    public static void writeRun(File source, File run, File temporaryDirectory, int chunkSize) throws IOException {
+        final List<File> chunks = new ArrayList<>();
+        try {
+            try (JsonReader reader = new JsonReader(Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8))) {
+                TreeMap<String, String> chunk = new TreeMap<>();
+                if (Files.size(source.toPath()) > 0) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        chunk.put(reader.nextName(), JsonParser.parseReader(reader).toString());
+                        if (chunk.size() >= chunkSize) {
+                            chunks.add(writeChunk(chunk, temporaryDirectory));
+                            chunk = new TreeMap<>();
+                        }
+                    }
+                    reader.endObject();
+                }
+
+                if (chunks.isEmpty()) {
+                    //Everything fit in memory, the chunk is the run.
+                    final SortedMap<String, String> entries = chunk;
+                    writeAtomically(run, output -> writeEntries(entries, output));
+                    return;
+                }
+
+                if (!chunk.isEmpty()) {
+                    chunks.add(writeChunk(chunk, temporaryDirectory));
+                }
+            }
+
+            writeAtomically(run, output -> merge(chunks, (key, value) -> writeEntry(output, key, value)));
+        } finally {
+            for (final File chunk : chunks) {
+                Files.deleteIfExists(chunk.toPath());
+            }
+        }
+    }
+
+    /**
+     * Merges the given sorted runs, into a sorted JSON object.
+     * <p>
+     * Runs are given in priority order, when multiple runs contain the same key the value of the last run wins.
+     *
+     * @param runs   The sorted runs.
+     * @param target The file to write the JSON object to.
+     * @throws IOException When a run could not be read, or the target could not be written.
+     */
+    public static void mergeToJson(List<File> runs, File target) throws IOException {
+        final Path parent = target.toPath().toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        final Path temporary = Files.createTempFile(parent, target.getName(), ".tmp");
+        try {
+            try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(temporary, StandardCharsets.UTF_8))) {
+                writer.setIndent("  ");
+                writer.beginObject();
+                merge(runs, (key, value) -> writer.name(key).jsonValue(value));
+                writer.endObject();
+            }
+            Files.move(temporary, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Performs a k-way merge over the given sorted runs.
+     * <p>
+     * Runs are given in priority order, when multiple runs contain the same key the value of the last run wins.
+     *
+     * @param runs     The sorted runs.
+     * @param consumer The consumer which receives the merged entries, in key order.
+     * @throws IOException When a run could not be read, or the consumer failed.
+     */
+    public static void merge(List<File> runs, EntryConsumer consumer) throws IOException {
+        final List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            final PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(1, runs.size()),
+                    Comparator.comparing(RunReader::key).thenComparing(Comparator.comparingInt(RunReader::priority).reversed()));
+            for (int i = 0; i < runs.size(); i++) {
+                final RunReader reader = new RunReader(runs.get(i), i);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                //The head has the smallest key, and of all runs with that key the highest priority.
+                final RunReader head = queue.poll();
+                final String key = head.key();
+                consumer.accept(key, head.value());
+
+                if (head.advance()) {
+                    queue.add(head);
+                }
+
+                //Skip the same key in all runs with a lower priority.
+                while (!queue.isEmpty() && queue.peek().key().equals(key)) {
+                    final RunReader shadowed = queue.poll();
+                    if (shadowed.advance()) {
+                        queue.add(shadowed);
+                    }
+                }
+            }
+        } finally {
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static File writeChunk(SortedMap<String, String> chunk, File temporaryDirectory) throws IOException {
+        Files.createDirectories(temporaryDirectory.toPath());
+        final File file = Files.createTempFile(temporaryDirectory.toPath(), "chunk", ".run").toFile();
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            writeEntries(chunk, output);
+            output.writeInt(END_OF_RUN);
+        }
+        return file;
+    }
+
+    private static void writeEntries(SortedMap<String, String> entries, DataOutputStream output) throws IOException {
+        for (final Map.Entry<String, String> entry : entries.entrySet()) {
+            writeEntry(output, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void writeEntry(DataOutputStream output, String key, String value) throws IOException {
+        writeString(output, key);
+        writeString(output, value);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeAtomically(File run, RunWriter writer) throws IOException {
+        final Path parent = run.toPath().toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        final Path temporary = Files.createTempFile(parent, run.getName(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                writer.write(output);
+                output.writeInt(END_OF_RUN);
+            }
+            Files.move(temporary, run.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Receives the entries of a merge.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        /**
+         * Accepts a single merged entry.
+         *
+         * @param key   The translation key.
+         * @param value The translation value, as raw JSON.
+         * @throws IOException When the entry could not be processed.
+         */
+        void accept(String key, String value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RunWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+
+    private static final class RunReader implements Closeable {
+        private final DataInputStream input;
+        private final int priority;
+        private String key;
+        private String value;
+        private boolean exhausted = false;
+
+        private RunReader(File run, int priority) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.toPath())));
+            this.priority = priority;
+        }
+
+        private boolean advance() throws IOException {
+            if (exhausted) {
+                return false;
+            }
+
+            final int keyLength = input.readInt();
+            if (keyLength == END_OF_RUN) {
+                exhausted = true;
+                return false;
+            }
+
+            key = readString(keyLength);
+            value = readString(input.readInt());
+            return true;
+        }
+
+        private String readString(int length) throws IOException {
+            return new String(input.readNBytes(length), StandardCharsets.UTF_8);
+        }
+
+        private String key() {
+            return key;
+        }
+
+        private String value() {
+            return value;
+        }
+
+        private int priority() {
+            return priority;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
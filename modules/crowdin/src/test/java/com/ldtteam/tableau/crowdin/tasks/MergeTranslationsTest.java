@@ -0,0 +1,29 @@
+package com.ldtteam.tableau.crowdin.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.List;
+
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MergeTranslationsTest {
+
+    @TempDir
+    private File projectDir;
+
+    @Test
+    public void testSourceOrderFollowsSources() {
+        final Project project = ProjectBuilder.builder().withProjectDir(projectDir).build();
+        final MergeTranslations task = project.getTasks().register("mergeTranslations", MergeTranslations.class).get();
+
+        task.getSourceFiles().from("src/generated/lang/en_us.json", "src/main/lang/en_us.json");
+        assertEquals(List.of("src/generated/lang/en_us.json", "src/main/lang/en_us.json"), task.getSourceOrder().get());
+
+        task.getSourceFiles().setFrom("src/main/lang/en_us.json", "src/generated/lang/en_us.json");
+        assertEquals(List.of("src/main/lang/en_us.json", "src/generated/lang/en_us.json"), task.getSourceOrder().get());
+    }
+}
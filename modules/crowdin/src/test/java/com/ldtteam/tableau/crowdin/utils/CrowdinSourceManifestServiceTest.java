@@ -0,0 +1,124 @@
+package com.ldtteam.tableau.crowdin.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CrowdinSourceManifestServiceTest {
+
+    private static final String SOURCE_HASH = CrowdinSourceManifestService.hashOf("{\"a\": \"1\"}".getBytes(StandardCharsets.UTF_8));
+    private static final String OTHER_HASH = CrowdinSourceManifestService.hashOf("{\"a\": \"2\"}".getBytes(StandardCharsets.UTF_8));
+
+    private static final String UPLOAD = "crowdinUploadSourceFiles";
+    private static final String BUILD = "crowdinBuildProjectTranslation";
+
+    @TempDir
+    private File projectDir;
+
+    private File manifest() {
+        return new File(projectDir, "build/" + CrowdinSourceManifestService.MANIFEST_FILE);
+    }
+
+    private CrowdinSourceManifestService service() {
+        final Project project = ProjectBuilder.builder().withProjectDir(projectDir).build();
+        return CrowdinSourceManifestService.register(project).get();
+    }
+
+    private CrowdinSourceManifestService forcedService() {
+        final Project project = ProjectBuilder.builder().withProjectDir(projectDir).build();
+        return project.getGradle().getSharedServices().registerIfAbsent(CrowdinSourceManifestService.SERVICE_NAME, CrowdinSourceManifestService.class, spec -> {
+            spec.getParameters().getForce().set(true);
+        }).get();
+    }
+
+    @Test
+    public void testUnknownSourceIsChanged() {
+        assertFalse(service().isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+        assertFalse(manifest().exists());
+    }
+
+    @Test
+    public void testRecordedSourceIsUnchangedInNextBuild() {
+        final CrowdinSourceManifestService first = service();
+        assertFalse(first.isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+        first.record(manifest(), 1, UPLOAD, SOURCE_HASH);
+
+        assertTrue(manifest().isFile());
+        assertTrue(service().isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+    }
+
+    @Test
+    public void testDecisionIsStableWithinBuild() {
+        final CrowdinSourceManifestService service = service();
+        assertFalse(service.isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+
+        service.record(manifest(), 1, UPLOAD, SOURCE_HASH);
+        assertFalse(service.isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+    }
+
+    @Test
+    public void testChangedSourceIsChanged() {
+        service().record(manifest(), 1, UPLOAD, SOURCE_HASH);
+
+        assertFalse(service().isUnchanged(manifest(), 1, UPLOAD, OTHER_HASH));
+    }
+
+    @Test
+    public void testMissingSourceIsChanged() {
+        service().record(manifest(), 1, UPLOAD, SOURCE_HASH);
+
+        assertFalse(service().isUnchanged(manifest(), 1, UPLOAD, null));
+    }
+
+    @Test
+    public void testProjectsAreRecordedIndependently() {
+        final CrowdinSourceManifestService service = service();
+        service.record(manifest(), 1, UPLOAD, SOURCE_HASH);
+        service.record(manifest(), 2, UPLOAD, OTHER_HASH);
+
+        final CrowdinSourceManifestService next = service();
+        assertTrue(next.isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+        assertTrue(next.isUnchanged(manifest(), 2, UPLOAD, OTHER_HASH));
+        assertFalse(next.isUnchanged(manifest(), 3, UPLOAD, SOURCE_HASH));
+    }
+
+    @Test
+    public void testTasksAreRecordedIndependently() {
+        service().record(manifest(), 1, UPLOAD, SOURCE_HASH);
+
+        final CrowdinSourceManifestService next = service();
+        assertTrue(next.isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+        assertFalse(next.isUnchanged(manifest(), 1, BUILD, SOURCE_HASH));
+    }
+
+    @Test
+    public void testManifestsAreKeptPerProject() {
+        final File otherManifest = new File(projectDir, "other/build/" + CrowdinSourceManifestService.MANIFEST_FILE);
+        service().record(manifest(), 1, UPLOAD, SOURCE_HASH);
+
+        assertFalse(service().isUnchanged(otherManifest, 1, UPLOAD, SOURCE_HASH));
+    }
+
+    @Test
+    public void testForceSynchronizesUnchangedSource() {
+        service().record(manifest(), 1, UPLOAD, SOURCE_HASH);
+
+        assertFalse(forcedService().isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+    }
+
+    @Test
+    public void testCorruptManifestIsChanged() throws Exception {
+        Files.createDirectories(manifest().toPath().getParent());
+        Files.write(manifest().toPath(), new byte[]{'\\', 'u', 'z'});
+
+        assertFalse(service().isUnchanged(manifest(), 1, UPLOAD, SOURCE_HASH));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ldtteam.tableau.crowdin.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TranslationRunsTest {
+
+    @TempDir
+    private Path directory;
+
+    private File source(String name, String content) throws IOException {
+        final Path file = directory.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file.toFile();
+    }
+
+    private File run(File source, int chunkSize) throws IOException {
+        final File run = directory.resolve(source.getName() + ".run").toFile();
+        TranslationRuns.writeRun(source, run, directory.resolve("tmp").toFile(), chunkSize);
+        return run;
+    }
+
+    private static Map<String, String> merge(List<File> runs) throws IOException {
+        final Map<String, String> merged = new LinkedHashMap<>();
+        TranslationRuns.merge(runs, merged::put);
+        return merged;
+    }
+
+    @Test
+    public void testLaterRunsOverrideEarlierRuns() throws IOException {
+        final File first = run(source("first.json", "{\"a\": \"first\", \"b\": \"first\", \"c\": \"first\"}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+        final File second = run(source("second.json", "{\"b\": \"second\", \"d\": \"second\"}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+        final File third = run(source("third.json", "{\"c\": \"third\", \"d\": \"third\"}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+
+        assertEquals(Map.of("a", "\"first\"", "b", "\"second\"", "c", "\"third\"", "d", "\"third\""), merge(List.of(first, second, third)));
+        assertEquals(Map.of("a", "\"first\"", "b", "\"first\"", "c", "\"first\"", "d", "\"second\""), merge(List.of(third, second, first)));
+    }
+
+    @Test
+    public void testMergedKeysAreSorted() throws IOException {
+        final File first = run(source("first.json", "{\"z\": \"1\", \"m\": \"2\"}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+        final File second = run(source("second.json", "{\"a\": \"3\", \"q\": \"4\"}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+
+        assertEquals(List.of("a", "m", "q", "z"), new ArrayList<>(merge(List.of(first, second)).keySet()));
+    }
+
+    @Test
+    public void testChunkedRunEqualsUnchunkedRun() throws IOException {
+        final StringBuilder content = new StringBuilder("{");
+        for (int i = 0; i < 100; i++) {
+            //Reverse order, so that every chunk overlaps the key range of the others.
+            content.append(i == 0 ? "" : ",").append("\"key.").append(99 - i).append("\": \"value ").append(i).append('"');
+        }
+        content.append(",\"key.5\": \"duplicate\"}");
+        final File source = source("large.json", content.toString());
+
+        final Map<String, String> unchunked = merge(List.of(run(source, TranslationRuns.DEFAULT_CHUNK_SIZE)));
+        final Map<String, String> chunked = merge(List.of(run(source, 7)));
+
+        assertEquals(100, unchunked.size());
+        assertEquals("\"duplicate\"", unchunked.get("key.5"));
+        assertEquals(unchunked, chunked);
+        assertEquals(new ArrayList<>(unchunked.keySet()), new ArrayList<>(chunked.keySet()));
+    }
+
+    @Test
+    public void testEmptySourceHasNoTranslations() throws IOException {
+        final File empty = run(source("empty.json", ""), TranslationRuns.DEFAULT_CHUNK_SIZE);
+        final File other = run(source("other.json", "{\"a\": \"1\"}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+
+        assertEquals(Map.of(), merge(List.of(empty)));
+        assertEquals(Map.of("a", "\"1\""), merge(List.of(empty, other)));
+    }
+
+    @Test
+    public void testNonStringValuesAreKept() throws IOException {
+        final File source = run(source("values.json", "{\"number\": 1, \"object\": {\"nested\": true}}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+
+        assertEquals(Map.of("number", "1", "object", "{\"nested\":true}"), merge(List.of(source)));
+    }
+
+    @Test
+    public void testMergeToJsonWritesSortedObject() throws IOException {
+        final File first = run(source("first.json", "{\"b\": \"first\", \"a\": \"first\"}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+        final File second = run(source("second.json", "{\"b\": \"second\"}"), TranslationRuns.DEFAULT_CHUNK_SIZE);
+        final File target = directory.resolve("out/en_us.json").toFile();
+
+        TranslationRuns.mergeToJson(List.of(first, second), target);
+
+        assertEquals("{\n  \"a\": \"first\",\n  \"b\": \"second\"\n}", Files.readString(target.toPath(), StandardCharsets.UTF_8));
+    }
+}
@@ -6,6 +6,7 @@ package com.ldtteam.tableau.curseforge;
 import com.ldtteam.tableau.common.extensions.ProjectExtension;
 import com.ldtteam.tableau.curseforge.extensions.CurseForgeExtension;
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import com.ldtteam.tableau.sourceset.management.SourcesetManagementPlugin;
 import com.ldtteam.tableau.sourceset.management.extensions.SourceSetExtension;
 import net.darkhax.curseforgegradle.Constants;
@@ -42,7 +43,7 @@ public class CurseForgeProjectPlugin implements Plugin<Project> {
 
         TableauScriptingExtension.register(target, CurseForgeExtension.EXTENSION_NAME, CurseForgeExtension.class, target);
 
-        target.afterEvaluate(ignore -> {
+        ConfigurationProfiler.afterEvaluate(target, "CurseForgeProjectPlugin", ignore -> {
             configureUploadTask(target);
         });
     }
@@ -88,6 +89,9 @@ public class CurseForgeProjectPlugin implements Plugin<Project> {
         }
 
         final TaskProvider<TaskPublishCurseForge> curseforge = project.getTasks().register("curseforge", TaskPublishCurseForge.class, task -> {
+            //The upload task of CurseForgeGradle keeps a reference to the project, which can not be stored.
+            task.notCompatibleWithConfigurationCache("CurseForgeGradle's TaskPublishCurseForge references the project at execution time.");
+
             task.apiToken = project.getProviders().environmentVariable("CURSE_API_KEY");
             task.debugMode = curse.getDebug().get();
 
@@ -104,14 +108,14 @@ public class CurseForgeProjectPlugin implements Plugin<Project> {
             if (curse.getUsesFancyDisplayName().get()) {
                 final String displayName = curse.getArtifactName().isPresent() ?
                         curse.getArtifactName().get() :
-                        project.getRootProject().getName();
+                        project.getIsolated().getRootProject().getName();
 
                 artifact.displayName = "%s - %s - %s".formatted(displayName,
                         project.getVersion(),
                         curse.getReleaseType().get().toString().toLowerCase(Locale.ROOT));
             }
 
-            artifact.changelog = project.getRootProject().file("changelog.md");
+            artifact.changelog = project.getIsolated().getRootProject().getProjectDirectory().file("changelog.md").getAsFile();
             artifact.changelogType = "markdown";
 
             sourceSets.getPublishedSourceSets().get().forEach(sourceSet -> {
@@ -5,6 +5,7 @@ import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
 import net.darkhax.curseforgegradle.Constants;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.SetProperty;
@@ -52,11 +53,12 @@ public abstract class CurseForgeExtension {
                         .map(Integer::parseInt)
         );
 
+        final Logger logger = project.getLogger();
         getReleaseType().convention(project.getProviders().environmentVariable("CURSE_RELEASE_TYPE").map(value -> {
             try {
                 return ReleaseType.valueOf(value.toUpperCase(Locale.ROOT));
             } catch (IllegalArgumentException e) {
-                project.getLogger().warn("Invalid release type: {}, falling back to ALPHA", value);
+                logger.warn("Invalid release type: {}, falling back to ALPHA", value);
                 return ReleaseType.ALPHA;
             }
         }).orElse(ReleaseType.RELEASE));
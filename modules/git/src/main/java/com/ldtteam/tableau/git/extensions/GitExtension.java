@@ -1,17 +1,16 @@
 package com.ldtteam.tableau.git.extensions;
 
+import com.ldtteam.tableau.git.repository.GitRepositoryFacts;
+import com.ldtteam.tableau.git.repository.GitRepositoryService;
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
-import org.gradle.api.Action;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.*;
-import org.gradle.process.ExecOperations;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
-import java.io.ByteArrayOutputStream;
-import java.nio.charset.Charset;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.Serializable;
 
 /**
  * The Git extension for the Tableau project.
@@ -42,10 +41,15 @@ public abstract class GitExtension {
      */
     @Inject
     public GitExtension(@NotNull Project project) {
-        this.getBranch().set(project.getProviders().of(CurrentBranchValueSource.class, noneValueSourceSpec -> {
-        }));
-        this.getGitUrl().set(project.getProviders().of(OriginRemoteUrlValueSource.class, noneValueSourceSpec -> {
-        }));
+        final Provider<GitRepositoryFacts> facts = project.getProviders().of(RepositoryFactsValueSource.class, spec -> {
+            spec.getParameters().getProjectDirectory().set(project.getLayout().getProjectDirectory());
+            spec.getParameters().getRepositoryService().set(GitRepositoryService.register(project.getGradle()));
+            spec.getParameters().getProfiler().set(ConfigurationProfiler.register(project));
+            spec.getParameters().getProjectPath().set(project.getPath());
+        });
+
+        this.getBranch().set(facts.map(GitRepositoryFacts::branch));
+        this.getGitUrl().set(facts.map(GitRepositoryFacts::remoteUrl));
         this.getGithubUrl().set(this.getGitUrl().map(it -> {
             //Remove the ".git" suffix
             if (it.endsWith(".git")) {
@@ -54,10 +58,8 @@ public abstract class GitExtension {
 
             return it;
         }));
-        this.getDevelopers().set(project.getProviders().of(DevelopersValueSource.class, noneValueSourceSpec -> {
-        }));
-        this.getInitialCommitYear().set(project.getProviders().of(FirstCommitYearValueSource.class, noneValueSourceSpec -> {
-        }));
+        this.getDevelopers().set(facts.map(GitRepositoryFacts::developers));
+        this.getInitialCommitYear().set(facts.map(GitRepositoryFacts::initialCommitYear));
         this.getRepositoryName().set(this.getGithubUrl().map(it -> {
             //Extract the repository name from the url.
             final int lastSlash = it.lastIndexOf('/');
@@ -132,72 +134,6 @@ public abstract class GitExtension {
      */
     public abstract Property<String> getOrganizationUrl();
 
-    /**
-     * Lazy value source for the current branch.
-     */
-    public abstract static class CurrentBranchValueSource implements ValueSource<String, ValueSourceParameters.None> {
-
-        /**
-         * Creates a new value source.
-         */
-        @Inject
-        public CurrentBranchValueSource() {
-        }
-
-        /**
-         * The exec operations which are used to invoke git.
-         * <p>
-         *     Injected by the Gradle runtime.
-         *
-         * @return The exec operations.
-         */
-        @Inject
-        public abstract ExecOperations getExecOperations();
-
-        public String obtain() {
-            ByteArrayOutputStream output = new ByteArrayOutputStream();
-            getExecOperations().exec(it -> {
-                it.setCommandLine("git", "rev-parse", "--abbrev-ref", "HEAD");
-                it.setStandardOutput(output);
-            });
-
-            return output.toString(Charset.defaultCharset()).trim();
-        }
-    }
-
-    /**
-     * Lazy value source for the origin remote url.
-     */
-    public abstract static class OriginRemoteUrlValueSource implements ValueSource<String, ValueSourceParameters.None> {
-
-        /**
-         * Creates a new value source.
-         */
-        @Inject
-        public OriginRemoteUrlValueSource() {
-        }
-
-        /**
-         * The exec operations which are used to invoke git.
-         * <p>
-         *     Injected by the Gradle runtime.
-         *
-         * @return The exec operations.
-         */
-        @Inject
-        public abstract ExecOperations getExecOperations();
-
-        public String obtain() {
-            ByteArrayOutputStream output = new ByteArrayOutputStream();
-            getExecOperations().exec(it -> {
-                it.setCommandLine("git", "config", "--get", "remote.origin.url");
-                it.setStandardOutput(output);
-            });
-
-            return output.toString(Charset.defaultCharset()).trim();
-        }
-    }
-
     /**
      * A developer of the project.
      *
@@ -205,92 +141,62 @@ public abstract class GitExtension {
      * @param name  The name of the developer.
      * @param email The email of the developer.
      */
-    public record Developer(int count, String name, String email) {
+    public record Developer(int count, String name, String email) implements Serializable {
     }
 
     /**
-     * Lazy value source for the developers of the project.
+     * Lazy value source for the facts of the git repository the project is part of.
+     * <p>
+     * The repository is read in process by the {@link GitRepositoryService}, which reads each repository
+     * only once per build and hands the same snapshot to all projects which are part of it.
      */
-    public abstract static class DevelopersValueSource implements ValueSource<List<Developer>, ValueSourceParameters.None> {
+    public abstract static class RepositoryFactsValueSource implements ValueSource<GitRepositoryFacts, RepositoryFactsValueSource.Parameters> {
 
         /**
          * Creates a new value source.
          */
         @Inject
-        public DevelopersValueSource() {
+        public RepositoryFactsValueSource() {
         }
 
-        /**
-         * The exec operations which are used to invoke git.
-         * <p>
-         * Injected by the Gradle runtime.
-         *
-         * @return The exec operations.
-         */
-        @Inject
-        public abstract ExecOperations getExecOperations();
-
-        public List<Developer> obtain() {
-            ByteArrayOutputStream output = new ByteArrayOutputStream();
-            getExecOperations().exec(it -> {
-                it.setCommandLine("git", "shortlog", "-sne");
-                it.setStandardOutput(output);
-            });
-
-            final String outputString = output.toString(Charset.defaultCharset()).trim();
-            //The output is formatted like:
-            // 100 Author Name <email>
-            //   2 Author Name <email>
-            //We need to parse that into a list of developers.
-            return outputString.lines().map(line -> {
-                //First extract the email:
-                final int emailStart = line.indexOf('<');
-                final int emailEnd = line.lastIndexOf('>');
-                final String email = line.substring(emailStart + 1, emailEnd).trim();
-
-                //Then extract the name, it starts at the first none whitespace and numeric character and ends at the first '<' character.:
-                final int nameStart = line.length() - line.replaceFirst("( |\\d)+", "").length();
-                final int nameEnd = line.indexOf('<') - 1;
-                final String name = line.substring(nameStart, nameEnd).trim();
-
-                //Finally extract the count:
-                final int count = Integer.parseInt(line.substring(0, nameStart).trim());
-
-                return new Developer(count, name, email);
-            }).collect(Collectors.toList());
-        }
-    }
-
-    /**
-     * Lazy value source for the year of the first commit.
-     */
-    public abstract static class FirstCommitYearValueSource implements ValueSource<Integer, ValueSourceParameters.None> {
-
-        /**
-         * Creates a new value source.
-         */
-        @Inject
-        public FirstCommitYearValueSource() {
+        @Override
+        public GitRepositoryFacts obtain() {
+            return getParameters().getProfiler().get().record(getParameters().getProjectPath().get(), "valueSource", "git",
+                    () -> getParameters().getRepositoryService().get().getFacts(getParameters().getProjectDirectory().get().getAsFile()));
         }
 
         /**
-         * The exec operations which are used to invoke git.
-         * <p>
-         *     Injected by the Gradle runtime.
-         *
-         * @return The exec operations.
+         * The parameters of the value source.
          */
-        @Inject
-        public abstract ExecOperations getExecOperations();
-
-        public Integer obtain() {
-            ByteArrayOutputStream output = new ByteArrayOutputStream();
-            getExecOperations().exec(it -> {
-                it.setCommandLine("git", "log", "--reverse", "--pretty=format:%ad", "--date=format:%Y", "--max-count=1");
-                it.setStandardOutput(output);
-            });
-
-            return Integer.parseInt(output.toString(Charset.defaultCharset()).trim());
+        public interface Parameters extends ValueSourceParameters {
+
+            /**
+             * The directory of the project, the repository is searched from here.
+             *
+             * @return The project directory.
+             */
+            DirectoryProperty getProjectDirectory();
+
+            /**
+             * The service which reads, and shares, the facts of the repository.
+             *
+             * @return The repository service.
+             */
+            Property<GitRepositoryService> getRepositoryService();
+
+            /**
+             * The profiler which measures reading the repository.
+             *
+             * @return The configuration profiler.
+             */
+            Property<ConfigurationProfiler> getProfiler();
+
+            /**
+             * The path of the project the facts are read for.
+             *
+             * @return The project path.
+             */
+            Property<String> getProjectPath();
         }
     }
 
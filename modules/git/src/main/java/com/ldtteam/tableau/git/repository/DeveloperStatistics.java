@@ -0,0 +1,201 @@
+package com.ldtteam.tableau.git.repository;
+
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * The per author commit counts of a repository, at a given head commit.
+ * <p>
+ * Statistics can be advanced to a new head incrementally, only the commits which differ between
+ * the old and the new head are walked, so the cost grows with the new commits and not with the total history.
+ */
+public final class DeveloperStatistics {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final long NO_COMMIT = Long.MAX_VALUE;
+
+    private final ObjectId head;
+    private final Map<GitRepositoryReader.DeveloperKey, Integer> counts;
+    private final long initialCommitTime;
+    private final @Nullable Integer initialCommitYear;
+
+    private DeveloperStatistics(ObjectId head, Map<GitRepositoryReader.DeveloperKey, Integer> counts, long initialCommitTime, @Nullable Integer initialCommitYear) {
+        this.head = head.copy();
+        this.counts = counts;
+        this.initialCommitTime = initialCommitTime;
+        this.initialCommitYear = initialCommitYear;
+    }
+
+    /**
+     * Collects the statistics by walking the entire history reachable from the given head.
+     *
+     * @param repository The repository.
+     * @param head       The head commit.
+     * @return The statistics.
+     * @throws IOException When the history could not be walked.
+     */
+    public static DeveloperStatistics collect(Repository repository, ObjectId head) throws IOException {
+        final Accumulator accumulator = new Accumulator(new HashMap<>(), NO_COMMIT, null);
+        walk(repository, head, null, accumulator::add);
+        return accumulator.toStatistics(head);
+    }
+
+    /**
+     * The head commit these statistics were collected at.
+     *
+     * @return The head commit.
+     */
+    public ObjectId getHead() {
+        return head;
+    }
+
+    /**
+     * Advances these statistics to a new head commit.
+     * <p>
+     * Commits reachable from the new head but not the old one are added, commits reachable from the old head but not
+     * the new one are removed. If the old head is no longer part of the repository, or the initial commit is removed,
+     * the history is walked in full instead.
+     *
+     * @param repository The repository.
+     * @param newHead    The new head commit.
+     * @return The statistics at the new head.
+     * @throws IOException When the history could not be walked.
+     */
+    public DeveloperStatistics advance(Repository repository, ObjectId newHead) throws IOException {
+        if (head.equals(newHead)) {
+            return this;
+        }
+
+        if (!repository.getObjectDatabase().has(head)) {
+            return collect(repository, newHead);
+        }
+
+        final Accumulator accumulator = new Accumulator(new HashMap<>(counts), initialCommitTime, initialCommitYear);
+        try {
+            walk(repository, newHead, head, accumulator::add);
+            walk(repository, head, newHead, accumulator::remove);
+        } catch (MissingObjectException e) {
+            return collect(repository, newHead);
+        }
+
+        if (accumulator.removedInitialCommit) {
+            return collect(repository, newHead);
+        }
+
+        return accumulator.toStatistics(newHead);
+    }
+
+    /**
+     * Converts these statistics into the history summary of the repository.
+     *
+     * @param mailmap The mailmap which maps the recorded author identities to developers.
+     * @return The history summary.
+     */
+    public GitRepositoryReader.History toHistory(Mailmap mailmap) {
+        return new GitRepositoryReader.History(GitRepositoryReader.toDevelopers(counts, mailmap), initialCommitYear);
+    }
+
+    /**
+     * Writes these statistics to the given stream.
+     *
+     * @param output The stream to write to.
+     * @throws IOException When writing fails.
+     */
+    public void write(DataOutputStream output) throws IOException {
+        output.writeInt(FORMAT_VERSION);
+        output.writeUTF(head.name());
+        output.writeLong(initialCommitTime);
+        output.writeInt(initialCommitYear == null ? -1 : initialCommitYear);
+        output.writeInt(counts.size());
+        for (final Map.Entry<GitRepositoryReader.DeveloperKey, Integer> entry : counts.entrySet()) {
+            output.writeUTF(entry.getKey().name());
+            output.writeUTF(entry.getKey().email());
+            output.writeInt(entry.getValue());
+        }
+    }
+
+    /**
+     * Reads statistics previously written by {@link #write(DataOutputStream)}.
+     *
+     * @param input The stream to read from.
+     * @return The statistics, or {@code null} if the stream was written in an unknown format.
+     * @throws IOException When reading fails.
+     */
+    public static @Nullable DeveloperStatistics read(DataInputStream input) throws IOException {
+        if (input.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+
+        final ObjectId head = ObjectId.fromString(input.readUTF());
+        final long initialCommitTime = input.readLong();
+        final int initialCommitYear = input.readInt();
+        final int size = input.readInt();
+        final Map<GitRepositoryReader.DeveloperKey, Integer> counts = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            counts.put(new GitRepositoryReader.DeveloperKey(input.readUTF(), input.readUTF()), input.readInt());
+        }
+
+        return new DeveloperStatistics(head, counts, initialCommitTime, initialCommitYear < 0 ? null : initialCommitYear);
+    }
+
+    private static void walk(Repository repository, ObjectId start, @Nullable ObjectId exclude, Consumer<RevCommit> consumer) throws IOException {
+        try (RevWalk walk = new RevWalk(repository)) {
+            walk.markStart(walk.parseCommit(start));
+            if (exclude != null) {
+                walk.markUninteresting(walk.parseCommit(exclude));
+            }
+
+            for (final RevCommit commit : walk) {
+                consumer.accept(commit);
+            }
+        }
+    }
+
+    private static final class Accumulator {
+        private final Map<GitRepositoryReader.DeveloperKey, Integer> counts;
+        private long initialCommitTime;
+        private @Nullable Integer initialCommitYear;
+        private boolean removedInitialCommit = false;
+
+        private Accumulator(Map<GitRepositoryReader.DeveloperKey, Integer> counts, long initialCommitTime, @Nullable Integer initialCommitYear) {
+            this.counts = counts;
+            this.initialCommitTime = initialCommitTime;
+            this.initialCommitYear = initialCommitYear;
+        }
+
+        private void add(RevCommit commit) {
+            final PersonIdent author = commit.getAuthorIdent();
+            counts.merge(new GitRepositoryReader.DeveloperKey(author.getName(), author.getEmailAddress()), 1, Integer::sum);
+
+            if (commit.getCommitTime() <= initialCommitTime) {
+                initialCommitTime = commit.getCommitTime();
+                initialCommitYear = GitRepositoryReader.yearOf(author);
+            }
+        }
+
+        private void remove(RevCommit commit) {
+            final PersonIdent author = commit.getAuthorIdent();
+            counts.computeIfPresent(new GitRepositoryReader.DeveloperKey(author.getName(), author.getEmailAddress()), (key, count) -> count > 1 ? count - 1 : null);
+
+            if (commit.getCommitTime() <= initialCommitTime) {
+                removedInitialCommit = true;
+            }
+        }
+
+        private DeveloperStatistics toStatistics(ObjectId head) {
+            return new DeveloperStatistics(head, counts, initialCommitTime, initialCommitYear);
+        }
+    }
+}
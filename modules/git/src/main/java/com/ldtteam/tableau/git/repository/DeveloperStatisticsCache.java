@@ -0,0 +1,72 @@
+package com.ldtteam.tableau.git.repository;
+
+import com.ldtteam.tableau.utilities.utils.PersistentCache;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Persistent cache for the {@link DeveloperStatistics} of repositories.
+ * <p>
+ * Each repository gets its own cache file, named after its git directory, which stores the statistics
+ * at the last head commit they were collected at. When the head moves, only the new commits are walked.
+ */
+public final class DeveloperStatisticsCache {
+
+    /**
+     * The name of the cache in the Gradle user home.
+     */
+    public static final String NAME = "git";
+
+    /**
+     * The format version of the cache files.
+     */
+    public static final int VERSION = 1;
+
+    private static final String FILE_EXTENSION = ".statistics";
+
+    private final Path directory;
+
+    /**
+     * Creates a new cache, which stores its files in the given directory.
+     *
+     * @param directory The directory to store the cache files in.
+     */
+    public DeveloperStatisticsCache(File directory) {
+        this.directory = directory.toPath();
+    }
+
+    /**
+     * Gets the statistics of the given repository, at its current head.
+     * <p>
+     * Reuses and advances the cached statistics when available, and stores the result for the next build.
+     *
+     * @param repository The repository.
+     * @param head       The current head of the repository.
+     * @return The statistics at the given head.
+     * @throws IOException When the history could not be walked.
+     */
+    public DeveloperStatistics get(Repository repository, ObjectId head) throws IOException {
+        final Path file = directory.resolve(PersistentCache.fileName(repository.getDirectory().getAbsolutePath()) + FILE_EXTENSION);
+
+        final DeveloperStatistics cached = PersistentCache.read(file, input -> DeveloperStatistics.read(new DataInputStream(input)));
+        final DeveloperStatistics current = cached == null
+                ? DeveloperStatistics.collect(repository, head)
+                : cached.advance(repository, head);
+
+        if (current != cached) {
+            PersistentCache.write(file, output -> {
+                final DataOutputStream data = new DataOutputStream(output);
+                current.write(data);
+                data.flush();
+            });
+        }
+
+        return current;
+    }
+}
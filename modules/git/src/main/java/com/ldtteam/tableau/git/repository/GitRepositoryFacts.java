@@ -0,0 +1,42 @@
+package com.ldtteam.tableau.git.repository;
+
+import com.ldtteam.tableau.git.extensions.GitExtension;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the information Tableau reads from a git repository.
+ * <p>
+ * All values are collected in a single read of the repository, see {@link GitRepositoryReader}.
+ *
+ * @param branch            The current branch, {@code HEAD} when detached, or {@code null} when no repository was found.
+ * @param remoteUrl         The url of the origin remote, or {@code null} when none is configured.
+ * @param developers        The developers of the project, ordered by their commit count.
+ * @param initialCommitYear The year of the first commit, or {@code null} when the repository has no commits.
+ */
+public record GitRepositoryFacts(
+        @Nullable String branch,
+        @Nullable String remoteUrl,
+        List<GitExtension.Developer> developers,
+        @Nullable Integer initialCommitYear
+) implements Serializable {
+
+    /**
+     * The facts returned when no git repository could be found.
+     */
+    public static final GitRepositoryFacts EMPTY = new GitRepositoryFacts(null, null, List.of(), null);
+
+    /**
+     * Creates a new snapshot of the repository facts.
+     *
+     * @param branch            The current branch.
+     * @param remoteUrl         The url of the origin remote.
+     * @param developers        The developers of the project.
+     * @param initialCommitYear The year of the first commit.
+     */
+    public GitRepositoryFacts {
+        developers = List.copyOf(developers);
+    }
+}
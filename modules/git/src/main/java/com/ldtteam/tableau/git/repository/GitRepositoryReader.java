@@ -0,0 +1,232 @@
+package com.ldtteam.tableau.git.repository;
+
+import com.ldtteam.tableau.git.extensions.GitExtension;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads the information Tableau needs from a git repository, in process.
+ * <p>
+ * The repository is opened once, and all values are read from the same repository instance,
+ * the history is walked at most once to determine both the developers and the initial commit year.
+ * When a {@link DeveloperStatisticsCache} is used, only the commits since the cached head are walked.
+ */
+public final class GitRepositoryReader implements AutoCloseable {
+
+    private static final String HEADS_PREFIX = Constants.R_HEADS;
+    private static final String DETACHED_HEAD = Constants.HEAD;
+
+    private final Repository repository;
+
+    private GitRepositoryReader(Repository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Opens the git repository which contains the given directory.
+     * <p>
+     * The directory and its parents are searched for a repository, the same way the git cli does.
+     *
+     * @param directory The directory to start the search in.
+     * @return The reader for the repository, or an empty optional if the directory is not part of a repository.
+     */
+    public static Optional<GitRepositoryReader> open(File directory) {
+        final FileRepositoryBuilder builder = new FileRepositoryBuilder()
+                .readEnvironment()
+                .findGitDir(directory)
+                .setMustExist(true);
+
+        if (builder.getGitDir() == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new GitRepositoryReader(builder.build()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the git repository at: " + builder.getGitDir(), e);
+        }
+    }
+
+    /**
+     * Reads the facts of the repository which contains the given directory.
+     *
+     * @param directory The directory to start the search in.
+     * @param cache     The cache for the developer statistics, or {@code null} to always walk the entire history.
+     * @return The facts of the repository, or {@link GitRepositoryFacts#EMPTY} if the directory is not part of a repository.
+     */
+    public static GitRepositoryFacts read(File directory, @Nullable DeveloperStatisticsCache cache) {
+        final Optional<GitRepositoryReader> reader = open(directory);
+        if (reader.isEmpty()) {
+            return GitRepositoryFacts.EMPTY;
+        }
+
+        try (GitRepositoryReader repository = reader.get()) {
+            return repository.facts(cache);
+        }
+    }
+
+    /**
+     * The git directory of the repository.
+     *
+     * @return The git directory.
+     */
+    public File getGitDirectory() {
+        return repository.getDirectory();
+    }
+
+    /**
+     * Reads all facts of the repository.
+     *
+     * @param cache The cache for the developer statistics, or {@code null} to always walk the entire history.
+     * @return The facts of the repository.
+     */
+    public GitRepositoryFacts facts(@Nullable DeveloperStatisticsCache cache) {
+        final History history = history(cache);
+        return new GitRepositoryFacts(branch(), remoteUrl(), history.developers(), history.initialCommitYear());
+    }
+
+    /**
+     * Determines the current branch.
+     * <p>
+     * Mirrors {@code git rev-parse --abbrev-ref HEAD}, a detached head is reported as {@code HEAD}.
+     *
+     * @return The current branch.
+     */
+    public String branch() {
+        try {
+            final String fullBranch = repository.getFullBranch();
+            if (fullBranch == null || !fullBranch.startsWith(HEADS_PREFIX)) {
+                return DETACHED_HEAD;
+            }
+
+            return fullBranch.substring(HEADS_PREFIX.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the current branch of: " + getGitDirectory(), e);
+        }
+    }
+
+    /**
+     * Determines the url of the origin remote.
+     *
+     * @return The url of the origin remote, or {@code null} if none is configured.
+     */
+    public @Nullable String remoteUrl() {
+        return repository.getConfig().getString("remote", Constants.DEFAULT_REMOTE_NAME, "url");
+    }
+
+    /**
+     * Determines the commit the head of the repository points to.
+     *
+     * @return The head commit, or {@code null} if the repository has no commits yet.
+     */
+    public @Nullable ObjectId head() {
+        try {
+            return repository.resolve(Constants.HEAD);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resolve the head of: " + getGitDirectory(), e);
+        }
+    }
+
+    /**
+     * Walks the history reachable from head once, collecting the developers and the initial commit year.
+     *
+     * @param cache The cache for the developer statistics, or {@code null} to always walk the entire history.
+     * @return The history summary.
+     */
+    public History history(@Nullable DeveloperStatisticsCache cache) {
+        final ObjectId head = head();
+        if (head == null) {
+            return new History(List.of(), null);
+        }
+
+        try {
+            final DeveloperStatistics statistics = cache == null
+                    ? DeveloperStatistics.collect(repository, head)
+                    : cache.get(repository, head);
+            return statistics.toHistory(Mailmap.read(repository));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to walk the history of: " + getGitDirectory(), e);
+        }
+    }
+
+    /**
+     * Converts the commit counts per author identity into the shortlog order.
+     * <p>
+     * Mirrors {@code git shortlog -sne}, identities are first mapped through the mailmap, then developers are sorted
+     * by their commit count, descending, and then by name.
+     *
+     * @param counts  The commit counts per author identity, as recorded in the commits.
+     * @param mailmap The mailmap of the repository.
+     * @return The developers.
+     */
+    public static List<GitExtension.Developer> toDevelopers(Map<DeveloperKey, Integer> counts, Mailmap mailmap) {
+        final Map<DeveloperKey, Integer> mapped = new HashMap<>(counts.size());
+        counts.forEach((key, count) -> mapped.merge(mailmap.map(key.name(), key.email()), count, Integer::sum));
+
+        final List<GitExtension.Developer> developers = new ArrayList<>(mapped.size());
+        mapped.forEach((key, count) -> developers.add(new GitExtension.Developer(count, key.name(), key.email())));
+        developers.sort(Comparator.comparingInt(GitExtension.Developer::count).reversed()
+                .thenComparing(GitExtension.Developer::name)
+                .thenComparing(GitExtension.Developer::email));
+        return developers;
+    }
+
+    /**
+     * Determines the year of the given identity, in the timezone of the identity.
+     *
+     * @param ident The identity.
+     * @return The year.
+     */
+    public static int yearOf(PersonIdent ident) {
+        return ident.getWhenAsInstant().atZone(ident.getZoneId()).getYear();
+    }
+
+    /**
+     * The underlying repository.
+     *
+     * @return The repository.
+     */
+    public Repository getRepository() {
+        return repository;
+    }
+
+    @Override
+    public void close() {
+        repository.close();
+    }
+
+    /**
+     * The key under which commits are counted, equivalent to the grouping of {@code git shortlog -sne}.
+     * <p>
+     * The counts are stored per identity as recorded in the commits, the mailmap is applied when they are converted
+     * into developers, so changing the mailmap does not require walking the history again.
+     *
+     * @param name  The name of the author.
+     * @param email The email of the author.
+     */
+    public record DeveloperKey(String name, String email) {
+    }
+
+    /**
+     * The summary of a single walk over the history of a repository.
+     *
+     * @param developers        The developers, in shortlog order.
+     * @param initialCommitYear The year of the first commit, or {@code null} when there are no commits.
+     */
+    public record History(List<GitExtension.Developer> developers, @Nullable Integer initialCommitYear) {
+    }
+}
@@ -0,0 +1,85 @@
+package com.ldtteam.tableau.git.repository;
+
+import com.ldtteam.tableau.utilities.utils.PersistentCache;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Build service which reads the facts of each git repository at most once per build.
+ * <p>
+ * Every project which is part of the same repository receives the same immutable {@link GitRepositoryFacts} snapshot.
+ * Lookups are thread safe, projects configuring in parallel wait for the first read to complete instead of
+ * reading the repository again.
+ */
+public abstract class GitRepositoryService implements BuildService<GitRepositoryService.Parameters> {
+
+    /**
+     * The name under which the service is registered.
+     */
+    public static final String SERVICE_NAME = "tableauGitRepository";
+
+    private final Map<File, Optional<File>> gitDirectories = new ConcurrentHashMap<>();
+    private final Map<File, GitRepositoryFacts> facts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new service.
+     */
+    public GitRepositoryService() {
+    }
+
+    /**
+     * Registers the service with the given build, if it is not already registered.
+     *
+     * @param gradle The build to register the service with.
+     * @return The provider for the service.
+     */
+    public static Provider<GitRepositoryService> register(Gradle gradle) {
+        return gradle.getSharedServices().registerIfAbsent(SERVICE_NAME, GitRepositoryService.class, spec -> {
+            spec.getParameters().getCacheDirectory().set(PersistentCache.directory(gradle, DeveloperStatisticsCache.NAME, DeveloperStatisticsCache.VERSION));
+        });
+    }
+
+    /**
+     * Gets the facts of the repository which contains the given directory.
+     *
+     * @param directory The directory to start the search in.
+     * @return The facts of the repository, or {@link GitRepositoryFacts#EMPTY} if the directory is not part of a repository.
+     */
+    public GitRepositoryFacts getFacts(File directory) {
+        return gitDirectories.computeIfAbsent(directory.getAbsoluteFile(), GitRepositoryService::findGitDirectory)
+                .map(gitDirectory -> facts.computeIfAbsent(gitDirectory, key -> read(directory)))
+                .orElse(GitRepositoryFacts.EMPTY);
+    }
+
+    private GitRepositoryFacts read(File directory) {
+        final DeveloperStatisticsCache cache = new DeveloperStatisticsCache(getParameters().getCacheDirectory().get().getAsFile());
+        return GitRepositoryReader.read(directory, cache);
+    }
+
+    private static Optional<File> findGitDirectory(File directory) {
+        return Optional.ofNullable(new FileRepositoryBuilder().readEnvironment().findGitDir(directory).getGitDir())
+                .map(File::getAbsoluteFile);
+    }
+
+    /**
+     * The parameters of the service.
+     */
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * The directory in which the developer statistics are cached between builds.
+         *
+         * @return The cache directory.
+         */
+        DirectoryProperty getCacheDirectory();
+    }
+}
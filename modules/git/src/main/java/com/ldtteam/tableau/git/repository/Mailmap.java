@@ -0,0 +1,209 @@
+package com.ldtteam.tableau.git.repository;
+
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The author mapping of a repository, as configured in its {@code .mailmap} file.
+ * <p>
+ * JGit does not apply the mailmap, so this mirrors what {@code git shortlog -sne} does: the {@code .mailmap} file in
+ * the root of the work tree, or of the head commit in a bare repository, is read first, followed by the file
+ * configured with {@code mailmap.file}. Emails and names are matched case-insensitively.
+ */
+public final class Mailmap {
+
+    /**
+     * The mailmap which maps every author to itself.
+     */
+    public static final Mailmap EMPTY = new Mailmap(Map.of());
+
+    private static final String FILE_NAME = ".mailmap";
+
+    private final Map<String, Entry> entries;
+
+    private Mailmap(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Reads the mailmap of the given repository.
+     *
+     * @param repository The repository.
+     * @return The mailmap, {@link #EMPTY} when the repository does not configure one.
+     */
+    public static Mailmap read(Repository repository) {
+        final Map<String, Entry> entries = new HashMap<>();
+        try {
+            if (!repository.isBare()) {
+                parse(readFile(new File(repository.getWorkTree(), FILE_NAME)), entries);
+            } else {
+                parse(readHeadBlob(repository), entries);
+            }
+
+            final String configuredFile = repository.getConfig().getString("mailmap", null, "file");
+            if (configuredFile != null) {
+                parse(readFile(repository.getFS().resolve(repository.isBare() ? repository.getDirectory() : repository.getWorkTree(), configuredFile)), entries);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the mailmap of: " + repository.getDirectory(), e);
+        }
+
+        return entries.isEmpty() ? EMPTY : new Mailmap(entries);
+    }
+
+    /**
+     * Parses a mailmap in the format of the {@code .mailmap} file.
+     *
+     * @param content The content of the mailmap.
+     * @return The mailmap.
+     */
+    public static Mailmap parse(String content) {
+        final Map<String, Entry> entries = new HashMap<>();
+        parse(content, entries);
+        return entries.isEmpty() ? EMPTY : new Mailmap(entries);
+    }
+
+    /**
+     * Maps the given author identity to the identity it should be counted under.
+     *
+     * @param name  The name of the author, as recorded in the commit.
+     * @param email The email of the author, as recorded in the commit.
+     * @return The mapped identity, or the given identity when the mailmap contains no entry for it.
+     */
+    public GitRepositoryReader.DeveloperKey map(String name, String email) {
+        final Entry entry = entries.get(email.toLowerCase(Locale.ROOT));
+        if (entry == null) {
+            return new GitRepositoryReader.DeveloperKey(name, email);
+        }
+
+        Replacement replacement = entry.byName().get(name.toLowerCase(Locale.ROOT));
+        if (replacement == null) {
+            replacement = entry.fallback();
+        }
+
+        if (replacement == null) {
+            return new GitRepositoryReader.DeveloperKey(name, email);
+        }
+
+        return new GitRepositoryReader.DeveloperKey(
+                replacement.name() == null ? name : replacement.name(),
+                replacement.email() == null ? email : replacement.email()
+        );
+    }
+
+    private static void parse(@Nullable String content, Map<String, Entry> entries) {
+        if (content == null) {
+            return;
+        }
+
+        content.lines().forEach(line -> parseLine(line, entries));
+    }
+
+    private static void parseLine(String line, Map<String, Entry> entries) {
+        if (line.startsWith("#")) {
+            return;
+        }
+
+        //Either "Proper Name <proper email> [Commit Name] <commit email>", or "Proper Name <commit email>".
+        final int firstOpen = line.indexOf('<');
+        final int firstClose = firstOpen == -1 ? -1 : line.indexOf('>', firstOpen);
+        if (firstClose == -1) {
+            return;
+        }
+
+        final String properName = emptyToNull(line.substring(0, firstOpen).trim());
+        final String firstEmail = line.substring(firstOpen + 1, firstClose).trim();
+
+        final int secondOpen = line.indexOf('<', firstClose);
+        final int secondClose = secondOpen == -1 ? -1 : line.indexOf('>', secondOpen);
+        if (secondClose == -1) {
+            add(entries, firstEmail, null, new Replacement(properName, null));
+            return;
+        }
+
+        final String commitName = emptyToNull(line.substring(firstClose + 1, secondOpen).trim());
+        final String commitEmail = line.substring(secondOpen + 1, secondClose).trim();
+        add(entries, commitEmail, commitName, new Replacement(properName, emptyToNull(firstEmail)));
+    }
+
+    private static void add(Map<String, Entry> entries, String commitEmail, @Nullable String commitName, Replacement replacement) {
+        final Entry entry = entries.computeIfAbsent(commitEmail.toLowerCase(Locale.ROOT), key -> new Entry(new HashMap<>()));
+        if (commitName == null) {
+            entry.fallback = entry.fallback == null ? replacement : entry.fallback.merge(replacement);
+        } else {
+            entry.byName().merge(commitName.toLowerCase(Locale.ROOT), replacement, Replacement::merge);
+        }
+    }
+
+    private static @Nullable String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static @Nullable String readFile(File file) throws IOException {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        return Files.readString(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    private static @Nullable String readHeadBlob(Repository repository) throws IOException {
+        final ObjectId head = repository.resolve(Constants.HEAD);
+        if (head == null) {
+            return null;
+        }
+
+        try (RevWalk walk = new RevWalk(repository); TreeWalk tree = TreeWalk.forPath(repository, FILE_NAME, walk.parseCommit(head).getTree())) {
+            if (tree == null) {
+                return null;
+            }
+
+            final ObjectLoader loader = repository.open(tree.getObjectId(0), Constants.OBJ_BLOB);
+            return new String(loader.getBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * The replacement identity of an entry, a {@code null} value keeps the value of the commit.
+     */
+    private record Replacement(@Nullable String name, @Nullable String email) {
+
+        private Replacement merge(Replacement later) {
+            return new Replacement(later.name() == null ? name : later.name(), later.email() == null ? email : later.email());
+        }
+    }
+
+    /**
+     * All replacements for a single commit email, optionally narrowed down by the commit name.
+     */
+    private static final class Entry {
+        private final Map<String, Replacement> byName;
+        private @Nullable Replacement fallback;
+
+        private Entry(Map<String, Replacement> byName) {
+            this.byName = byName;
+        }
+
+        private Map<String, Replacement> byName() {
+            return byName;
+        }
+
+        private @Nullable Replacement fallback() {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ldtteam.tableau.git.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DeveloperStatisticsTest {
+
+    @TempDir
+    private Path directory;
+
+    private Git git;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        git = Git.init().setDirectory(directory.toFile()).setInitialBranch("main").call();
+    }
+
+    private RevCommit commit(String name, int year) throws Exception {
+        final PersonIdent author = new PersonIdent(name, name.toLowerCase() + "@example.com", ZonedDateTime.of(year, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        return git.commit().setAllowEmpty(true).setMessage("Commit by " + name + " in " + year).setAuthor(author).setCommitter(author).call();
+    }
+
+    private DeveloperStatistics collect(ObjectId head) throws IOException {
+        return DeveloperStatistics.collect(git.getRepository(), head);
+    }
+
+    private DeveloperStatistics advance(DeveloperStatistics statistics, ObjectId head) throws IOException {
+        return statistics.advance(git.getRepository(), head);
+    }
+
+    private static GitRepositoryReader.History history(DeveloperStatistics statistics) {
+        return statistics.toHistory(Mailmap.EMPTY);
+    }
+
+    @Test
+    void testAdvanceToSameHeadReusesStatistics() throws Exception {
+        final RevCommit head = commit("Jane", 2020);
+        final DeveloperStatistics statistics = collect(head);
+
+        assertSame(statistics, advance(statistics, head));
+    }
+
+    @Test
+    void testAdvanceAddsNewCommits() throws Exception {
+        commit("Jane", 2019);
+        final DeveloperStatistics statistics = collect(commit("John", 2020));
+
+        final RevCommit head = commit("Jane", 2021);
+
+        assertEquals(history(collect(head)), history(advance(statistics, head)));
+        assertEquals(2019, history(advance(statistics, head)).initialCommitYear());
+    }
+
+    @Test
+    void testAdvanceSubtractsRewrittenCommits() throws Exception {
+        commit("Jane", 2019);
+        final RevCommit base = commit("John", 2020);
+        commit("Alice", 2021);
+        final DeveloperStatistics statistics = collect(commit("Alice", 2022));
+
+        //Rewrite the last two commits, like a rebase which squashes them and changes the author.
+        git.reset().setMode(ResetCommand.ResetType.HARD).setRef(base.getName()).call();
+        final RevCommit head = commit("Bob", 2023);
+
+        final GitRepositoryReader.History advanced = history(advance(statistics, head));
+        assertEquals(history(collect(head)), advanced);
+        assertEquals(3, advanced.developers().size());
+    }
+
+    @Test
+    void testAdvanceRemovingInitialCommitWalksHistoryAgain() throws Exception {
+        final DeveloperStatistics statistics = collect(commit("Jane", 2019));
+
+        //Replace the entire history with an unrelated one.
+        git.checkout().setOrphan(true).setName("rewritten").call();
+        commit("John", 2021);
+        final RevCommit head = commit("John", 2022);
+
+        final GitRepositoryReader.History advanced = history(advance(statistics, head));
+        assertEquals(history(collect(head)), advanced);
+        assertEquals(2021, advanced.initialCommitYear());
+    }
+
+    @Test
+    void testAdvanceFromUnknownHeadWalksHistoryAgain() throws Exception {
+        commit("Jane", 2019);
+        final RevCommit head = commit("John", 2020);
+
+        final DeveloperStatistics foreign;
+        try (Git other = Git.init().setDirectory(directory.resolve("other").toFile()).call()) {
+            final PersonIdent author = new PersonIdent("Alice", "alice@example.com");
+            foreign = DeveloperStatistics.collect(other.getRepository(), other.commit().setAllowEmpty(true).setMessage("Other").setAuthor(author).setCommitter(author).call());
+        }
+
+        assertEquals(history(collect(head)), history(advance(foreign, head)));
+    }
+
+    @Test
+    void testWriteAndRead() throws Exception {
+        commit("Jane", 2019);
+        final DeveloperStatistics statistics = collect(commit("John", 2020));
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            statistics.write(output);
+        }
+
+        final DeveloperStatistics read = DeveloperStatistics.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertNotNull(read);
+        assertEquals(statistics.getHead(), read.getHead());
+        assertEquals(history(statistics), history(read));
+    }
+}
@@ -0,0 +1,119 @@
+package com.ldtteam.tableau.git.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.ldtteam.tableau.git.extensions.GitExtension;
+
+class GitRepositoryReaderTest {
+
+    @TempDir
+    private Path directory;
+
+    private Git git;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        git = Git.init().setDirectory(directory.toFile()).setInitialBranch("main").call();
+    }
+
+    private RevCommit commit(String name, String email, int year) throws Exception {
+        final PersonIdent author = new PersonIdent(name, email, ZonedDateTime.of(year, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        return git.commit().setAllowEmpty(true).setMessage("Commit by " + name).setAuthor(author).setCommitter(author).call();
+    }
+
+    @Test
+    void testOutsideOfRepository(@TempDir Path outside) {
+        assertEquals(GitRepositoryFacts.EMPTY, GitRepositoryReader.read(outside.toFile(), null));
+    }
+
+    @Test
+    void testRepositoryWithoutCommits() {
+        final GitRepositoryFacts facts = GitRepositoryReader.read(directory.toFile(), null);
+
+        assertEquals("main", facts.branch());
+        assertEquals(List.of(), facts.developers());
+        assertNull(facts.initialCommitYear());
+    }
+
+    @Test
+    void testBranchAndDetachedHead() throws Exception {
+        final RevCommit first = commit("Jane", "jane@example.com", 2020);
+        commit("Jane", "jane@example.com", 2021);
+        git.checkout().setCreateBranch(true).setName("feature/test").call();
+
+        assertEquals("feature/test", GitRepositoryReader.read(directory.toFile(), null).branch());
+
+        git.checkout().setName(first.getName()).call();
+        assertEquals("HEAD", GitRepositoryReader.read(directory.toFile(), null).branch());
+    }
+
+    @Test
+    void testRemoteUrl() throws Exception {
+        assertNull(GitRepositoryReader.read(directory.toFile(), null).remoteUrl());
+
+        final StoredConfig config = git.getRepository().getConfig();
+        config.setString("remote", "origin", "url", "https://github.com/ldtteam/Tableau.git");
+        config.save();
+
+        assertEquals("https://github.com/ldtteam/Tableau.git", GitRepositoryReader.read(directory.toFile(), null).remoteUrl());
+    }
+
+    @Test
+    void testDevelopersInShortlogOrder() throws Exception {
+        commit("Jane", "jane@example.com", 2019);
+        commit("John", "john@example.com", 2020);
+        commit("Jane", "jane@example.com", 2021);
+        commit("Alice", "alice@example.com", 2022);
+
+        final GitRepositoryFacts facts = GitRepositoryReader.read(directory.toFile(), null);
+
+        assertEquals(List.of(
+                new GitExtension.Developer(2, "Jane", "jane@example.com"),
+                new GitExtension.Developer(1, "Alice", "alice@example.com"),
+                new GitExtension.Developer(1, "John", "john@example.com")
+        ), facts.developers());
+        assertEquals(2019, facts.initialCommitYear());
+    }
+
+    @Test
+    void testMailmapIsApplied() throws Exception {
+        commit("Jane", "jane@old.example.com", 2019);
+        commit("jane", "jane@example.com", 2020);
+        commit("John", "john@example.com", 2021);
+
+        Files.writeString(directory.resolve(".mailmap"), "Jane Doe <jane@example.com> <jane@old.example.com>\nJane Doe <jane@example.com>\n");
+
+        assertEquals(List.of(
+                new GitExtension.Developer(2, "Jane Doe", "jane@example.com"),
+                new GitExtension.Developer(1, "John", "john@example.com")
+        ), GitRepositoryReader.read(directory.toFile(), null).developers());
+    }
+
+    @Test
+    void testMailmapIsAppliedToCachedStatistics() throws Exception {
+        commit("Jane", "jane@old.example.com", 2019);
+        commit("Jane", "jane@example.com", 2020);
+
+        final DeveloperStatisticsCache cache = new DeveloperStatisticsCache(directory.resolve("cache").toFile());
+        assertEquals(2, GitRepositoryReader.read(directory.toFile(), cache).developers().size());
+
+        Files.writeString(directory.resolve(".mailmap"), "<jane@example.com> <jane@old.example.com>\n");
+
+        assertEquals(List.of(new GitExtension.Developer(2, "Jane", "jane@example.com")), GitRepositoryReader.read(directory.toFile(), cache).developers());
+    }
+}
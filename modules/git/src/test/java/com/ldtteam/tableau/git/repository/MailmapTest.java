@@ -0,0 +1,57 @@
+package com.ldtteam.tableau.git.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class MailmapTest {
+
+    @Test
+    void testEmptyMailmapKeepsIdentity() {
+        assertEquals(new GitRepositoryReader.DeveloperKey("Jane", "jane@example.com"), Mailmap.EMPTY.map("Jane", "jane@example.com"));
+    }
+
+    @Test
+    void testProperNameByEmail() {
+        final Mailmap mailmap = Mailmap.parse("Jane Doe <jane@example.com>");
+
+        assertEquals(new GitRepositoryReader.DeveloperKey("Jane Doe", "jane@example.com"), mailmap.map("jane", "jane@example.com"));
+    }
+
+    @Test
+    void testProperEmailByEmail() {
+        final Mailmap mailmap = Mailmap.parse("<jane@example.com> <jane@old.example.com>");
+
+        assertEquals(new GitRepositoryReader.DeveloperKey("Jane", "jane@example.com"), mailmap.map("Jane", "jane@old.example.com"));
+    }
+
+    @Test
+    void testProperNameAndEmailByEmail() {
+        final Mailmap mailmap = Mailmap.parse("Jane Doe <jane@example.com> <jane@old.example.com>");
+
+        assertEquals(new GitRepositoryReader.DeveloperKey("Jane Doe", "jane@example.com"), mailmap.map("jd", "JANE@old.example.com"));
+    }
+
+    @Test
+    void testProperNameAndEmailByNameAndEmail() {
+        final Mailmap mailmap = Mailmap.parse("""
+                # Shared build account
+                Jane Doe <jane@example.com> jane <build@example.com>
+                John Doe <john@example.com> John <build@example.com>
+                """);
+
+        assertEquals(new GitRepositoryReader.DeveloperKey("Jane Doe", "jane@example.com"), mailmap.map("Jane", "build@example.com"));
+        assertEquals(new GitRepositoryReader.DeveloperKey("John Doe", "john@example.com"), mailmap.map("john", "build@example.com"));
+        assertEquals(new GitRepositoryReader.DeveloperKey("Bot", "build@example.com"), mailmap.map("Bot", "build@example.com"));
+    }
+
+    @Test
+    void testLaterEntriesOverrideEarlierOnes() {
+        final Mailmap mailmap = Mailmap.parse("""
+                Jane <jane@example.com>
+                Jane Doe <jane@example.com>
+                """);
+
+        assertEquals(new GitRepositoryReader.DeveloperKey("Jane Doe", "jane@example.com"), mailmap.map("jane", "jane@example.com"));
+    }
+}
@@ -6,6 +6,7 @@ package com.ldtteam.tableau.jarjar;
 import com.ldtteam.tableau.extensions.NeoGradleExtension;
 import com.ldtteam.tableau.jarjar.extensions.JarJarExtension;
 import com.ldtteam.tableau.neogradle.NeoGradlePlugin;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import com.ldtteam.tableau.sourceset.management.extensions.SourceSetExtension;
 import net.neoforged.gradle.common.tasks.JarJar;
 import org.gradle.api.Plugin;
@@ -62,7 +63,7 @@ public class JarJarProjectPlugin implements Plugin<Project> {
         final Configuration implementation = project.getConfigurations().getByName(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME);
 
         final JarJarExtension jarJar = JarJarExtension.get(project);
-        project.afterEvaluate(ignored -> {
+        ConfigurationProfiler.afterEvaluate(project, "JarJarProjectPlugin", ignored -> {
             configuration.setTransitive(!jarJar.getUsesNoneTransitiveJarJar().get());
 
             if (jarJar.getExtendImplementation().get()) {
@@ -75,8 +76,7 @@ public class JarJarProjectPlugin implements Plugin<Project> {
 
         //Needs to go through matching to ensure that the source set is lazily looked up.
         sourceSets.matching(sourceSet -> SourceSet.isMain(sourceSet.getSourceSet()))
-                .configureEach(sourceSet -> {
-                    final SourceSetExtension.SourceSetConfiguration main = sourceSets.maybeCreate(SourceSet.MAIN_SOURCE_SET_NAME);
+                .configureEach(main -> {
                     final DependencyCollectorInjector
                         inject = project.getObjects().newInstance(DependencyCollectorInjector.class);
                     final DependencyCollector collector = inject.getDependencyCollector();
@@ -5,12 +5,19 @@ package com.ldtteam.tableau.java;
 
 import com.ldtteam.tableau.common.extensions.ProjectExtension;
 import com.ldtteam.tableau.java.extensions.JavaExtension;
+import com.ldtteam.tableau.java.tasks.TableauJar;
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import com.ldtteam.tableau.sourceset.management.extensions.SourceSetExtension;
 import org.gradle.api.Project;
 import org.gradle.api.Plugin;
 import org.gradle.api.file.DuplicatesStrategy;
+import org.gradle.api.plugins.BasePlugin;
 import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskContainer;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.api.tasks.javadoc.Javadoc;
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +42,16 @@ public class JavaProjectPlugin implements Plugin<Project> {
 
     @Override
     public void apply(@NotNull Project target) {
+        //Registered before the java plugin is applied, which then adopts it as the jar of the main source set.
+        //An adopted task is not configured by gradle, so it gets the configuration gradle would have given it.
+        if (!target.getTasks().getNames().contains(org.gradle.api.plugins.JavaPlugin.JAR_TASK_NAME)) {
+            target.getTasks().register(org.gradle.api.plugins.JavaPlugin.JAR_TASK_NAME, TableauJar.class, jar -> {
+                jar.setDescription("Assembles a jar archive containing the classes of the 'main' feature.");
+                jar.setGroup(BasePlugin.BUILD_GROUP);
+                jar.from(target.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME).getOutput());
+            });
+        }
+
         target.getPlugins().apply("java-library");
 
         TableauScriptingExtension.register(target, JavaExtension.EXTENSION_NAME, JavaExtension.class, target);
@@ -76,6 +93,12 @@ public class JavaProjectPlugin implements Plugin<Project> {
             });
         });
 
+        //Registered before the documentation variants are created, which then adopt them as their jars.
+        //An adopted task is not configured by gradle, so it gets the configuration gradle would have given it.
+        final SourceSet mainSourceSet = project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+        registerDocumentationJar(project.getTasks(), mainSourceSet.getSourcesJarTaskName(), "sources", mainSourceSet.getAllSource());
+        registerDocumentationJar(project.getTasks(), mainSourceSet.getJavadocJarTaskName(), "javadoc", project.getTasks().named(mainSourceSet.getJavadocTaskName()));
+
         final JavaPluginExtension java = project.getExtensions().getByType(JavaPluginExtension.class);
         java.withSourcesJar();
         java.withJavadocJar();
@@ -105,7 +128,7 @@ public class JavaProjectPlugin implements Plugin<Project> {
      */
     @SuppressWarnings("deprecation")
     public void configurePublishedJars(final Project project) {
-        project.afterEvaluate(ignored -> {
+        ConfigurationProfiler.afterEvaluate(project, "JavaProjectPlugin", ignored -> {
             final SourceSetExtension sourceSets = SourceSetExtension.get(project);
 
             sourceSets.getPublishedSourceSets().get().forEach(sourceSet -> {
@@ -117,21 +140,21 @@ public class JavaProjectPlugin implements Plugin<Project> {
                     javadoc.setDestinationDir(project.getBuildDir().toPath().resolve("additional").resolve("javadoc").resolve(sourceSet.getName()).toFile());
                 });
 
-                var javadocJarTask = project.getTasks().maybeCreate(sourceSet.getJavadocJarTaskName(), Jar.class);
+                var javadocJarTask = registerOrGetJar(project.getTasks(), sourceSet.getJavadocJarTaskName());
                 project.getTasks().named(sourceSet.getJavadocJarTaskName(), Jar.class, jar -> {
                     jar.dependsOn(javadocTask);
                     jar.setGroup("packaging");
                     jar.from(javadocTask);
                 });
 
-                var outputJarTask = project.getTasks().maybeCreate(sourceSet.getJarTaskName(), Jar.class);
+                var outputJarTask = registerOrGetJar(project.getTasks(), sourceSet.getJarTaskName());
                 project.getTasks().named(sourceSet.getJarTaskName(), Jar.class, jar -> {
                     jar.setGroup("build");
                     jar.from(sourceSet.getOutput());
                     jar.getArchiveClassifier().set(sourceSet.getName().toLowerCase(Locale.ROOT));
                 });
 
-                var sourcesJarTask = project.getTasks().maybeCreate(sourceSet.getSourcesJarTaskName(), Jar.class);
+                var sourcesJarTask = registerOrGetJar(project.getTasks(), sourceSet.getSourcesJarTaskName());
                 project.getTasks().named(sourceSet.getSourcesJarTaskName(), Jar.class, jar -> {
                     jar.setGroup("sources");
                     jar.from(sourceSet.getAllSource());
@@ -157,4 +180,40 @@ public class JavaProjectPlugin implements Plugin<Project> {
             });
         });
     }
+
+    /**
+     * Registers a {@link TableauJar} with the given name, or gets the existing jar task when it already exists.
+     *
+     * @param tasks the task container
+     * @param name  the name of the jar task
+     * @return the jar task
+     */
+    private static TaskProvider<? extends Jar> registerOrGetJar(final TaskContainer tasks, final String name) {
+        if (tasks.getNames().contains(name)) {
+            return tasks.named(name, Jar.class);
+        }
+
+        return tasks.register(name, TableauJar.class);
+    }
+
+    /**
+     * Registers a {@link TableauJar} for a documentation variant of the main source set, when it does not exist yet.
+     *
+     * @param tasks      the task container
+     * @param name       the name of the jar task
+     * @param classifier the classifier of the documentation variant
+     * @param content    the content of the jar
+     */
+    private static void registerDocumentationJar(final TaskContainer tasks, final String name, final String classifier, final Object content) {
+        if (tasks.getNames().contains(name)) {
+            return;
+        }
+
+        tasks.register(name, TableauJar.class, jar -> {
+            jar.setDescription("Assembles a jar archive containing the main %s.".formatted(classifier));
+            jar.setGroup(BasePlugin.BUILD_GROUP);
+            jar.from(content);
+            jar.getArchiveClassifier().set(classifier);
+        });
+    }
 }
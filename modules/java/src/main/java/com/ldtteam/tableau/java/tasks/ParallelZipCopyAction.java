@@ -0,0 +1,66 @@
+package com.ldtteam.tableau.java.tasks;
+
+import org.gradle.api.GradleException;
+import org.gradle.api.internal.file.copy.CopyAction;
+import org.gradle.api.internal.file.copy.CopyActionProcessingStream;
+import org.gradle.api.tasks.WorkResult;
+import org.gradle.api.tasks.WorkResults;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * Copy action which writes the copied files into a zip archive, using a {@link ParallelZipWriter}.
+ *
+ * @param archive                The archive to write.
+ * @param compress               Whether file entries are deflated, or stored.
+ * @param preserveFileTimestamps Whether the timestamps of the files are kept.
+ * @param allowZip64             Whether the archive may use the zip64 extension.
+ * @param charset                The charset of the entry names.
+ * @param threads                The amount of threads which compress entries.
+ * @param cacheDirectory         The directory in which compressed entries are cached.
+ */
+record ParallelZipCopyAction(File archive, boolean compress, boolean preserveFileTimestamps, boolean allowZip64, Charset charset, int threads,
+                             Path cacheDirectory) implements CopyAction {
+
+    @Override
+    public @NotNull WorkResult execute(@NotNull CopyActionProcessingStream stream) {
+        try (ParallelZipWriter writer = new ParallelZipWriter(compress, preserveFileTimestamps, allowZip64, charset, threads, cacheDirectory)) {
+            stream.process(details -> {
+                final String path = details.getRelativePath().getPathString();
+                final int permissions = details.getPermissions().toUnixNumeric();
+
+                if (details.isDirectory()) {
+                    writer.addDirectory(path + "/", ParallelZipWriter.DIRECTORY_FLAG | permissions, details.getLastModified());
+                    return;
+                }
+
+                if (details.getSize() > ParallelZipWriter.MAX_ENTRY_SIZE) {
+                    throw new GradleException("The file '%s' is too large to be compressed in parallel. Set parallelCompression to false on the task which creates '%s'."
+                            .formatted(path, archive));
+                }
+
+                //The content is read here, as the details of generated files, like the manifest, are only valid while they are processed.
+                try (InputStream content = details.open()) {
+                    writer.addFile(path, ParallelZipWriter.FILE_FLAG | permissions, details.getLastModified(), content.readAllBytes());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new GradleException("Interrupted while adding '%s' to '%s'.".formatted(path, archive), e);
+                }
+            });
+
+            writer.write(archive.toPath());
+        } catch (IOException | UncheckedIOException e) {
+            throw new GradleException("Could not create ZIP '%s'.".formatted(archive), e);
+        }
+
+        return WorkResults.didWork(true);
+    }
+}
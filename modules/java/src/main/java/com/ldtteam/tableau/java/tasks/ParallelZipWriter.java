@@ -0,0 +1,518 @@
+package com.ldtteam.tableau.java.tasks;
+
+import org.gradle.api.GradleException;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes zip archives, compressing their entries in parallel.
+ * <p>
+ *     Entries are compressed on a pool of threads as soon as they are added, and written in a deterministic order
+ *     once all of them are added: the manifest first, followed by all other entries sorted by path. When file
+ *     timestamps are not preserved, every entry gets the same fixed timestamp, so that the same entries always yield
+ *     the same archive.
+ * <p>
+ *     Compressed entries can be cached in a directory, keyed by the hash of their content. An entry whose content
+ *     has been compressed before is then read from the cache instead of being compressed again. Entries which were
+ *     not used by the last archive are removed from the cache.
+ * <p>
+ *     Memory: the content of a file is held in memory from when it is added until it is compressed, which is at most
+ *     four files per thread at a time, and a single file can not be larger than {@link #MAX_ENTRY_SIZE}. With a cache
+ *     directory, compressed entries are kept in the cache and streamed from there into the archive. Without one, all
+ *     compressed entries are held in memory until the archive is written.
+ * <p>
+ *     The archive is written directly from the compressed entries. When the archive requires the zip64 extension,
+ *     it is instead written by a {@link ZipOutputStream}, which does not support unix permissions.
+ */
+public final class ParallelZipWriter implements AutoCloseable {
+
+    /**
+     * The timestamp of all entries, when file timestamps are not preserved.
+     * Matches the timestamp Gradle uses for its own archives.
+     */
+    public static final long CONSTANT_TIME_FOR_ZIP_ENTRIES = new GregorianCalendar(1980, Calendar.FEBRUARY, 1, 0, 0, 0).getTimeInMillis();
+
+    /**
+     * The unix file type flag of a regular file.
+     */
+    public static final int FILE_FLAG = 0100000;
+
+    /**
+     * The unix file type flag of a directory.
+     */
+    public static final int DIRECTORY_FLAG = 040000;
+
+    /**
+     * The largest file, in bytes, which can be added, as the content of a file is held in a single array.
+     */
+    public static final long MAX_ENTRY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final String MANIFEST_DIRECTORY = "META-INF/";
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int VERSION_MADE_BY_UNIX = (3 << 8) | 20;
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+    private static final int FLAG_UTF8 = 1 << 11;
+    private static final long MAX_ENTRIES = 0xFFFF;
+    private static final long MAX_SIZE = 0xFFFFFFFFL;
+
+    private final boolean compress;
+    private final boolean preserveFileTimestamps;
+    private final boolean allowZip64;
+    private final Charset charset;
+    private final @Nullable Path cacheDirectory;
+
+    private final ExecutorService executor;
+    private final Semaphore pending;
+    private final List<Entry> entries = new ArrayList<>();
+    private final Set<String> usedCacheKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger compressedEntries = new AtomicInteger();
+
+    /**
+     * Creates a new writer.
+     *
+     * @param compress               Whether file entries are deflated, or stored.
+     * @param preserveFileTimestamps Whether the timestamps of the files are kept, or replaced by {@link #CONSTANT_TIME_FOR_ZIP_ENTRIES}.
+     * @param allowZip64             Whether the archive may use the zip64 extension, when it has too many or too large entries.
+     * @param charset                The charset of the entry names.
+     * @param threads                The amount of threads which compress entries.
+     * @param cacheDirectory         The directory in which compressed entries are cached, or null to not cache them.
+     */
+    public ParallelZipWriter(boolean compress, boolean preserveFileTimestamps, boolean allowZip64, Charset charset, int threads, @Nullable Path cacheDirectory) {
+        this.compress = compress;
+        this.preserveFileTimestamps = preserveFileTimestamps;
+        this.allowZip64 = allowZip64;
+        this.charset = charset;
+        this.cacheDirectory = cacheDirectory;
+
+        final int poolSize = Math.max(1, threads);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            final Thread thread = new Thread(runnable, "tableau-zip-compressor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        //Bounds the amount of uncompressed content which is held in memory while waiting for a thread.
+        this.pending = new Semaphore(poolSize * 4);
+    }
+
+    /**
+     * Adds a directory entry.
+     *
+     * @param path         The path of the directory, ending with a slash.
+     * @param mode         The unix mode of the directory, including {@link #DIRECTORY_FLAG}.
+     * @param lastModified The time the directory was last modified at, in milliseconds since the epoch.
+     */
+    public void addDirectory(String path, int mode, long lastModified) {
+        entries.add(new Entry(path, true, mode, timestamp(lastModified), CompletableFuture.completedFuture(Data.EMPTY)));
+    }
+
+    /**
+     * Adds a file entry, which is compressed in the background.
+     *
+     * @param path         The path of the file.
+     * @param mode         The unix mode of the file, including {@link #FILE_FLAG}.
+     * @param lastModified The time the file was last modified at, in milliseconds since the epoch.
+     * @param content      The content of the file.
+     * @throws InterruptedException When interrupted while waiting for a thread to become available.
+     */
+    public void addFile(String path, int mode, long lastModified, byte[] content) throws InterruptedException {
+        pending.acquire();
+        try {
+            entries.add(new Entry(path, false, mode, timestamp(lastModified), executor.submit(() -> {
+                try {
+                    return data(content);
+                } finally {
+                    pending.release();
+                }
+            })));
+        } catch (RuntimeException e) {
+            pending.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes all added entries to the given archive.
+     *
+     * @param archive The archive to write.
+     * @throws IOException When the archive could not be written.
+     */
+    public void write(Path archive) throws IOException {
+        final List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingInt((Entry entry) -> order(entry.path())).thenComparing(Entry::path));
+
+        final List<WrittenEntry> written = new ArrayList<>(sorted.size());
+        for (final Entry entry : sorted) {
+            written.add(new WrittenEntry(entry, entry.path().getBytes(charset), await(entry.data())));
+        }
+
+        Files.createDirectories(archive.toAbsolutePath().getParent());
+        if (requiresZip64(written)) {
+            if (!allowZip64) {
+                throw new GradleException("The archive '%s' contains %d or more entries, or is larger than 4GB. To build it, enable the zip64 extension."
+                        .formatted(archive, MAX_ENTRIES));
+            }
+
+            writeWithZipOutputStream(archive, written);
+        } else {
+            writeDirectly(archive, written);
+        }
+
+        pruneCache();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static int order(String path) {
+        //The jar specification requires the manifest to be the first entry, optionally preceded by its directory.
+        return switch (path) {
+            case MANIFEST_DIRECTORY -> 0;
+            case MANIFEST -> 1;
+            default -> 2;
+        };
+    }
+
+    private long timestamp(long lastModified) {
+        return preserveFileTimestamps ? lastModified : CONSTANT_TIME_FOR_ZIP_ENTRIES;
+    }
+
+    /**
+     * The amount of entries this writer compressed, instead of reading them from the cache.
+     *
+     * @return The amount of compressed entries.
+     */
+    int compressedEntries() {
+        return compressedEntries.get();
+    }
+
+    private Data data(byte[] content) throws IOException {
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        final int method = compress ? ZipEntry.DEFLATED : ZipEntry.STORED;
+
+        if (cacheDirectory == null) {
+            final byte[] bytes = compress ? deflate(content) : content;
+            return new Data(bytes, null, (int) crc.getValue(), content.length, bytes.length, method);
+        }
+
+        //Stored entries go through the cache as well, so that no entry is held in memory until the archive is written.
+        final String key = (compress ? "deflated-" : "stored-") + cacheKey(content);
+        usedCacheKeys.add(key);
+
+        final Path cached = cacheDirectory.resolve(key);
+        if (!Files.isRegularFile(cached)) {
+            final byte[] bytes = compress ? deflate(content) : content;
+            if (compress) {
+                compressedEntries.incrementAndGet();
+            }
+
+            Files.createDirectories(cacheDirectory);
+            //Write to a temporary file first, so that an interrupted build never leaves a truncated entry behind.
+            final Path temporary = Files.createTempFile(cacheDirectory, key, ".tmp");
+            try {
+                Files.write(temporary, bytes);
+                Files.move(temporary, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+        return new Data(null, cached, (int) crc.getValue(), content.length, Files.size(cached), method);
+    }
+
+    private static byte[] deflate(byte[] content) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(content);
+            deflater.finish();
+
+            final byte[] buffer = new byte[8192];
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+            while (!deflater.finished()) {
+                final int length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String cacheKey(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Data await(Future<Data> data) throws IOException {
+        try {
+            return data.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing the archive entries", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Failed to compress an archive entry", e.getCause());
+        }
+    }
+
+    private static boolean requiresZip64(List<WrittenEntry> entries) {
+        //The maximum value is reserved as the marker of a zip64 record, so it already requires the extension.
+        if (entries.size() >= MAX_ENTRIES) {
+            return true;
+        }
+
+        long size = END_OF_CENTRAL_DIRECTORY_SIZE;
+        for (final WrittenEntry entry : entries) {
+            if (entry.data().size() > MAX_SIZE) {
+                return true;
+            }
+            size += LOCAL_FILE_HEADER_SIZE + CENTRAL_DIRECTORY_HEADER_SIZE + 2L * entry.name().length + entry.data().compressedSize();
+        }
+        return size > MAX_SIZE;
+    }
+
+    private void writeDirectly(Path archive, List<WrittenEntry> entries) throws IOException {
+        final int flags = StandardCharsets.UTF_8.equals(charset) ? FLAG_UTF8 : 0;
+        final long[] offsets = new long[entries.size()];
+
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(archive), 1 << 16)) {
+            long offset = 0;
+            for (int i = 0; i < entries.size(); i++) {
+                final WrittenEntry entry = entries.get(i);
+                offsets[i] = offset;
+
+                final ByteBuffer header = buffer(LOCAL_FILE_HEADER_SIZE);
+                header.putInt(LOCAL_FILE_HEADER_SIGNATURE);
+                header.putShort((short) versionNeeded(entry));
+                header.putShort((short) flags);
+                header.putShort((short) entry.data().method());
+                header.putInt((int) dosTime(entry.entry().lastModified()));
+                header.putInt(entry.data().crc());
+                header.putInt((int) entry.data().compressedSize());
+                header.putInt((int) entry.data().size());
+                header.putShort((short) entry.name().length);
+                header.putShort((short) 0);
+
+                output.write(header.array());
+                output.write(entry.name());
+                entry.data().transferTo(output);
+                offset += LOCAL_FILE_HEADER_SIZE + entry.name().length + entry.data().compressedSize();
+            }
+
+            final long centralDirectoryOffset = offset;
+            for (int i = 0; i < entries.size(); i++) {
+                final WrittenEntry entry = entries.get(i);
+
+                final ByteBuffer header = buffer(CENTRAL_DIRECTORY_HEADER_SIZE);
+                header.putInt(CENTRAL_DIRECTORY_SIGNATURE);
+                header.putShort((short) VERSION_MADE_BY_UNIX);
+                header.putShort((short) versionNeeded(entry));
+                header.putShort((short) flags);
+                header.putShort((short) entry.data().method());
+                header.putInt((int) dosTime(entry.entry().lastModified()));
+                header.putInt(entry.data().crc());
+                header.putInt((int) entry.data().compressedSize());
+                header.putInt((int) entry.data().size());
+                header.putShort((short) entry.name().length);
+                header.putShort((short) 0);
+                header.putShort((short) 0);
+                header.putShort((short) 0);
+                header.putShort((short) 0);
+                header.putInt(externalAttributes(entry.entry()));
+                header.putInt((int) offsets[i]);
+
+                output.write(header.array());
+                output.write(entry.name());
+                offset += CENTRAL_DIRECTORY_HEADER_SIZE + entry.name().length;
+            }
+
+            final ByteBuffer end = buffer(END_OF_CENTRAL_DIRECTORY_SIZE);
+            end.putInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            end.putShort((short) 0);
+            end.putShort((short) 0);
+            end.putShort((short) entries.size());
+            end.putShort((short) entries.size());
+            end.putInt((int) (offset - centralDirectoryOffset));
+            end.putInt((int) centralDirectoryOffset);
+            end.putShort((short) 0);
+            output.write(end.array());
+        }
+    }
+
+    private void writeWithZipOutputStream(Path archive, List<WrittenEntry> entries) throws IOException {
+        try (ZipOutputStream output = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(archive), 1 << 16), charset)) {
+            for (final WrittenEntry entry : entries) {
+                final ZipEntry zipEntry = new ZipEntry(entry.entry().path());
+                zipEntry.setTime(entry.entry().lastModified());
+                zipEntry.setMethod(entry.data().method());
+                if (entry.data().method() == ZipEntry.STORED) {
+                    zipEntry.setSize(entry.data().size());
+                    zipEntry.setCompressedSize(entry.data().size());
+                    zipEntry.setCrc(Integer.toUnsignedLong(entry.data().crc()));
+                }
+
+                output.putNextEntry(zipEntry);
+                //The zip output stream can not write already compressed data, so deflated entries are inflated again.
+                try (InputStream content = entry.data().method() == ZipEntry.DEFLATED
+                        ? new InflaterInputStream(entry.data().open(), new Inflater(true))
+                        : entry.data().open()) {
+                    content.transferTo(output);
+                }
+                output.closeEntry();
+            }
+        }
+    }
+
+    private void pruneCache() throws IOException {
+        if (cacheDirectory == null || !Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        try (Stream<Path> cached = Files.list(cacheDirectory)) {
+            cached.filter(file -> !usedCacheKeys.contains(file.getFileName().toString()))
+                    .forEach(file -> {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int versionNeeded(WrittenEntry entry) {
+        return entry.data().method() == ZipEntry.DEFLATED ? VERSION_DEFLATED : VERSION_STORED;
+    }
+
+    private static int externalAttributes(Entry entry) {
+        //The unix mode goes into the upper half, the lower half holds the MS-DOS attributes.
+        final int readOnly = (entry.mode() & 0200) == 0 ? 1 : 0;
+        final int directory = entry.directory() ? 0x10 : 0;
+        return (entry.mode() << 16) | readOnly | directory;
+    }
+
+    private static long dosTime(long millis) {
+        final LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+
+        return ((long) (time.getYear() - 1980) << 25)
+                | ((long) time.getMonthValue() << 21)
+                | ((long) time.getDayOfMonth() << 16)
+                | ((long) time.getHour() << 11)
+                | ((long) time.getMinute() << 5)
+                | ((long) time.getSecond() >> 1);
+    }
+
+    private static ByteBuffer buffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * An added entry.
+     *
+     * @param path         The path of the entry.
+     * @param directory    Whether the entry is a directory.
+     * @param mode         The unix mode of the entry.
+     * @param lastModified The timestamp of the entry.
+     * @param data         The content of the entry, once compressed.
+     */
+    private record Entry(String path, boolean directory, int mode, long lastModified, Future<Data> data) {
+    }
+
+    /**
+     * The content of an entry, as written to the archive.
+     *
+     * @param bytes          The compressed, or stored, content, when it is held in memory.
+     * @param file           The file which holds the compressed, or stored, content, when it is cached.
+     * @param crc            The CRC-32 of the uncompressed content.
+     * @param size           The size of the uncompressed content.
+     * @param compressedSize The size of the compressed, or stored, content.
+     * @param method         The compression method.
+     */
+    private record Data(@Nullable byte[] bytes, @Nullable Path file, int crc, long size, long compressedSize, int method) {
+
+        private static final Data EMPTY = new Data(new byte[0], null, 0, 0, 0, ZipEntry.STORED);
+
+        private InputStream open() throws IOException {
+            return file != null ? Files.newInputStream(file) : new ByteArrayInputStream(bytes);
+        }
+
+        private void transferTo(OutputStream output) throws IOException {
+            if (file != null) {
+                Files.copy(file, output);
+            } else {
+                output.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * An entry which is ready to be written.
+     *
+     * @param entry The entry.
+     * @param name  The encoded name of the entry.
+     * @param data  The content of the entry.
+     */
+    private record WrittenEntry(Entry entry, byte[] name, Data data) {
+    }
+}
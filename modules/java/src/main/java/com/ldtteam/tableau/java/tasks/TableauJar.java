@@ -0,0 +1,105 @@
+package com.ldtteam.tableau.java.tasks;
+
+import org.gradle.api.internal.file.copy.CopyAction;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.bundling.Jar;
+import org.gradle.api.tasks.bundling.ZipEntryCompression;
+import org.gradle.util.GradleVersion;
+import org.jetbrains.annotations.NotNull;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A jar task which compresses its entries in parallel, and writes them in a reproducible way.
+ * <p>
+ *     By default the entries are written in a reproducible order, with the manifest first, and with fixed timestamps.
+ *     Compressed entries are cached in the temporary directory of the task, so that when the jar is built again
+ *     only the entries whose content changed are compressed again.
+ * <p>
+ *     The parallel writer plugs into Gradle's internal copy action API. It is only used on the Gradle versions it was
+ *     verified against, from {@link #MINIMUM_GRADLE_VERSION} up to, but excluding, {@link #UNVERIFIED_GRADLE_VERSION},
+ *     on other versions, or with {@link #getParallelCompression()} disabled, the task behaves like a stock jar task.
+ */
+public abstract class TableauJar extends Jar {
+
+    /**
+     * The first Gradle version the parallel writer is verified against.
+     */
+    public static final String MINIMUM_GRADLE_VERSION = "8.10";
+
+    /**
+     * The first Gradle version the parallel writer is no longer verified against.
+     */
+    public static final String UNVERIFIED_GRADLE_VERSION = "10.0";
+
+    /**
+     * Creates a new jar task.
+     */
+    @Inject
+    public TableauJar() {
+        setPreserveFileTimestamps(false);
+        setReproducibleFileOrder(true);
+
+        getCompressionThreads().convention(Runtime.getRuntime().availableProcessors());
+        getParallelCompression().convention(true);
+    }
+
+    /**
+     * Indicates whether the entries are compressed in parallel by Tableau, or by the stock jar implementation.
+     * Defaults to true, the stock implementation is always used on Gradle versions the parallel writer is not verified against.
+     *
+     * @return The property.
+     */
+    @Internal
+    public abstract Property<Boolean> getParallelCompression();
+
+    /**
+     * The amount of threads which compress the entries of the jar.
+     * Defaults to the amount of available processors.
+     *
+     * @return The property.
+     */
+    @Internal
+    public abstract Property<Integer> getCompressionThreads();
+
+    @Override
+    protected @NotNull CopyAction createCopyAction() {
+        if (!getParallelCompression().get()) {
+            return super.createCopyAction();
+        }
+
+        if (!isVerifiedGradleVersion(GradleVersion.current())) {
+            getLogger().info("Gradle {} is not verified with the parallel jar writer, {} is created by the stock implementation.", GradleVersion.current().getVersion(), getName());
+            return super.createCopyAction();
+        }
+
+        final String metadataCharset = getMetadataCharset();
+        final Charset charset = metadataCharset == null ? StandardCharsets.UTF_8 : Charset.forName(metadataCharset);
+
+        return new ParallelZipCopyAction(
+                getArchiveFile().get().getAsFile(),
+                getEntryCompression() == ZipEntryCompression.DEFLATED,
+                isPreserveFileTimestamps(),
+                isZip64(),
+                charset,
+                getCompressionThreads().get(),
+                new File(getTemporaryDir(), "compressed-entries").toPath()
+        );
+    }
+
+    /**
+     * Checks whether the parallel writer is verified against the given Gradle version.
+     *
+     * @param version The Gradle version.
+     * @return True when the parallel writer can be used.
+     */
+    static boolean isVerifiedGradleVersion(GradleVersion version) {
+        final GradleVersion base = version.getBaseVersion();
+        return base.compareTo(GradleVersion.version(MINIMUM_GRADLE_VERSION)) >= 0
+                && base.compareTo(GradleVersion.version(UNVERIFIED_GRADLE_VERSION)) < 0;
+    }
+}
@@ -0,0 +1,252 @@
+package com.ldtteam.tableau.java.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.gradle.api.GradleException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ParallelZipWriterTest {
+
+    private static final String MANIFEST = "Manifest-Version: 1.0\r\n\r\n";
+
+    @TempDir
+    private Path directory;
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void addExampleEntries(ParallelZipWriter writer, boolean reversed) {
+        final List<Runnable> additions = new ArrayList<>();
+        additions.add(() -> writer.addDirectory("META-INF/", ParallelZipWriter.DIRECTORY_FLAG | 0755, 1));
+        additions.add(() -> add(writer, "META-INF/MANIFEST.MF", 0644, MANIFEST));
+        additions.add(() -> writer.addDirectory("com/", ParallelZipWriter.DIRECTORY_FLAG | 0755, 2));
+        additions.add(() -> add(writer, "com/Example.class", 0644, "class content ".repeat(100)));
+        additions.add(() -> add(writer, "run.sh", 0755, "#!/bin/sh\necho run\n"));
+        additions.add(() -> add(writer, "assets/empty.txt", 0644, ""));
+
+        if (reversed) {
+            for (int i = additions.size() - 1; i >= 0; i--) {
+                additions.get(i).run();
+            }
+        } else {
+            additions.forEach(Runnable::run);
+        }
+    }
+
+    private static void add(ParallelZipWriter writer, String path, int permissions, String content) {
+        try {
+            writer.addFile(path, ParallelZipWriter.FILE_FLAG | permissions, 1234567890L, bytes(content));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path write(String name, int threads, boolean reversed, Path cache) throws Exception {
+        final Path archive = directory.resolve(name);
+        try (ParallelZipWriter writer = new ParallelZipWriter(true, false, false, StandardCharsets.UTF_8, threads, cache)) {
+            addExampleEntries(writer, reversed);
+            writer.write(archive);
+        }
+        return archive;
+    }
+
+    /**
+     * Reads the unix modes of all entries from the central directory, the zip api of the JDK does not expose them.
+     */
+    private static Map<String, Integer> unixModes(Path archive) throws IOException {
+        final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(archive)).order(ByteOrder.LITTLE_ENDIAN);
+        final int end = content.limit() - 22;
+        assertEquals(0x06054b50, content.getInt(end));
+
+        final int entries = Short.toUnsignedInt(content.getShort(end + 10));
+        int offset = content.getInt(end + 16);
+
+        final Map<String, Integer> modes = new HashMap<>();
+        for (int i = 0; i < entries; i++) {
+            assertEquals(0x02014b50, content.getInt(offset));
+            final int nameLength = Short.toUnsignedInt(content.getShort(offset + 28));
+            final int extraLength = Short.toUnsignedInt(content.getShort(offset + 30));
+            final int commentLength = Short.toUnsignedInt(content.getShort(offset + 32));
+            final int externalAttributes = content.getInt(offset + 38);
+            final String name = new String(content.array(), offset + 46, nameLength, StandardCharsets.UTF_8);
+
+            modes.put(name, externalAttributes >>> 16);
+            offset += 46 + nameLength + extraLength + commentLength;
+        }
+        return modes;
+    }
+
+    @Test
+    public void testArchiveIsReadableAsJar() throws Exception {
+        final Path archive = write("example.jar", 4, false, directory.resolve("cache"));
+
+        try (JarFile jar = new JarFile(archive.toFile())) {
+            assertNotNull(jar.getManifest());
+            assertEquals("1.0", jar.getManifest().getMainAttributes().getValue("Manifest-Version"));
+
+            final ZipEntry example = jar.getEntry("com/Example.class");
+            assertEquals(ZipEntry.DEFLATED, example.getMethod());
+            try (InputStream content = jar.getInputStream(example)) {
+                assertArrayEquals(bytes("class content ".repeat(100)), content.readAllBytes());
+            }
+            try (InputStream content = jar.getInputStream(jar.getEntry("assets/empty.txt"))) {
+                assertEquals(0, content.readAllBytes().length);
+            }
+            assertTrue(jar.getEntry("com/").isDirectory());
+        }
+
+        //A jar input stream only finds the manifest when it is the first entry, or follows its directory.
+        try (JarInputStream input = new JarInputStream(Files.newInputStream(archive))) {
+            assertNotNull(input.getManifest());
+        }
+    }
+
+    @Test
+    public void testEntriesAreSortedWithTheManifestFirst() throws Exception {
+        final Path archive = write("example.jar", 4, true, null);
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            final List<String> names = zip.stream().map(ZipEntry::getName).toList();
+            assertEquals(List.of("META-INF/", "META-INF/MANIFEST.MF", "assets/empty.txt", "com/", "com/Example.class", "run.sh"), names);
+        }
+    }
+
+    @Test
+    public void testArchivesAreByteIdentical() throws Exception {
+        final Path first = write("first.jar", 1, false, null);
+        final Path second = write("second.jar", 8, true, directory.resolve("cache"));
+        final Path third = write("third.jar", 3, false, directory.resolve("cache"));
+
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(third));
+    }
+
+    @Test
+    public void testUnixPermissionsAreKept() throws Exception {
+        final Map<String, Integer> modes = unixModes(write("example.jar", 2, false, null));
+
+        assertEquals(ParallelZipWriter.FILE_FLAG | 0755, modes.get("run.sh"));
+        assertEquals(ParallelZipWriter.FILE_FLAG | 0644, modes.get("com/Example.class"));
+        assertEquals(ParallelZipWriter.DIRECTORY_FLAG | 0755, modes.get("com/"));
+    }
+
+    @Test
+    public void testCachedEntriesAreReused() throws Exception {
+        final Path cache = directory.resolve("cache");
+        final Path archive = directory.resolve("example.jar");
+
+        try (ParallelZipWriter writer = new ParallelZipWriter(true, false, false, StandardCharsets.UTF_8, 2, cache)) {
+            addExampleEntries(writer, false);
+            writer.write(archive);
+            assertEquals(4, writer.compressedEntries());
+        }
+
+        try (ParallelZipWriter writer = new ParallelZipWriter(true, false, false, StandardCharsets.UTF_8, 2, cache)) {
+            addExampleEntries(writer, false);
+            add(writer, "changed.txt", 0644, "new content");
+            writer.write(archive);
+            assertEquals(1, writer.compressedEntries());
+        }
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            try (InputStream content = zip.getInputStream(zip.getEntry("changed.txt"))) {
+                assertArrayEquals(bytes("new content"), content.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testUnusedCachedEntriesArePruned() throws Exception {
+        final Path cache = directory.resolve("cache");
+        final Path archive = directory.resolve("example.jar");
+
+        try (ParallelZipWriter writer = new ParallelZipWriter(true, false, false, StandardCharsets.UTF_8, 2, cache)) {
+            addExampleEntries(writer, false);
+            writer.write(archive);
+        }
+        assertEquals(4, count(cache));
+
+        try (ParallelZipWriter writer = new ParallelZipWriter(true, false, false, StandardCharsets.UTF_8, 2, cache)) {
+            add(writer, "META-INF/MANIFEST.MF", 0644, MANIFEST);
+            writer.write(archive);
+        }
+        assertEquals(1, count(cache));
+    }
+
+    @Test
+    public void testStoredEntriesAreNotCompressed() throws Exception {
+        final Path archive = directory.resolve("stored.jar");
+        try (ParallelZipWriter writer = new ParallelZipWriter(false, false, false, StandardCharsets.UTF_8, 2, directory.resolve("cache"))) {
+            addExampleEntries(writer, false);
+            writer.write(archive);
+            assertEquals(0, writer.compressedEntries());
+        }
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            final ZipEntry example = zip.getEntry("com/Example.class");
+            assertEquals(ZipEntry.STORED, example.getMethod());
+            try (InputStream content = zip.getInputStream(example)) {
+                assertArrayEquals(bytes("class content ".repeat(100)), content.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testArchiveAtTheEntryLimitRequiresZip64() throws Exception {
+        final Path archive = directory.resolve("large.jar");
+        try (ParallelZipWriter writer = new ParallelZipWriter(true, false, false, StandardCharsets.UTF_8, 4, null)) {
+            for (int i = 0; i < 0xFFFF; i++) {
+                writer.addFile("entry-%d.txt".formatted(i), ParallelZipWriter.FILE_FLAG | 0644, 0, bytes("content"));
+            }
+
+            assertThrows(GradleException.class, () -> writer.write(archive));
+        }
+    }
+
+    @Test
+    public void testZip64ArchiveIsReadable() throws Exception {
+        final Path archive = directory.resolve("large.jar");
+        try (ParallelZipWriter writer = new ParallelZipWriter(true, false, true, StandardCharsets.UTF_8, 4, directory.resolve("cache"))) {
+            for (int i = 0; i < 0xFFFF; i++) {
+                writer.addFile("entry-%d.txt".formatted(i), ParallelZipWriter.FILE_FLAG | 0644, 0, bytes("content " + i));
+            }
+            writer.write(archive);
+        }
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            assertEquals(0xFFFF, zip.size());
+            try (InputStream content = zip.getInputStream(zip.getEntry("entry-65534.txt"))) {
+                assertArrayEquals(bytes("content 65534"), content.readAllBytes());
+            }
+        }
+    }
+
+    private static long count(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.ldtteam.tableau.java.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.gradle.util.GradleVersion;
+import org.junit.jupiter.api.Test;
+
+public class TableauJarTest {
+
+    @Test
+    public void testVerifiedGradleVersions() {
+        assertTrue(TableauJar.isVerifiedGradleVersion(GradleVersion.version(TableauJar.MINIMUM_GRADLE_VERSION)));
+        assertTrue(TableauJar.isVerifiedGradleVersion(GradleVersion.version("9.2")));
+        assertTrue(TableauJar.isVerifiedGradleVersion(GradleVersion.version("9.3-rc-1")));
+    }
+
+    @Test
+    public void testUnverifiedGradleVersions() {
+        assertFalse(TableauJar.isVerifiedGradleVersion(GradleVersion.version("8.9")));
+        assertFalse(TableauJar.isVerifiedGradleVersion(GradleVersion.version(TableauJar.UNVERIFIED_GRADLE_VERSION)));
+        assertFalse(TableauJar.isVerifiedGradleVersion(GradleVersion.version("10.0-milestone-1")));
+    }
+}
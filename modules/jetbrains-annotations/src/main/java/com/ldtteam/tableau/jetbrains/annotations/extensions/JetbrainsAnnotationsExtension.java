@@ -13,7 +13,6 @@ import org.gradle.api.file.FileCollection;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.ProviderConvertible;
 import org.gradle.api.tasks.SourceSet;
-import org.gradle.api.tasks.SourceSetContainer;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
@@ -61,19 +60,20 @@ public abstract class JetbrainsAnnotationsExtension implements Dependencies {
         sourceSetExtension.configureEach(sourceSetConfiguration -> {
             //Get the source sets extension to check whether it is enabled or not.
             final JetbrainsAnnotationsSourceSetExtension jaSourceSetExtension = JetbrainsAnnotationsSourceSetExtension.get(sourceSetConfiguration);
-            final SourceSet sourceSet = project.getExtensions().getByType(SourceSetContainer.class).getByName(sourceSetConfiguration.getName());
-            final Configuration implementation = project.getConfigurations().getByName(sourceSet.getImplementationConfigurationName());
+            final SourceSet sourceSet = sourceSetConfiguration.getSourceSet();
 
             //Wrap the dependency collector to add the default dependency if no other dependencies are present.
             final DependencyCollector collector = new DefaultDependencyAwareDependencyCollector(defaultJetbrainsAnnotationsDependency, getDependencies());
 
             //Add the dependencies and constraints to the implementation configuration.
-            implementation.getDependencies().addAllLater(
-                    ProviderUtils.conditionalCollection(collector.getDependencies(), jaSourceSetExtension.getInjectAnnotations(), Set::of)
-            );
-            implementation.getDependencyConstraints().addAllLater(
-                    ProviderUtils.conditionalCollection(collector.getDependencyConstraints(), jaSourceSetExtension.getInjectAnnotations(), Set::of)
-            );
+            project.getConfigurations().named(sourceSet.getImplementationConfigurationName()).configure(implementation -> {
+                implementation.getDependencies().addAllLater(
+                        ProviderUtils.conditionalCollection(collector.getDependencies(), jaSourceSetExtension.getInjectAnnotations(), Set::of)
+                );
+                implementation.getDependencyConstraints().addAllLater(
+                        ProviderUtils.conditionalCollection(collector.getDependencyConstraints(), jaSourceSetExtension.getInjectAnnotations(), Set::of)
+                );
+            });
         });
     }
 
@@ -3,12 +3,16 @@
  */
 package com.ldtteam.tableau.local.file.configuration;
 
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import org.gradle.api.Project;
 import org.gradle.api.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
+import java.io.File;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * The local file project plugin.
@@ -36,40 +40,29 @@ public class LocalFileConfigurationProjectPlugin implements Plugin<Project> {
             target.apply(Map.of("from", "gradle/local.configuration.gradle"));
         }
 
-        target.afterEvaluate(project -> {
-            target.fileTree("gradle", spec -> spec.include("**/*.gradle")).visit(details -> {
+        ConfigurationProfiler.afterEvaluate(target, "LocalFileConfigurationProjectPlugin", project -> {
+            //Walk the directory once, the scripts are applied in the order of their relative path, so that every machine uses the same order.
+            final SortedMap<String, File> shared = new TreeMap<>();
+            final SortedMap<String, File> local = new TreeMap<>();
+            project.fileTree("gradle", spec -> spec.include("**/*.gradle")).visit(details -> {
                 if (details.isDirectory())
                     return;
 
-                // We load local files last.
-                if (details.getFile().getName().contains("local"))
-                    return;
-
                 // We skip configuration files
-                if (details.getFile().getName().contains("configuration"))
+                if (details.getName().contains("configuration"))
                     return;
 
-                project.getLogger().lifecycle("Applying configuration file: " + details.getFile().getName());
-                project.apply(Map.of("from", details.getFile()));
+                (details.getName().contains("local") ? local : shared).put(details.getRelativePath().getPathString(), details.getFile());
             });
 
-            target.fileTree("gradle", spec -> spec.include("**/*.gradle")).visit(details -> {
-                if (details.isDirectory())
-                    return;
-
-                // We load local files last.
-                if (!details.getFile().getName().contains("local"))
-                    return;
-
-                // We skip configuration files
-                if (details.getFile().getName().contains("configuration"))
-                    return;
-
-                project.getLogger().lifecycle("Applying configuration file: " + details.getFile().getName());
-                project.apply(Map.of("from", details.getFile()));
-            });
+            // We load local files last.
+            shared.values().forEach(script -> applyScript(project, script));
+            local.values().forEach(script -> applyScript(project, script));
         });
     }
 
-
+    private static void applyScript(Project project, File script) {
+        project.getLogger().lifecycle("Applying configuration file: " + script.getName());
+        project.apply(Map.of("from", script));
+    }
 }
@@ -207,7 +207,7 @@ public abstract class MavenPublishingExtension {
         final PublishingExtension publishing = project.getExtensions().getByType(PublishingExtension.class);
         publishing.repositories(mavenRepositories -> {
             mavenRepositories.maven(mavenRepository -> {
-                mavenRepository.setUrl("file:///" + project.getRootProject().file("repo").getAbsolutePath());
+                mavenRepository.setUrl(project.getIsolated().getRootProject().getProjectDirectory().dir("repo").getAsFile().toURI());
                 mavenRepository.setName("Local-Repo-Directory");
             });
         });
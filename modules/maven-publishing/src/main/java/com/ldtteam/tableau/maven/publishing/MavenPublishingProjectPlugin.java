@@ -6,6 +6,7 @@ package com.ldtteam.tableau.maven.publishing;
 import com.ldtteam.tableau.common.CommonPlugin;
 import com.ldtteam.tableau.git.GitPlugin;
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import org.gradle.api.Project;
 import org.gradle.api.Plugin;
 import org.gradle.api.publish.PublishingExtension;
@@ -50,7 +51,7 @@ public class MavenPublishingProjectPlugin implements Plugin<Project> {
         final PublishingExtension publishing = project.getExtensions().getByType(PublishingExtension.class);
         final MavenPublishingExtension mavenPublishing = MavenPublishingExtension.get(project);
 
-        project.afterEvaluate(ignored -> {
+        ConfigurationProfiler.afterEvaluate(project, "MavenPublishingProjectPlugin", ignored -> {
             if (mavenPublishing.getShouldCreateDefaultPublication().get()) {
                 //This needs to be in an after evaluate block to ensure that the project has been configured.
                 publishing.getPublications().create("default", MavenPublication.class, publication -> {
@@ -1,10 +1,9 @@
 package com.ldtteam.tableau.neoforge.metadata.components;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
 
 import javax.inject.Inject;
 
@@ -12,18 +11,22 @@ import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.problems.ProblemGroup;
 import org.gradle.api.problems.ProblemId;
 import org.gradle.api.problems.Problems;
 import org.gradle.api.problems.Severity;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 
 import com.electronwill.nightconfig.core.CommentedConfig;
-import com.electronwill.nightconfig.core.file.CommentedFileConfig;
-import com.electronwill.nightconfig.core.file.FileConfig;
+import com.ldtteam.tableau.extensions.NeoGradleExtension;
 import com.ldtteam.tableau.neoforge.metadata.api.IMetadataComponent;
+import com.ldtteam.tableau.neoforge.metadata.utils.JarInspector;
+import com.ldtteam.tableau.neoforge.metadata.utils.LoaderVersionLookupService;
 import com.ldtteam.tableau.sourceset.management.extensions.SourceSetExtension.SourceSetConfiguration;
 
 /**
@@ -39,6 +42,11 @@ public abstract class LoaderVersionComponent implements IMetadataComponent {
      */
     public static final String NAME = "loaderVersion";
 
+    /**
+     * The gradle property which selects the {@link Source} of the default loader version.
+     */
+    public static final String SOURCE_PROPERTY = "metadata.loaderVersion.source";
+
     /**
      * Creates a new metadata component.
      * <p>
@@ -49,8 +57,12 @@ public abstract class LoaderVersionComponent implements IMetadataComponent {
      */
     @Inject
     public LoaderVersionComponent(final Project project, final SourceSetConfiguration sourceSetConfiguration) {
+        getSource().convention(project.getProviders().gradleProperty(SOURCE_PROPERTY)
+                .map(source -> Source.valueOf(source.toUpperCase(Locale.ROOT)))
+                .orElse(Source.CLASSPATH));
+
         final Configuration compileClasspath = project.getConfigurations().getByName(sourceSetConfiguration.getSourceSet().getCompileClasspathConfigurationName());
-        getRange().convention(compileClasspath.getIncoming()
+        final Provider<String> classpathRange = compileClasspath.getIncoming()
                 .getArtifacts()
                 .getResolvedArtifacts()
                 .map(resolvedArtifacts -> {
@@ -62,16 +74,34 @@ public abstract class LoaderVersionComponent implements IMetadataComponent {
 
                                 return identifier.getGroup().equals("net.neoforged") && identifier.getModule().equals("neoforge");
                             })
-                            .map(artifact -> artifact.getFile().toPath())
-                            .map(jarPath -> openFileSystem(jarPath))
-                            .map(jarFs -> jarFs.getPath("META-INF", "neoforged.mods.toml"))
-                            .filter(modsTomlPath -> Files.exists(modsTomlPath))
-                            .map(modsTomlPath -> FileConfig.of(modsTomlPath))
-                            .peek(config -> config.load())
+                            .map(artifact -> readModsToml(artifact.getFile()))
+                            .flatMap(Optional::stream)
                             .map(modsToml -> modsToml.<String>get(NAME))
                             .findFirst()
                             .orElseThrow();
-                }));
+                });
+
+        //The NeoGradle extension is only looked up when the lookup is actually used.
+        final Provider<LoaderVersionLookupService> lookupService = LoaderVersionLookupService.register(project.getGradle());
+        final Provider<String> lookupRange = project.provider(() -> NeoGradleExtension.get(project))
+                .flatMap(NeoGradleExtension::getNeoForgeVersion)
+                .map(neoForgeVersion -> lookupService.get().getLoaderVersion(neoForgeVersion, version -> resolveLoaderVersion(project, version)));
+
+        getRange().convention(getSource().flatMap(source -> switch (source) {
+            case CLASSPATH -> classpathRange;
+            case VERSION_LOOKUP -> lookupRange;
+        }));
+    }
+
+    private String resolveLoaderVersion(final Project project, final String neoForgeVersion) {
+        //Only the universal jar itself is needed, none of the userdev artifacts or transitive dependencies.
+        final Dependency universal = project.getDependencies().create("net.neoforged:neoforge:%s:universal".formatted(neoForgeVersion));
+        final Configuration configuration = project.getConfigurations().detachedConfiguration(universal);
+        configuration.setTransitive(false);
+
+        return readModsToml(configuration.getSingleFile())
+                .map(modsToml -> modsToml.<String>get(NAME))
+                .orElseThrow(() -> new GradleException("The NeoForge %s jar does not declare a loader version".formatted(neoForgeVersion)));
     }
 
     /**
@@ -83,9 +113,9 @@ public abstract class LoaderVersionComponent implements IMetadataComponent {
     protected abstract Problems getProblems();
 
     @SuppressWarnings("UnstableApiUsage")
-    private FileSystem openFileSystem(Path path) {
+    private Optional<CommentedConfig> readModsToml(File jar) {
         try {
-            return FileSystems.newFileSystem(path);
+            return JarInspector.readModsToml(jar, JarInspector.LOADER_MODS_TOML);
         } catch (IOException e) {
             throw getProblems().getReporter()
                     .throwing(
@@ -111,8 +141,38 @@ public abstract class LoaderVersionComponent implements IMetadataComponent {
     @Input
     public abstract Property<String> getRange();
 
+    /**
+     * Where the default loader version is read from.
+     * <p>
+     * Defaults to {@link Source#CLASSPATH}, can be changed with the {@value #SOURCE_PROPERTY} gradle property.
+     *
+     * @return The source of the default loader version.
+     */
+    @Internal
+    public abstract Property<Source> getSource();
+
     @Override
     public void write(CommentedConfig config) {
         config.set(NAME, getRange().get());
     }
+
+    /**
+     * The possible sources of the default loader version.
+     */
+    public enum Source {
+        /**
+         * Reads the loader version from the NeoForge jar on the compile classpath of the source set.
+         * <p>
+         * Requires the full compile classpath to be resolved.
+         */
+        CLASSPATH,
+
+        /**
+         * Looks up the loader version by the configured NeoForge version.
+         * <p>
+         * The loader version of each NeoForge version is stored in a lookup table in the Gradle user home,
+         * only when a version is not yet known its universal jar is resolved, without any dependencies, and read.
+         */
+        VERSION_LOOKUP
+    }
 }
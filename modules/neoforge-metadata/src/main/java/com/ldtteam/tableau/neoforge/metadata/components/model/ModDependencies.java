@@ -61,13 +61,10 @@ public abstract class ModDependencies extends DelegatingNamedDomainObjectContain
             return DependencyResolver.resolveDependencies(project, getProblems(), resolveTarget, false);
         }));
 
-        final Configuration runtimeClasspath = project.getConfigurations()
-                .maybeCreate(sourceSetConfiguration.getSourceSet().getRuntimeClasspathConfigurationName());
-        final Configuration api = project.getConfigurations()
-                .maybeCreate(sourceSetConfiguration.getSourceSet().getApiConfigurationName());
-
-        runtimeClasspath.fromDependencyCollector(getOptional());
-        api.fromDependencyCollector(getRequired());
+        DelegatingNamedDomainObjectContainer.maybeRegister(project.getConfigurations(), sourceSetConfiguration.getSourceSet().getRuntimeClasspathConfigurationName())
+                .configure(runtimeClasspath -> runtimeClasspath.fromDependencyCollector(getOptional()));
+        DelegatingNamedDomainObjectContainer.maybeRegister(project.getConfigurations(), sourceSetConfiguration.getSourceSet().getApiConfigurationName())
+                .configure(api -> api.fromDependencyCollector(getRequired()));
 
     }
 
@@ -4,6 +4,7 @@ import java.io.File;
 
 import org.gradle.api.Project;
 import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Copy;
 import org.gradle.api.tasks.TaskProvider;
@@ -54,8 +55,10 @@ public class AccessTransformerTaskConventions {
                 .map(logos -> logos.dir(sourceSet.getName()));
         final TaskProvider<Copy> copyTransformers = project.getTasks()
                 .register(sourceSet.getSourceSet().getTaskName("copy", "%sTransformers".formatted(sourceSet.getName())), Copy.class, copy -> {
-                    copy.onlyIf(task -> !accessTransformerComponent.getFiles().isEmpty() && accessTransformerComponent.getFiles().stream().allMatch(File::exists));
-                    copy.from(accessTransformerComponent);
+                    //Only capture the files, the component itself references the source set configuration.
+                    final FileCollection transformers = project.files(accessTransformerComponent);
+                    copy.onlyIf(task -> !transformers.getFiles().isEmpty() && transformers.getFiles().stream().allMatch(File::exists));
+                    copy.from(transformers);
                     copy.into(atDirectory);
                 });
         project.getTasks().named(sourceSet.getSourceSet().getProcessResourcesTaskName(), ProcessResources.class,
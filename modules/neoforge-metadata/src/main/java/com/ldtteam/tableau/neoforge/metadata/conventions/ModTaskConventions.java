@@ -3,6 +3,7 @@ package com.ldtteam.tableau.neoforge.metadata.conventions;
 import org.gradle.api.Project;
 import org.gradle.api.file.Directory;
 import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Copy;
 import org.gradle.api.tasks.TaskProvider;
@@ -60,8 +61,9 @@ public class ModTaskConventions {
         final Provider<RegularFile> logoFile = logoDirectory.map(dir -> dir.file(logoFileName));
         final TaskProvider<Copy> copyLogo = project.getTasks()
                 .register(sourceSet.getSourceSet().getTaskName("copy", "%sLogo".formatted(mod.getModId())), Copy.class, copy -> {
-                    copy.onlyIf(task -> mod.getLogo().isPresent() && mod.getLogo().get().getAsFile().exists());
-                    copy.from(mod.getLogo());
+                    final RegularFileProperty logo = mod.getLogo();
+                    copy.onlyIf(task -> logo.isPresent() && logo.get().getAsFile().exists());
+                    copy.from(logo);
                     copy.into(logoFile);
                 });
         project.getTasks().named(sourceSet.getSourceSet().getProcessResourcesTaskName(), ProcessResources.class,
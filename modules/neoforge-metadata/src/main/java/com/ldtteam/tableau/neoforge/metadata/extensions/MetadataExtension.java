@@ -17,6 +17,7 @@ import org.gradle.language.jvm.tasks.ProcessResources;
 
 import com.ldtteam.tableau.neoforge.metadata.api.IMetadataComponent;
 import com.ldtteam.tableau.neoforge.metadata.tasks.GenerateMetadataTask;
+import com.ldtteam.tableau.neoforge.metadata.toml.ConfigSnapshot;
 import com.ldtteam.tableau.sourceset.management.extensions.SourceSetExtension.SourceSetConfiguration;
 
 /**
@@ -77,15 +78,17 @@ public abstract class MetadataExtension implements ExtensionAware {
             GenerateMetadataTask.class,
             task -> {
                 //Collect and register all the components.
+                //The components reference the project model, so the task receives serializable snapshots of them.
                 task.getComponents()
-                    .set(task.getProject().provider(() ->  getMetadataComponents()));
+                    .set(project.provider(() -> getMetadataComponents().stream().map(ConfigSnapshot::of).toList()));
 
                 //Configure the output file.
                 task.getOutput()
                     .set(outputFile);
 
                 //Only run the task if we are enabled.
-                task.onlyIf("Generation is enabled", ignored -> !getIsEnabled().isPresent() || getIsEnabled().get());
+                final Property<Boolean> isEnabled = getIsEnabled();
+                task.onlyIf("Generation is enabled", ignored -> !isEnabled.isPresent() || isEnabled.get());
             }
         );
 
@@ -9,13 +9,15 @@ import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
 
-import com.electronwill.nightconfig.core.file.CommentedFileConfig;
-import com.ldtteam.tableau.neoforge.metadata.api.IMetadataComponent;
-import com.ldtteam.tableau.neoforge.metadata.toml.AutomaticConfig;
+import com.ldtteam.tableau.neoforge.metadata.toml.ConfigSnapshot;
 
 /**
  * Defines a task that can write the metadata supplied to it via the components.
+ * <p>
+ * The metadata is written by a {@link GenerateMetadataWorkAction} on the worker API, so that the metadata of several
+ * source sets can be generated in parallel.
  */
 @CacheableTask
 public abstract class GenerateMetadataTask extends DefaultTask {
@@ -27,29 +29,36 @@ public abstract class GenerateMetadataTask extends DefaultTask {
     public GenerateMetadataTask() {
     }
 
+    /**
+     * The worker executor used to write the metadata.
+     *
+     * @return The worker executor.
+     */
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
     /**
      * Invoked to actually write the toml metadata file from the given components.
      * <p>
-     * If the output file does not exist it will be created
+     * The output file is always written fresh, any existing content is replaced.
      * <p>
      * If no components exist, an empty metadata file will be created.
-     * 
-     * @throws Exception When a failure occurs during the writing phase.
      */
     @TaskAction
-    public void WriteToml() throws Exception {
-        try(final CommentedFileConfig config = AutomaticConfig.create(getOutput().get().getAsFile())) {
-            getComponents().get().forEach(component -> component.write(config));
-        }
+    public void WriteToml() {
+        getWorkerExecutor().noIsolation().submit(GenerateMetadataWorkAction.class, parameters -> {
+            parameters.getComponents().set(getComponents());
+            parameters.getOutput().set(getOutput());
+        });
     }
     
     /**
-     * All components that make up the metadata to write.
+     * Snapshots of all components that make up the metadata to write.
      * 
      * @return The metadata.
      */
     @Nested
-    public abstract ListProperty<IMetadataComponent> getComponents();
+    public abstract ListProperty<ConfigSnapshot> getComponents();
 
     /**
      * The file to write the metadata to.
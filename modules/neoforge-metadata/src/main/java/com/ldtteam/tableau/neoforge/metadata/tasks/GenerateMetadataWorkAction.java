@@ -0,0 +1,68 @@
+package com.ldtteam.tableau.neoforge.metadata.tasks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.inject.Inject;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.toml.TomlWriter;
+import com.ldtteam.tableau.neoforge.metadata.toml.ConfigSnapshot;
+
+/**
+ * The unit of work which writes a metadata file from the snapshots of its components.
+ */
+public abstract class GenerateMetadataWorkAction implements WorkAction<GenerateMetadataWorkAction.Parameters> {
+
+    /**
+     * Creates a new work action.
+     */
+    @Inject
+    public GenerateMetadataWorkAction() {
+    }
+
+    @Override
+    public void execute() {
+        final CommentedConfig config = CommentedConfig.inMemory();
+        getParameters().getComponents().get().forEach(component -> component.applyTo(config));
+
+        final Path output = getParameters().getOutput().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(output.getParent());
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                new TomlWriter().write(config, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the metadata file: " + output, e);
+        }
+    }
+
+    /**
+     * The parameters of the work action.
+     */
+    public interface Parameters extends WorkParameters {
+
+        /**
+         * Snapshots of all components that make up the metadata to write.
+         *
+         * @return The metadata.
+         */
+        ListProperty<ConfigSnapshot> getComponents();
+
+        /**
+         * The file to write the metadata to.
+         *
+         * @return The metadata file.
+         */
+        RegularFileProperty getOutput();
+    }
+}
@@ -10,7 +10,12 @@ import com.electronwill.nightconfig.core.utils.CommentedConfigWrapper;
 /**
  * A try-with-resources aware and automatically loading and saving commented file config that can be used 
  * to trivially process TOML files.
+ *
+ * @deprecated The metadata is no longer merged into an existing file, but written fresh from the component snapshots
+ *             by {@link com.ldtteam.tableau.neoforge.metadata.tasks.GenerateMetadataWorkAction}. This class is no longer
+ *             used by Tableau and will be removed in a future release, use night config directly instead.
  */
+@Deprecated(forRemoval = true)
 public class AutomaticConfig extends CommentedConfigWrapper<CommentedFileConfig> implements CommentedFileConfig {
 
     /**
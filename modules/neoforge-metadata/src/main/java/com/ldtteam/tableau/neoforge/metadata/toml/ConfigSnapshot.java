@@ -0,0 +1,136 @@
+package com.ldtteam.tableau.neoforge.metadata.toml;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.gradle.api.tasks.Input;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.core.Config;
+import com.ldtteam.tableau.neoforge.metadata.api.IMetadataComponent;
+
+/**
+ * An immutable, serializable snapshot of the values and comments a {@link IMetadataComponent} writes.
+ * <p>
+ * Components reference the project model and can therefore not be stored in the configuration cache,
+ * their snapshots only contain plain values, nested snapshots and lists thereof.
+ */
+public final class ConfigSnapshot implements Serializable {
+
+    private final Map<String, Object> values;
+    private final Map<String, String> comments;
+
+    private ConfigSnapshot(Map<String, Object> values, Map<String, String> comments) {
+        this.values = Collections.unmodifiableMap(values);
+        this.comments = Collections.unmodifiableMap(comments);
+    }
+
+    /**
+     * Creates a snapshot of everything the given component writes.
+     *
+     * @param component The component to snapshot.
+     * @return The snapshot.
+     */
+    public static ConfigSnapshot of(IMetadataComponent component) {
+        final CommentedConfig config = CommentedConfig.inMemory();
+        component.write(config);
+        return of(config);
+    }
+
+    /**
+     * Creates a snapshot of the given config.
+     *
+     * @param config The config to snapshot.
+     * @return The snapshot.
+     */
+    public static ConfigSnapshot of(Config config) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        config.valueMap().forEach((key, value) -> values.put(key, snapshotValue(value)));
+
+        final Map<String, String> comments = new LinkedHashMap<>();
+        if (config instanceof CommentedConfig commentedConfig) {
+            comments.putAll(commentedConfig.commentMap());
+        }
+
+        return new ConfigSnapshot(values, comments);
+    }
+
+    private static Object snapshotValue(Object value) {
+        if (value instanceof Config config) {
+            return of(config);
+        }
+
+        if (value instanceof List<?> list) {
+            final List<Object> result = new ArrayList<>(list.size());
+            list.forEach(element -> result.add(snapshotValue(element)));
+            return Collections.unmodifiableList(result);
+        }
+
+        return value;
+    }
+
+    /**
+     * The values of the config, keyed by their name.
+     * <p>
+     * Sub configs are represented by nested snapshots.
+     *
+     * @return The values.
+     */
+    @Input
+    public Map<String, Object> getValues() {
+        return values;
+    }
+
+    /**
+     * The comments of the config, keyed by the name of the value they belong to.
+     *
+     * @return The comments.
+     */
+    @Input
+    public Map<String, String> getComments() {
+        return comments;
+    }
+
+    /**
+     * Writes the values and comments of this snapshot into the given config.
+     *
+     * @param config The config to write into.
+     */
+    public void applyTo(CommentedConfig config) {
+        values.forEach((key, value) -> config.set(List.of(key), restoreValue(config, value)));
+        comments.forEach((key, comment) -> config.setComment(List.of(key), comment));
+    }
+
+    private static Object restoreValue(CommentedConfig parent, Object value) {
+        if (value instanceof ConfigSnapshot snapshot) {
+            final CommentedConfig subConfig = parent.createSubConfig();
+            snapshot.applyTo(subConfig);
+            return subConfig;
+        }
+
+        if (value instanceof List<?> list) {
+            final List<Object> result = new ArrayList<>(list.size());
+            list.forEach(element -> result.add(restoreValue(parent, element)));
+            return result;
+        }
+
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConfigSnapshot that)) return false;
+        return values.equals(that.values) && comments.equals(that.comments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(values, comments);
+    }
+}
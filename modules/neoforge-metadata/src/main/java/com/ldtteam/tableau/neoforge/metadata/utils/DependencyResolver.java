@@ -1,13 +1,14 @@
 package com.ldtteam.tableau.neoforge.metadata.utils;
 
 import java.io.File;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,8 +28,8 @@ import org.gradle.api.provider.Provider;
 import org.jetbrains.annotations.Nullable;
 
 import com.electronwill.nightconfig.core.CommentedConfig;
-import com.electronwill.nightconfig.core.file.FileConfig;
 import com.ldtteam.tableau.neoforge.metadata.components.model.ModDependency;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 
 /**
  * Utility class for helping resolving dependencies data.
@@ -68,9 +69,21 @@ public class DependencyResolver {
                         .filter(Objects::nonNull)
                         .collect(Collectors.toSet()));
 
-        return resolvedDependencies.map(m -> m.stream()
-                .flatMap(fm -> getModInfos(project, problems, fm, required).stream())
-                .collect(Collectors.toSet()));
+        final Provider<ModIdIndexService> modIdIndex = ModIdIndexService.register(project.getGradle());
+        final Provider<ConfigurationProfiler> profiler = ConfigurationProfiler.register(project);
+        final String projectPath = project.getPath();
+
+        return resolvedDependencies.map(m -> {
+            //Look up the mod ids of all jars at once, so that the jars which are not yet indexed are read in parallel.
+            final ModIdIndexService index = modIdIndex.get();
+            final Map<File, List<String>> modIds = profiler.get().record(projectPath, "valueSource", "jarScanning", () -> JarInspector.inspectAll(
+                    m.stream().map(ResolvedDependencyData::file).collect(Collectors.toCollection(LinkedHashSet::new)),
+                    jar -> getModIds(problems, index, jar)));
+
+            return m.stream()
+                    .flatMap(fm -> getModInfos(project, fm, modIds.get(fm.file()), required).stream())
+                    .collect(Collectors.toSet());
+        });
     }
 
     @Nullable
@@ -99,43 +112,54 @@ public class DependencyResolver {
         return false;
     }
 
-    @SuppressWarnings("UnstableApiUsage")
-    private static List<ModDependency> getModInfos(final Project project, final Problems problems, final ResolvedDependencyData data, final boolean required) {
-        try (final FileSystem fileSystem = FileSystems.newFileSystem(data.file().toPath())) {
-            final Path path = fileSystem.getPath("META-INF/neoforge.mods.toml");
-            if (!Files.exists(path)) {
-                return new ArrayList<>();
-            }
+    private static List<ModDependency> getModInfos(final Project project, final ResolvedDependencyData data, final List<String> modIds, final boolean required) {
+        final List<ModDependency> modInfos = new ArrayList<>();
+        for (final String modId : modIds) {
+            final ModDependency modDependency = project.getObjects().newInstance(ModDependency.class, modId);
+            modDependency.getType().convention(required ? ModDependency.Type.REQUIRED : ModDependency.Type.OPTIONAL);
+            modDependency.getVersionRange().convention(data.versionRange());
+            modInfos.add(modDependency);
+        }
+        return modInfos;
+    }
 
-            final FileConfig fileConfig = FileConfig.builder(path).build();
-            fileConfig.load();
-
-            final List<ModDependency> modInfos = new ArrayList<>();
-            final List<CommentedConfig> mods = fileConfig.get("mods");
-            for (final CommentedConfig config : mods) {
-                final String modId = config.get("modId");
-                if (modId != null) {
-                    final ModDependency modDependency = project.getObjects().newInstance(ModDependency.class, modId);
-                    modDependency.getType().convention(required ? ModDependency.Type.REQUIRED : ModDependency.Type.OPTIONAL);
-                    modDependency.getVersionRange().convention(data.versionRange());
-                    modInfos.add(modDependency);
-                }
-            }
-            return modInfos;
+    @SuppressWarnings("UnstableApiUsage")
+    private static List<String> getModIds(final Problems problems, final ModIdIndexService modIdIndex, final File file) {
+        try {
+            return modIdIndex.getModIds(file, DependencyResolver::readModIds);
         } catch (final Exception e) {
             throw problems.getReporter()
                     .throwing(
-                            new GradleException("Failed to read the mod metadata from the file: " + data.file().getAbsolutePath(), e),
+                            new GradleException("Failed to read the mod metadata from the file: " + file.getAbsolutePath(), e),
                             ProblemId.create("metadata", "dependency-resolver", DEPENDENCY_RESOLVER_GROUP),
                             spec -> {
-                                spec.details("Failed to read the mod metadata from the file: " + data.file().getAbsolutePath());
+                                spec.details("Failed to read the mod metadata from the file: " + file.getAbsolutePath());
                                 spec.contextualLabel("Dependencies");
-                                spec.fileLocation(data.file().getAbsolutePath());
+                                spec.fileLocation(file.getAbsolutePath());
                                 spec.documentedAt("https://tableau.ldtteam.com/docs/guides/generating-metadata");
                             });
         }
     }
 
+    private static List<String> readModIds(final File jar) {
+        final Optional<CommentedConfig> modsToml;
+        try {
+            modsToml = JarInspector.readModsToml(jar, JarInspector.MODS_TOML);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final List<String> modIds = new ArrayList<>();
+        final List<CommentedConfig> mods = modsToml.map(config -> config.<List<CommentedConfig>>get("mods")).orElse(List.of());
+        for (final CommentedConfig config : mods) {
+            final String modId = config.get("modId");
+            if (modId != null) {
+                modIds.add(modId);
+            }
+        }
+        return modIds;
+    }
+
     private record CombinedDependencyData(Set<ResolvedArtifactResult> artifacts, ResolvedComponentResult component) {
     }
 
@@ -0,0 +1,155 @@
+package com.ldtteam.tableau.neoforge.metadata.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.toml.TomlParser;
+
+/**
+ * Utility class for reading the mod metadata out of jars.
+ * <p>
+ * Jars are opened as plain {@link ZipFile zip files}, the metadata entry is looked up directly in the central directory
+ * and only that entry is read into memory. Many jars can be inspected in parallel on a bounded pool.
+ */
+public final class JarInspector {
+
+    /**
+     * The entry which contains the metadata of a mod.
+     */
+    public static final String MODS_TOML = "META-INF/neoforge.mods.toml";
+
+    /**
+     * The entry which contains the metadata of the NeoForge jar itself, including the loader version.
+     */
+    public static final String LOADER_MODS_TOML = "META-INF/neoforged.mods.toml";
+
+    /**
+     * The maximal amount of jars which are inspected at the same time.
+     */
+    public static final int MAX_PARALLELISM = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Utility class, not meant to be instantiated.
+     */
+    private JarInspector() {
+    }
+
+    /**
+     * Reads the mod metadata of the given jar.
+     *
+     * @param jar   The jar to read.
+     * @param entry The entry which contains the metadata, either {@link #MODS_TOML} or {@link #LOADER_MODS_TOML}.
+     * @return The parsed metadata, or an empty optional when the jar contains no such entry.
+     * @throws IOException When the jar could not be read.
+     */
+    public static Optional<CommentedConfig> readModsToml(File jar, String entry) throws IOException {
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            final ZipEntry zipEntry = zipFile.getEntry(entry);
+            if (zipEntry == null) {
+                return Optional.empty();
+            }
+
+            final String content;
+            try (InputStream stream = zipFile.getInputStream(zipEntry)) {
+                content = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            return Optional.of(new TomlParser().parse(new StringReader(content)));
+        }
+    }
+
+    /**
+     * Inspects all given jars, in parallel when there is more than one.
+     * <p>
+     * Failures of the inspection are rethrown on the calling thread, {@link IOException io exceptions} wrapped in an
+     * {@link UncheckedIOException}.
+     *
+     * @param jars       The jars to inspect.
+     * @param inspection The inspection to run on each jar.
+     * @param <T>        The type of the inspection result.
+     * @return The inspection results, in the iteration order of the given jars.
+     */
+    public static <T> Map<File, T> inspectAll(Collection<File> jars, Inspection<T> inspection) {
+        final Map<File, T> results = new LinkedHashMap<>();
+        if (jars.size() <= 1) {
+            for (final File jar : jars) {
+                results.put(jar, inspect(jar, inspection));
+            }
+            return results;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_PARALLELISM, jars.size()), runnable -> {
+            final Thread thread = new Thread(runnable, "tableau-jar-inspector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<T>> futures = new ArrayList<>(jars.size());
+            for (final File jar : jars) {
+                futures.add(executor.submit(() -> inspect(jar, inspection)));
+            }
+
+            int index = 0;
+            for (final File jar : jars) {
+                results.put(jar, futures.get(index++).get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while inspecting jars", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Failed to inspect jars", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T inspect(File jar, Inspection<T> inspection) {
+        try {
+            return inspection.inspect(jar);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to inspect the jar: " + jar.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * An inspection which is run on a single jar.
+     *
+     * @param <T> The type of the inspection result.
+     */
+    @FunctionalInterface
+    public interface Inspection<T> {
+
+        /**
+         * Inspects the given jar.
+         *
+         * @param jar The jar to inspect.
+         * @return The inspection result.
+         * @throws IOException When the jar could not be read.
+         */
+        T inspect(File jar) throws IOException;
+    }
+}
@@ -0,0 +1,147 @@
+package com.ldtteam.tableau.neoforge.metadata.utils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.ldtteam.tableau.utilities.utils.PersistentCache;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Build service which maintains a persistent lookup table from NeoForge versions to the loader version they declare.
+ * <p>
+ * The table is stored in the Gradle user home, so that the NeoForge jar of a given version only needs to be resolved
+ * and read once per machine. Only exact versions are stored, dynamic versions can resolve to a different jar each build.
+ */
+public abstract class LoaderVersionLookupService implements BuildService<LoaderVersionLookupService.Parameters>, AutoCloseable {
+
+    /**
+     * The name under which the service is registered.
+     */
+    public static final String SERVICE_NAME = "tableauLoaderVersionLookup";
+
+    /**
+     * The name of the cache in the Gradle user home, in which the lookup table is stored.
+     */
+    public static final String CACHE_NAME = "loader-versions";
+
+    /**
+     * The name of the lookup table file.
+     */
+    public static final String TABLE_FILE = "loader-versions.properties";
+
+    private static final int CACHE_VERSION = 1;
+
+    private final Map<String, String> loaderVersions = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+    private volatile boolean dirty = false;
+
+    /**
+     * Creates a new service.
+     */
+    public LoaderVersionLookupService() {
+    }
+
+    /**
+     * Registers the service with the given build, if it is not already registered.
+     *
+     * @param gradle The build to register the service with.
+     * @return The provider for the service.
+     */
+    public static Provider<LoaderVersionLookupService> register(Gradle gradle) {
+        return gradle.getSharedServices().registerIfAbsent(SERVICE_NAME, LoaderVersionLookupService.class, spec -> {
+            spec.getParameters().getTableFile().set(new File(PersistentCache.directory(gradle, CACHE_NAME, CACHE_VERSION), TABLE_FILE));
+        });
+    }
+
+    /**
+     * Gets the loader version declared by the given NeoForge version.
+     *
+     * @param neoForgeVersion The NeoForge version.
+     * @param resolver        Resolves the loader version when it is not yet known, or the version is dynamic.
+     * @return The loader version.
+     */
+    public String getLoaderVersion(String neoForgeVersion, Function<String, String> resolver) {
+        if (isDynamic(neoForgeVersion)) {
+            return resolver.apply(neoForgeVersion);
+        }
+
+        load();
+        final String known = loaderVersions.get(neoForgeVersion);
+        if (known != null) {
+            return known;
+        }
+
+        //Resolved outside of the table, resolving can take long, and must not block lookups of other versions.
+        final String resolved = resolver.apply(neoForgeVersion);
+        final String concurrent = loaderVersions.putIfAbsent(neoForgeVersion, resolved);
+        if (concurrent != null) {
+            return concurrent;
+        }
+
+        dirty = true;
+        return resolved;
+    }
+
+    private static boolean isDynamic(String version) {
+        return version.contains("+") || version.contains("[") || version.contains("(") || version.contains(",");
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+
+            final Properties properties = PersistentCache.read(getTableFile(), input -> {
+                final Properties table = new Properties();
+                table.load(input);
+                return table;
+            });
+            if (properties != null) {
+                properties.stringPropertyNames().forEach(version -> loaderVersions.put(version, properties.getProperty(version)));
+            }
+
+            loaded = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!dirty) {
+            return;
+        }
+
+        final Properties properties = new Properties();
+        properties.putAll(loaderVersions);
+        PersistentCache.write(getTableFile(), output -> properties.store(output, "NeoForge version to loader version lookup table, maintained by Tableau"));
+    }
+
+    private Path getTableFile() {
+        return getParameters().getTableFile().get().getAsFile().toPath();
+    }
+
+    /**
+     * The parameters of the service.
+     */
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * The file in which the lookup table is stored between builds.
+         *
+         * @return The table file.
+         */
+        RegularFileProperty getTableFile();
+    }
+}
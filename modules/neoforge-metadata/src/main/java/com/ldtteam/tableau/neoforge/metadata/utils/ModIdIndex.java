@@ -0,0 +1,155 @@
+package com.ldtteam.tableau.neoforge.metadata.utils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ldtteam.tableau.utilities.utils.PersistentCache;
+
+/**
+ * Persistent index which maps dependency jars to the mod ids declared in their metadata.
+ * <p>
+ * Jars are identified by their absolute path, size and last modified time, so an unchanged jar is never opened again.
+ * The index is thread safe, and only written back when entries were added.
+ */
+public final class ModIdIndex {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final Map<Key, List<String>> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty = false;
+
+    private ModIdIndex(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the index from the given file.
+     * <p>
+     * A missing, corrupt or outdated index file results in an empty index.
+     *
+     * @param file The file the index is stored in.
+     * @return The index.
+     */
+    public static ModIdIndex load(File file) {
+        final ModIdIndex index = new ModIdIndex(file.toPath());
+        final Map<Key, List<String>> entries = PersistentCache.read(index.file, ModIdIndex::read);
+        if (entries != null) {
+            index.entries.putAll(entries);
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets the mod ids declared by the given jar.
+     * <p>
+     * Only reads the jar, using the given reader, when it is not yet indexed in its current state.
+     *
+     * @param jar    The jar to get the mod ids for.
+     * @param reader The reader which extracts the mod ids from a jar.
+     * @return The mod ids, empty when the jar is not a mod.
+     */
+    public List<String> getModIds(File jar, Reader reader) {
+        final Key key = Key.of(jar);
+        final List<String> indexed = entries.get(key);
+        if (indexed != null) {
+            return indexed;
+        }
+
+        final List<String> modIds = List.copyOf(reader.read(jar));
+        entries.put(key, modIds);
+        dirty = true;
+        return modIds;
+    }
+
+    /**
+     * Writes the index back to its file, if entries were added since it was loaded.
+     * <p>
+     * Entries of jars which no longer exist, or which were changed since they were indexed, are dropped.
+     */
+    public void save() {
+        if (!dirty) {
+            return;
+        }
+
+        entries.keySet().removeIf(key -> !key.isCurrent());
+
+        if (PersistentCache.write(file, this::write)) {
+            dirty = false;
+        }
+    }
+
+    private static Map<Key, List<String>> read(InputStream stream) throws IOException {
+        final DataInputStream input = new DataInputStream(stream);
+        if (input.readInt() != FORMAT_VERSION) {
+            return Map.of();
+        }
+
+        final int size = input.readInt();
+        final Map<Key, List<String>> entries = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            final Key key = new Key(input.readUTF(), input.readLong(), input.readLong());
+            final int count = input.readInt();
+            final List<String> modIds = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                modIds.add(input.readUTF());
+            }
+            entries.put(key, List.copyOf(modIds));
+        }
+        return entries;
+    }
+
+    private void write(OutputStream stream) throws IOException {
+        final DataOutputStream output = new DataOutputStream(stream);
+        output.writeInt(FORMAT_VERSION);
+        output.writeInt(entries.size());
+        for (final Map.Entry<Key, List<String>> entry : entries.entrySet()) {
+            output.writeUTF(entry.getKey().path());
+            output.writeLong(entry.getKey().size());
+            output.writeLong(entry.getKey().lastModified());
+            output.writeInt(entry.getValue().size());
+            for (final String modId : entry.getValue()) {
+                output.writeUTF(modId);
+            }
+        }
+        output.flush();
+    }
+
+    /**
+     * Extracts the mod ids from a jar which is not yet indexed.
+     */
+    @FunctionalInterface
+    public interface Reader {
+
+        /**
+         * Reads the mod ids declared in the given jar.
+         *
+         * @param jar The jar to read.
+         * @return The mod ids, empty when the jar is not a mod.
+         */
+        List<String> read(File jar);
+    }
+
+    private record Key(String path, long size, long lastModified) {
+
+        private static Key of(File jar) {
+            return new Key(jar.getAbsolutePath(), jar.length(), jar.lastModified());
+        }
+
+        private boolean isCurrent() {
+            final File jar = new File(path);
+            return jar.isFile() && equals(of(jar));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ldtteam.tableau.neoforge.metadata.utils;
+
+import java.io.File;
+import java.util.List;
+
+import com.ldtteam.tableau.utilities.utils.PersistentCache;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Build service which shares the {@link ModIdIndex} between all projects of a build.
+ * <p>
+ * The index is loaded once, the first time it is needed, and written back when the build finishes.
+ */
+public abstract class ModIdIndexService implements BuildService<ModIdIndexService.Parameters>, AutoCloseable {
+
+    /**
+     * The name under which the service is registered.
+     */
+    public static final String SERVICE_NAME = "tableauModIdIndex";
+
+    /**
+     * The name of the cache in the Gradle user home, in which the index is stored.
+     */
+    public static final String CACHE_NAME = "mod-ids";
+
+    /**
+     * The name of the index file.
+     */
+    public static final String INDEX_FILE = "mod-ids.index";
+
+    private static final int CACHE_VERSION = 1;
+
+    private volatile ModIdIndex index;
+
+    /**
+     * Creates a new service.
+     */
+    public ModIdIndexService() {
+    }
+
+    /**
+     * Registers the service with the given build, if it is not already registered.
+     *
+     * @param gradle The build to register the service with.
+     * @return The provider for the service.
+     */
+    public static Provider<ModIdIndexService> register(Gradle gradle) {
+        return gradle.getSharedServices().registerIfAbsent(SERVICE_NAME, ModIdIndexService.class, spec -> {
+            spec.getParameters().getIndexFile().set(new File(PersistentCache.directory(gradle, CACHE_NAME, CACHE_VERSION), INDEX_FILE));
+        });
+    }
+
+    /**
+     * Gets the mod ids declared by the given jar.
+     *
+     * @param jar    The jar to get the mod ids for.
+     * @param reader The reader which extracts the mod ids from a jar that is not yet indexed.
+     * @return The mod ids, empty when the jar is not a mod.
+     */
+    public List<String> getModIds(File jar, ModIdIndex.Reader reader) {
+        return getIndex().getModIds(jar, reader);
+    }
+
+    private ModIdIndex getIndex() {
+        ModIdIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = ModIdIndex.load(getParameters().getIndexFile().get().getAsFile());
+                    index = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    @Override
+    public void close() {
+        if (index == null) {
+            return;
+        }
+
+        index.save();
+    }
+
+    /**
+     * The parameters of the service.
+     */
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * The file in which the index is stored between builds.
+         *
+         * @return The index file.
+         */
+        RegularFileProperty getIndexFile();
+    }
+}
@@ -2,6 +2,10 @@ package com.ldtteam.tableau.neoforge.metadata.components;
 
 import com.electronwill.nightconfig.core.CommentedConfig;
 import com.electronwill.nightconfig.toml.TomlWriter;
+import com.ldtteam.tableau.extensions.NeoGradleExtension;
+import com.ldtteam.tableau.neoforge.metadata.utils.LoaderVersionLookupService;
+import com.ldtteam.tableau.scripting.ScriptingPlugin;
+import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
 import com.ldtteam.tableau.sourceset.management.extensions.SourceSetExtension.SourceSetConfiguration;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.ArtifactCollection;
@@ -76,6 +80,28 @@ class LoaderVersionComponentTest {
         assertNotNull(loaderVersionComponent);
     }
 
+    @Test
+    void testDefaultSource() {
+        assertEquals(LoaderVersionComponent.Source.CLASSPATH, loaderVersionComponent.getSource().get());
+    }
+
+    @Test
+    void testVersionLookupRange() {
+        project.getPlugins().apply(ScriptingPlugin.class);
+        final NeoGradleExtension neoGradle = mock(NeoGradleExtension.class);
+        final Property<String> neoForgeVersion = project.getObjects().property(String.class);
+        neoForgeVersion.set("21.1.77");
+        when(neoGradle.getNeoForgeVersion()).thenReturn(neoForgeVersion);
+        TableauScriptingExtension.get(project).getExtensions().add(NeoGradleExtension.class, NeoGradleExtension.EXTENSION_NAME, neoGradle);
+
+        //A version which is already in the lookup table is not resolved again.
+        LoaderVersionLookupService.register(project.getGradle()).get().getLoaderVersion("21.1.77", version -> "[4,)");
+
+        loaderVersionComponent.getSource().set(LoaderVersionComponent.Source.VERSION_LOOKUP);
+
+        assertEquals("[4,)", loaderVersionComponent.getRange().get());
+    }
+
     @Test
     void testWrite() {
         loaderVersionComponent.getRange().set("1.0.0");
@@ -0,0 +1,78 @@
+package com.ldtteam.tableau.neoforge.metadata.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LoaderVersionLookupServiceTest {
+
+    @TempDir
+    private File userHome;
+
+    private AtomicInteger resolutions;
+
+    @BeforeEach
+    void setUp() {
+        resolutions = new AtomicInteger();
+    }
+
+    private LoaderVersionLookupService service() {
+        final Project project = ProjectBuilder.builder().withGradleUserHomeDir(userHome).build();
+        return LoaderVersionLookupService.register(project.getGradle()).get();
+    }
+
+    private String resolve(String neoForgeVersion) {
+        resolutions.incrementAndGet();
+        return "[" + neoForgeVersion.substring(0, neoForgeVersion.indexOf('.')) + ",)";
+    }
+
+    @Test
+    void testExactVersionIsResolvedOncePerBuild() {
+        final LoaderVersionLookupService service = service();
+
+        assertEquals("[21,)", service.getLoaderVersion("21.1.77", this::resolve));
+        assertEquals("[21,)", service.getLoaderVersion("21.1.77", this::resolve));
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    void testExactVersionIsStoredBetweenBuilds() {
+        final LoaderVersionLookupService first = service();
+        first.getLoaderVersion("21.1.77", this::resolve);
+        first.close();
+
+        assertEquals("[21,)", service().getLoaderVersion("21.1.77", this::resolve));
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    void testDynamicVersionIsAlwaysResolved() {
+        final LoaderVersionLookupService service = service();
+
+        service.getLoaderVersion("21.1.+", this::resolve);
+        service.getLoaderVersion("21.1.+", this::resolve);
+        service.close();
+
+        service().getLoaderVersion("21.1.+", this::resolve);
+        assertEquals(3, resolutions.get());
+    }
+
+    @Test
+    void testResolverCanLookUpOtherVersions() {
+        final LoaderVersionLookupService service = service();
+
+        //Resolving one version, may look up another version through the same service.
+        final String loaderVersion = service.getLoaderVersion("21.1.77", version -> service.getLoaderVersion("20.4.1", this::resolve));
+
+        assertEquals("[20,)", loaderVersion);
+        assertEquals("[20,)", service.getLoaderVersion("20.4.1", this::resolve));
+        assertEquals(1, resolutions.get());
+    }
+}
@@ -0,0 +1,88 @@
+package com.ldtteam.tableau.neoforge.metadata.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModIdIndexTest {
+
+    @TempDir
+    private Path directory;
+
+    private File jar;
+    private File indexFile;
+    private AtomicInteger reads;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jar = Files.writeString(directory.resolve("mod.jar"), "jar").toFile();
+        indexFile = directory.resolve("mod-ids.index").toFile();
+        reads = new AtomicInteger();
+    }
+
+    private List<String> read(File file) {
+        reads.incrementAndGet();
+        return List.of("modid");
+    }
+
+    @Test
+    void testUnchangedJarIsNotReadAgain() throws IOException {
+        final ModIdIndex index = ModIdIndex.load(indexFile);
+        assertEquals(List.of("modid"), index.getModIds(jar, this::read));
+        index.save();
+
+        final ModIdIndex reloaded = ModIdIndex.load(indexFile);
+        assertEquals(List.of("modid"), reloaded.getModIds(jar, this::read));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void testModifiedJarIsReadAgain() throws IOException {
+        final ModIdIndex index = ModIdIndex.load(indexFile);
+        index.getModIds(jar, this::read);
+        index.save();
+
+        Files.writeString(jar.toPath(), "changed jar");
+
+        ModIdIndex.load(indexFile).getModIds(jar, this::read);
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void testCorruptIndexIsRebuilt() throws IOException {
+        Files.writeString(indexFile.toPath(), "not an index");
+
+        assertEquals(List.of("modid"), ModIdIndex.load(indexFile).getModIds(jar, this::read));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    void testReplacedJarIsDroppedFromIndex() throws IOException {
+        final ModIdIndex index = ModIdIndex.load(indexFile);
+        index.getModIds(jar, this::read);
+        index.save();
+        final long size = Files.size(indexFile.toPath());
+
+        //A snapshot which is replaced in place keeps its path, but changes its size and last modified time.
+        for (int i = 0; i < 3; i++) {
+            Files.writeString(jar.toPath(), "snapshot " + i);
+            Files.setLastModifiedTime(jar.toPath(), FileTime.fromMillis(1_000_000L * (i + 1)));
+            final ModIdIndex reloaded = ModIdIndex.load(indexFile);
+            reloaded.getModIds(jar, this::read);
+            reloaded.save();
+        }
+
+        assertEquals(4, reads.get());
+        assertEquals(size, Files.size(indexFile.toPath()), "Only the current state of the jar is indexed");
+    }
+}
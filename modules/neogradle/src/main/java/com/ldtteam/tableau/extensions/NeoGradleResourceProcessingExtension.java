@@ -1,6 +1,7 @@
 package com.ldtteam.tableau.extensions;
 
 import com.ldtteam.tableau.common.extensions.ProjectExtension;
+import com.ldtteam.tableau.neogradle.utils.ResolvedVersionCacheService;
 import com.ldtteam.tableau.resource.processing.extensions.ResourceProcessingExtension;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.*;
@@ -107,33 +108,35 @@ public abstract class NeoGradleResourceProcessingExtension {
      * Resolves the minimal NeoForge version based on the configured NeoForge version.
      * If a hardcoded version is configured, it will be returned.
      * If a version range is configured, the latest version in the range will be returned.
+     * The resolved version is cached, see {@link ResolvedVersionCacheService}.
      *
      * @param project The project.
      * @return The minimal NeoForge version.
      */
     private Provider<String> determineMinimalNeoforgeVersion(Project project) {
         final NeoGradleExtension neoGradleExtension = NeoGradleExtension.get(project);
+        final Provider<ResolvedVersionCacheService> versionCache = ResolvedVersionCacheService.register(project);
         return neoGradleExtension.getNeoForgeVersion().map(neoForgeVersion -> {
             if (!neoForgeVersion.endsWith(".+")) {
                 //We have a hard coded version.
                 return neoForgeVersion;
             }
 
-            final Dependency userdevDependency = project.getDependencies().create(
-                    "net.neoforged:neoforged:%s:universal".formatted(neoForgeVersion)
-            );
-            final Configuration userdevResolveDependency = project.getConfigurations().detachedConfiguration(userdevDependency);
-            final ResolvedConfiguration resolvedConfiguration = userdevResolveDependency.getResolvedConfiguration();
-            final LenientConfiguration lenientConfiguration = resolvedConfiguration.getLenientConfiguration();
-
+            final String notation = "net.neoforged:neoforged:%s:universal".formatted(neoForgeVersion);
             final String defaultVersion = neoForgeVersion.substring(0, neoForgeVersion.length() - 2);
 
-            return lenientConfiguration.getFirstLevelModuleDependencies()
-                    .stream()
-                    .filter(dep -> dep.getModuleGroup().equals("net.neoforged") && dep.getModuleName().equals("neoforged"))
-                    .map(ResolvedDependency::getModuleVersion)
-                    .findFirst()
-                    .orElse(defaultVersion);
+            return versionCache.get().resolve(notation, () -> {
+                final Dependency userdevDependency = project.getDependencies().create(notation);
+                final Configuration userdevResolveDependency = project.getConfigurations().detachedConfiguration(userdevDependency);
+                final ResolvedConfiguration resolvedConfiguration = userdevResolveDependency.getResolvedConfiguration();
+                final LenientConfiguration lenientConfiguration = resolvedConfiguration.getLenientConfiguration();
+
+                return lenientConfiguration.getFirstLevelModuleDependencies()
+                        .stream()
+                        .filter(dep -> dep.getModuleGroup().equals("net.neoforged") && dep.getModuleName().equals("neoforged"))
+                        .map(ResolvedDependency::getModuleVersion)
+                        .findFirst();
+            }).orElse(defaultVersion);
         });
     }
 }
@@ -19,6 +19,9 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Rule;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.FileCollectionDependency;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +38,7 @@ import com.ldtteam.tableau.resource.processing.extensions.ResourceProcessingExte
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
 import com.ldtteam.tableau.sourceset.management.SourcesetManagementPlugin;
 import com.ldtteam.tableau.sourceset.management.extensions.SourceSetExtension;
+import com.ldtteam.tableau.utilities.utils.DelegatingNamedDomainObjectContainer;
 
 import net.neoforged.gradle.dsl.common.extensions.AccessTransformers;
 import net.neoforged.gradle.dsl.common.extensions.InterfaceInjections;
@@ -89,8 +93,7 @@ public class NeoGradleProjectPlugin implements Plugin<Project> {
 
             sourceSetConfig.getExtensions().add(NeoGradleSourceSetConfigurationExtension.EXTENSION_NAME, extension);
 
-            final SourceSet sourceSet = target.getExtensions().getByType(SourceSetContainer.class).getByName(sourceSetConfig.getName());
-            final Configuration implementation = target.getConfigurations().maybeCreate(sourceSet.getImplementationConfigurationName());
+            final SourceSet sourceSet = sourceSetConfig.getSourceSet();
             final NeoGradleExtension neoGradleExtension = NeoGradleExtension.get(target);
 
             final RunnableSourceSet runnableSourceSet = sourceSet.getExtensions().findByType(RunnableSourceSet.class);
@@ -99,10 +102,11 @@ public class NeoGradleProjectPlugin implements Plugin<Project> {
             );
 
             //Register the neogradle dependency for the source set.
-            implementation.getDependencies().addLater(
-                    neoGradleExtension.getNeoForgeVersion().map("net.neoforged:neoforge:%s"::formatted)
-                            .map(target.getDependencies()::create)
-            );
+            DelegatingNamedDomainObjectContainer.maybeRegister(target.getConfigurations(), sourceSet.getImplementationConfigurationName())
+                    .configure(implementation -> implementation.getDependencies().addLater(
+                            neoGradleExtension.getNeoForgeVersion().map("net.neoforged:neoforge:%s"::formatted)
+                                    .map(target.getDependencies()::create)
+                    ));
         });
     }
 
@@ -178,6 +182,9 @@ public class NeoGradleProjectPlugin implements Plugin<Project> {
 
     /**
      * Configures the runs for the given project.
+     * <p>
+     * The runs are registered, and everything they derive from the source sets is computed lazily, at most once,
+     * and shared between all runs. So only the runs which are actually needed cause any work.
      *
      * @param target The project to configure the runs for.
      */
@@ -187,49 +194,88 @@ public class NeoGradleProjectPlugin implements Plugin<Project> {
         final NeoGradleExtension extension = NeoGradleExtension.get(target);
         final ProjectExtension projectExtension = ProjectExtension.get(target);
         final SourceSetExtension sourceSetExtension = SourceSetExtension.get(target);
-        final SourceSetContainer sourceSetContainer = target.getExtensions().getByType(SourceSetContainer.class);
-
-        //Ensure a client run is created.
-        runManager.maybeCreate("client");
 
-        //Configure the client run to use random player names if the extension is set to do so.
-        runManager.named("client", run -> {
-            run.getArguments().addAll(
-                    extension.getUseRandomPlayerNames().map(useRandomPlayerNames -> {
-                        final List<String> randomPlayerNames = new ArrayList<>();
+        //Pick the random player name once, so that every query of the arguments yields the same name.
+        final ListProperty<String> clientArguments = target.getObjects().listProperty(String.class);
+        clientArguments.set(extension.getUseRandomPlayerNames().map(useRandomPlayerNames -> {
+            final List<String> randomPlayerNames = new ArrayList<>();
 
-                        if (useRandomPlayerNames) {
-                            final String randomAppendix = String.valueOf((Math.abs(new Random().nextInt() % 600) + 1));
-                            randomPlayerNames.add("--username");
-                            randomPlayerNames.add("Dev%s".formatted(randomAppendix));
-                        }
-
-                        return randomPlayerNames;
-                    })
-            );
-        });
+            if (useRandomPlayerNames) {
+                final String randomAppendix = String.valueOf((Math.abs(new Random().nextInt() % 600) + 1));
+                randomPlayerNames.add("--username");
+                randomPlayerNames.add("Dev%s".formatted(randomAppendix));
+            }
 
-        //Ensure a server run is created.
-        runManager.maybeCreate("server");
+            return randomPlayerNames;
+        }));
+        clientArguments.finalizeValueOnRead();
+
+        //Ensure a client run is registered, which uses random player names if the extension is set to do so.
+        DelegatingNamedDomainObjectContainer.maybeRegister(runManager, "client")
+                .configure(run -> run.getArguments().addAll(clientArguments));
+
+        //Ensure a server run is registered.
+        DelegatingNamedDomainObjectContainer.maybeRegister(runManager, "server");
+
+        //Ensure that all configured data runs are created, they share their arguments.
+        final ListProperty<String> dataArguments = target.getObjects().listProperty(String.class);
+        dataArguments.addAll(projectExtension.getModId().map(modId -> List.of(
+                "--mod",
+                modId,
+                "--all",
+                "--output",
+                target.file("src/datagen/generated/%s".formatted(modId)).getAbsolutePath(),
+                "--existing",
+                target.file("src/main/resources/").getAbsolutePath()
+        )));
+        //When additional data gen mods are set, we need to add the "--existing-mod" argument followed by the mod id, per mod.
+        dataArguments.addAll(extension.getAdditionalDataGenMods().map(mods -> mods.stream()
+                .flatMap(modId -> Stream.of("--existing-mod", modId))
+                .collect(Collectors.toList())));
+        dataArguments.finalizeValueOnRead();
 
-        //Ensure that all configured data runs are created.
         runManager.addAllLater(
             extension.getDataGenerationRuns().map(names -> names.stream()
-                .map(name -> createDataRun(target, runManager, projectExtension, extension, name))
+                .map(name -> createDataRun(target, dataArguments, name))
                 .toList())
         );
 
-        //Ensure a game test server run is created.
-        runManager.maybeCreate("gameTestServer");
-
-        //Configure the game test server run to have the correct arguments.
-        runManager.named("gameTestServer", run -> {
-            //Ensure that our mods have their tests run.
-            run.getSystemProperties().putAll(
-                    projectExtension.getModId().map(modId -> Map.of("forge.enabledGameTestNamespaces", modId))
-            );
+        //Ensure a game test server run is registered, which has our mods run their tests.
+        DelegatingNamedDomainObjectContainer.maybeRegister(runManager, "gameTestServer")
+                .configure(run -> run.getSystemProperties().putAll(
+                        projectExtension.getModId().map(modId -> Map.of("forge.enabledGameTestNamespaces", modId))
+                ));
+
+        //The mod source sets, computed once when the first run needs them.
+        final ListProperty<SourceSet> modSourceSets = target.getObjects().listProperty(SourceSet.class);
+        modSourceSets.set(target.provider(() -> sourceSetExtension
+                .stream()
+                .filter(sourceSet -> NeoGradleSourceSetConfigurationExtension.get(sourceSet).getIsModSource().get())
+                .map(SourceSetExtension.SourceSetConfiguration::getSourceSet)
+                .toList()));
+        modSourceSets.finalizeValueOnRead();
+
+        final Provider<Multimap<String, SourceSet>> modSources = projectExtension.getModId().zip(modSourceSets, (modId, sourceSets) -> {
+            final Multimap<String, SourceSet> sources = HashMultimap.create();
+            sources.putAll(modId, sourceSets);
+
+            return sources;
         });
 
+        //The library configurations, looked up once when the first run needs them.
+        final ListProperty<Configuration> libraries = target.getObjects().listProperty(Configuration.class);
+        libraries.set(target.provider(() -> sourceSetExtension
+                .stream()
+                .filter(config -> NeoGradleSourceSetConfigurationExtension.get(config).getIncludeInLibraries().get())
+                .map(config -> getLibraryConfiguration(target, config.getSourceSet()))
+                .toList()));
+        libraries.finalizeValueOnRead();
+
+        //Each library configuration is a runtime dependency of the runs, as it was when they were added one by one.
+        final Provider<List<FileCollectionDependency>> libraryDependencies = libraries.map(configurations -> configurations.stream()
+                .map(target.getDependencyFactory()::create)
+                .toList());
+
         //Configure all runs to be compatible with our configuration.
         runManager.configureEach(run -> {
             //Configure logging.
@@ -237,67 +283,21 @@ public class NeoGradleProjectPlugin implements Plugin<Project> {
             run.systemProperty("forge.logging.console.level", "info");
 
             //Add the mod sources to the run.
-            run.getModSources().addAllLater(
-                    projectExtension.getModId().map(modId -> {
-                        final List<SourceSet> sourceSets = sourceSetExtension
-                                .stream()
-                                .filter(sourceSet -> NeoGradleSourceSetConfigurationExtension.get(sourceSet).getIsModSource().get())
-                                .map(sourceSet -> sourceSetContainer.getByName(sourceSet.getName()))
-                                .collect(Collectors.toList());
-
-                        final Multimap<String, SourceSet> modSources = HashMultimap.create();
-                        modSources.putAll(modId, sourceSets);
-
-                        return modSources;
-                    })
-            );
+            run.getModSources().addAllLater(modSources);
 
-            //After evaluation, add the library configurations to the run.
-            sourceSetExtension
-                    .stream()
-                    .filter(config -> NeoGradleSourceSetConfigurationExtension.get(config).getIncludeInLibraries().get())
-                    .map(config -> sourceSetContainer.getByName(config.getName()))
-                    .map(sourceSet -> getLibraryConfiguration(target, sourceSet))
-                    .forEach(config -> run.getDependencies().getRuntime().add(config));
+            //Add the library configurations to the run.
+            run.getDependencies().getRuntime().bundle(libraryDependencies);
         });
     }
 
-    private static Run createDataRun(final @NotNull Project target, final RunManager runManager, final ProjectExtension projectExtension, final NeoGradleExtension extension,
-        final String runName)
+    private static Run createDataRun(final @NotNull Project target, final Provider<List<String>> dataArguments, final String runName)
     {
         final Run run = target.getObjects().newInstance(RunImpl.class, target, runName);
 
         //Add the arguments for the data gen run.
-        //By default, these are the arguments for the main mod, its output directory, and the default existing resources' directory.
-        run.getArguments().addAll(
-                projectExtension.getModId().map(modId -> {
-                    List<String> dataRunArguments = new ArrayList<>();
-                    dataRunArguments.add("--mod");
-                    dataRunArguments.add(modId);
-                    dataRunArguments.add("--all");
-                    dataRunArguments.add("--output");
-                    dataRunArguments.add(target.file("src/datagen/generated/%s".formatted(modId)).getAbsolutePath());
-                    dataRunArguments.add("--existing");
-                    dataRunArguments.add(target.file("src/main/resources/").getAbsolutePath());
-                    return dataRunArguments;
-                })
-        );
-
-        //Add the arguments for the additional data gen mods.
-        run.getArguments().addAll(
-                extension.getAdditionalDataGenMods().map(mods -> {
-                    if (mods.isEmpty()) {
-                        //When no additional data gen mods are set, we don't need to add any arguments.
-                        return new ArrayList<>();
-                    }
-
-                    //When additional data gen mods are set, we need to add the arguments for each mod.
-                    //Per mod, we need to add the "--existing-mod" argument followed by the mod id.
-                    return mods.stream()
-                            .flatMap(modId -> Stream.of("--existing-mod", modId))
-                            .collect(Collectors.toList());
-                })
-        );
+        //By default, these are the arguments for the main mod, its output directory, the default existing resources' directory,
+        //and the additional data gen mods.
+        run.getArguments().addAll(dataArguments);
 
         return run;
     }
@@ -0,0 +1,266 @@
+package com.ldtteam.tableau.neogradle.utils;
+
+import com.ldtteam.tableau.utilities.utils.PersistentCache;
+import org.gradle.StartParameter;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Build service which caches the versions which dynamic dependency versions resolve to.
+ * <p>
+ * Resolving a dynamic version, like {@code 21.1.+}, can require the network. Each dependency is resolved at most once
+ * per build, and the result is stored in the Gradle user home. A stored version is reused until it is older than the
+ * time to live, configured with the {@value #TIME_TO_LIVE_PROPERTY} Gradle property as ISO-8601 duration, one day by
+ * default. When Gradle runs offline the stored version is always used, and when resolution fails the last stored
+ * version is used, regardless of its age. Running with {@code --refresh-dependencies} resolves all versions again.
+ */
+public abstract class ResolvedVersionCacheService implements BuildService<ResolvedVersionCacheService.Parameters>, AutoCloseable {
+
+    private static final Logger LOGGER = Logging.getLogger(ResolvedVersionCacheService.class);
+
+    /**
+     * The name under which the service is registered.
+     */
+    public static final String SERVICE_NAME = "tableauResolvedVersionCache";
+
+    /**
+     * The name of the cache in the Gradle user home, in which the resolved versions are stored.
+     */
+    public static final String CACHE_NAME = "resolved-versions";
+
+    /**
+     * The name of the file in which the resolved versions are stored.
+     */
+    public static final String CACHE_FILE = "resolved-versions.properties";
+
+    /**
+     * The Gradle property which configures how long a resolved version is reused.
+     */
+    public static final String TIME_TO_LIVE_PROPERTY = "tableau.resolvedVersions.timeToLive";
+
+    /**
+     * The time a resolved version is reused, when not configured.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofDays(1);
+
+    private static final int CACHE_VERSION = 1;
+
+    private final Map<String, Entry> stored = new ConcurrentHashMap<>();
+    private final Map<String, Entry> recorded = new ConcurrentHashMap<>();
+    private final Map<String, Optional<String>> resolved = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    /**
+     * Creates a new service.
+     */
+    public ResolvedVersionCacheService() {
+    }
+
+    /**
+     * Registers the service with the build of the given project, if it is not already registered.
+     *
+     * @param project The project whose build to register the service with.
+     * @return The provider for the service.
+     */
+    public static Provider<ResolvedVersionCacheService> register(Project project) {
+        final StartParameter startParameter = project.getGradle().getStartParameter();
+        return project.getGradle().getSharedServices().registerIfAbsent(SERVICE_NAME, ResolvedVersionCacheService.class, spec -> {
+            spec.getParameters().getCacheFile().set(new File(PersistentCache.directory(project.getGradle(), CACHE_NAME, CACHE_VERSION), CACHE_FILE));
+            spec.getParameters().getTimeToLive().set(project.getProviders().gradleProperty(TIME_TO_LIVE_PROPERTY).map(ResolvedVersionCacheService::parseTimeToLive).orElse(DEFAULT_TIME_TO_LIVE));
+            spec.getParameters().getOffline().set(startParameter.isOffline());
+            spec.getParameters().getRefresh().set(startParameter.isRefreshDependencies());
+        });
+    }
+
+    /**
+     * Parses the configured time to live.
+     *
+     * @param value The value of the {@value #TIME_TO_LIVE_PROPERTY} Gradle property.
+     * @return The time to live.
+     * @throws InvalidUserDataException When the value is not an ISO-8601 duration.
+     */
+    static Duration parseTimeToLive(String value) {
+        try {
+            return Duration.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidUserDataException("The %s Gradle property must be an ISO-8601 duration, like PT12H, but is: %s".formatted(TIME_TO_LIVE_PROPERTY, value), e);
+        }
+    }
+
+    /**
+     * Gets the version the given dependency resolves to.
+     * <p>
+     * The resolver is only invoked when no usable version is stored, and at most once per build for each dependency.
+     *
+     * @param notation The notation of the dependency, including its dynamic version.
+     * @param resolver Resolves the dependency, returns an empty optional when it could not be resolved.
+     * @return The resolved version, or an empty optional when the dependency could not be resolved and no version is stored.
+     */
+    public Optional<String> resolve(String notation, Supplier<Optional<String>> resolver) {
+        load();
+        return resolved.computeIfAbsent(notation, key -> {
+            final Entry entry = stored.get(key);
+            if (entry != null && isUsable(entry)) {
+                return Optional.of(entry.version());
+            }
+
+            final Optional<String> version = resolver.get();
+            if (version.isPresent()) {
+                final Entry updated = new Entry(version.get(), System.currentTimeMillis());
+                stored.put(key, updated);
+                recorded.put(key, updated);
+                return version;
+            }
+
+            if (entry != null) {
+                LOGGER.info("Failed to resolve {}, using the previously resolved version {}", key, entry.version());
+                return Optional.of(entry.version());
+            }
+
+            return Optional.empty();
+        });
+    }
+
+    private boolean isUsable(Entry entry) {
+        if (getParameters().getOffline().get()) {
+            return true;
+        }
+
+        if (getParameters().getRefresh().get()) {
+            return false;
+        }
+
+        return System.currentTimeMillis() - entry.resolvedAt() < getParameters().getTimeToLive().get().toMillis();
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+
+            read(getCacheFile()).forEach(stored::put);
+            loaded = true;
+        }
+    }
+
+    private static Map<String, Entry> read(Path file) {
+        final Map<String, Entry> entries = PersistentCache.read(file, input -> {
+            final Properties properties = new Properties();
+            properties.load(input);
+
+            final Map<String, Entry> content = new ConcurrentHashMap<>();
+            for (final String notation : properties.stringPropertyNames()) {
+                final Entry entry = Entry.parse(properties.getProperty(notation));
+                if (entry != null) {
+                    content.put(notation, entry);
+                }
+            }
+            return content;
+        });
+        return entries == null ? new ConcurrentHashMap<>() : entries;
+    }
+
+    @Override
+    public void close() {
+        if (recorded.isEmpty()) {
+            return;
+        }
+
+        final Path file = getCacheFile();
+
+        //Merge with the cache on disk, other builds may have resolved other versions in the meantime.
+        final Map<String, Entry> entries = read(file);
+        entries.putAll(recorded);
+
+        final Properties properties = new Properties();
+        entries.forEach((notation, entry) -> properties.setProperty(notation, entry.toString()));
+        PersistentCache.write(file, output -> properties.store(output, "Dependency notation to resolved version and resolution time, maintained by Tableau"));
+    }
+
+    private Path getCacheFile() {
+        return getParameters().getCacheFile().get().getAsFile().toPath();
+    }
+
+    /**
+     * The parameters of the service.
+     */
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * The file in which the resolved versions are stored between builds.
+         *
+         * @return The cache file.
+         */
+        RegularFileProperty getCacheFile();
+
+        /**
+         * How long a resolved version is reused before it is resolved again.
+         *
+         * @return The time to live.
+         */
+        Property<Duration> getTimeToLive();
+
+        /**
+         * Whether Gradle runs offline, in which case stored versions are always used.
+         *
+         * @return True when offline.
+         */
+        Property<Boolean> getOffline();
+
+        /**
+         * Whether dependencies are refreshed, in which case stored versions are never used.
+         *
+         * @return True when refreshing dependencies.
+         */
+        Property<Boolean> getRefresh();
+    }
+
+    /**
+     * A stored version.
+     *
+     * @param version    The version.
+     * @param resolvedAt The time the version was resolved at, in milliseconds since the epoch.
+     */
+    private record Entry(String version, long resolvedAt) {
+
+        private static Entry parse(String value) {
+            final int separator = value.indexOf(' ');
+            if (separator == -1) {
+                return null;
+            }
+
+            try {
+                return new Entry(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return resolvedAt + " " + version;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.ldtteam.tableau.neogradle.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.gradle.StartParameter;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResolvedVersionCacheServiceTest {
+
+    private static final String NOTATION = "net.neoforged:neoforge:21.1.+";
+
+    @TempDir
+    private File userHome;
+
+    private AtomicInteger resolutions;
+
+    @BeforeEach
+    void setUp() {
+        resolutions = new AtomicInteger();
+    }
+
+    private ResolvedVersionCacheService service() {
+        return service(startParameter -> {});
+    }
+
+    private ResolvedVersionCacheService service(Consumer<StartParameter> startParameter) {
+        final Project project = ProjectBuilder.builder().withGradleUserHomeDir(userHome).build();
+        startParameter.accept(project.getGradle().getStartParameter());
+        return ResolvedVersionCacheService.register(project).get();
+    }
+
+    /**
+     * Moves the resolution time of all stored versions back by the given age.
+     */
+    private void age(Duration age) throws IOException {
+        final Path file;
+        try (Stream<Path> files = Files.walk(userHome.toPath())) {
+            file = files.filter(candidate -> candidate.endsWith(ResolvedVersionCacheService.CACHE_FILE)).findFirst().orElseThrow();
+        }
+
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        for (final String notation : properties.stringPropertyNames()) {
+            final String[] entry = properties.getProperty(notation).split(" ", 2);
+            properties.setProperty(notation, (Long.parseLong(entry[0]) - age.toMillis()) + " " + entry[1]);
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, null);
+        }
+    }
+
+    private Optional<String> resolve(String version) {
+        resolutions.incrementAndGet();
+        return Optional.ofNullable(version);
+    }
+
+    @Test
+    void testVersionIsResolvedOncePerBuild() {
+        final ResolvedVersionCacheService service = service();
+
+        assertEquals(Optional.of("21.1.77"), service.resolve(NOTATION, () -> resolve("21.1.77")));
+        assertEquals(Optional.of("21.1.77"), service.resolve(NOTATION, () -> resolve("21.1.78")));
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    void testVersionIsStoredBetweenBuilds() {
+        final ResolvedVersionCacheService first = service();
+        first.resolve(NOTATION, () -> resolve("21.1.77"));
+        first.close();
+
+        assertEquals(Optional.of("21.1.77"), service().resolve(NOTATION, () -> resolve("21.1.78")));
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    void testVersionIsReusedUntilTheTimeToLive() throws IOException {
+        final ResolvedVersionCacheService first = service();
+        first.resolve(NOTATION, () -> resolve("21.1.77"));
+        first.close();
+        age(ResolvedVersionCacheService.DEFAULT_TIME_TO_LIVE.minusHours(1));
+
+        assertEquals(Optional.of("21.1.77"), service().resolve(NOTATION, () -> resolve("21.1.78")));
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    void testVersionIsResolvedAgainAfterTheTimeToLive() throws IOException {
+        final ResolvedVersionCacheService first = service();
+        first.resolve(NOTATION, () -> resolve("21.1.77"));
+        first.close();
+        age(ResolvedVersionCacheService.DEFAULT_TIME_TO_LIVE);
+
+        assertEquals(Optional.of("21.1.78"), service().resolve(NOTATION, () -> resolve("21.1.78")));
+        assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    void testOfflineReusesVersionRegardlessOfItsAge() throws IOException {
+        final ResolvedVersionCacheService first = service();
+        first.resolve(NOTATION, () -> resolve("21.1.77"));
+        first.close();
+        age(Duration.ofDays(30));
+
+        assertEquals(Optional.of("21.1.77"), service(startParameter -> startParameter.setOffline(true)).resolve(NOTATION, () -> resolve("21.1.78")));
+        assertEquals(1, resolutions.get());
+    }
+
+    @Test
+    void testFailedResolutionFallsBackToTheStoredVersion() throws IOException {
+        final ResolvedVersionCacheService first = service();
+        first.resolve(NOTATION, () -> resolve("21.1.77"));
+        first.close();
+        age(Duration.ofDays(30));
+
+        assertEquals(Optional.of("21.1.77"), service().resolve(NOTATION, () -> resolve(null)));
+        assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    void testFailedResolutionWithoutStoredVersionIsEmpty() {
+        assertEquals(Optional.empty(), service().resolve(NOTATION, () -> resolve(null)));
+    }
+
+    @Test
+    void testRefreshDependenciesResolvesAgain() {
+        final ResolvedVersionCacheService first = service();
+        first.resolve(NOTATION, () -> resolve("21.1.77"));
+        first.close();
+
+        assertEquals(Optional.of("21.1.78"), service(startParameter -> startParameter.setRefreshDependencies(true)).resolve(NOTATION, () -> resolve("21.1.78")));
+        assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    void testConcurrentBuildsMergeTheirVersions() {
+        //Both builds load the cache before either of them stores its version.
+        final ResolvedVersionCacheService first = service();
+        final ResolvedVersionCacheService second = service();
+        first.resolve(NOTATION, () -> resolve("21.1.77"));
+        second.resolve("net.neoforged:neoforge:21.3.+", () -> resolve("21.3.12"));
+        first.close();
+        second.close();
+
+        final ResolvedVersionCacheService third = service();
+        assertEquals(Optional.of("21.1.77"), third.resolve(NOTATION, () -> resolve("21.1.78")));
+        assertEquals(Optional.of("21.3.12"), third.resolve("net.neoforged:neoforge:21.3.+", () -> resolve("21.3.13")));
+        assertEquals(2, resolutions.get());
+    }
+
+    @Test
+    void testTimeToLiveIsParsed() {
+        assertEquals(Duration.ofHours(12), ResolvedVersionCacheService.parseTimeToLive("PT12H"));
+    }
+
+    @Test
+    void testInvalidTimeToLiveNamesTheProperty() {
+        final InvalidUserDataException exception = assertThrows(InvalidUserDataException.class, () -> ResolvedVersionCacheService.parseTimeToLive("one day"));
+        assertTrue(exception.getMessage().contains(ResolvedVersionCacheService.TIME_TO_LIVE_PROPERTY), exception.getMessage());
+    }
+}
@@ -1,15 +1,27 @@
 package com.ldtteam.tableau.resource.processing.extensions;
 
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.resource.processing.tasks.InterpolateResources;
+import com.ldtteam.tableau.resource.processing.tasks.ResolveResourceProperties;
+import com.ldtteam.tableau.resource.processing.tasks.ScanResourceTokens;
 import org.gradle.api.Project;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileTreeElement;
 import org.gradle.api.plugins.ExtensionAware;
+import org.gradle.api.plugins.JavaBasePlugin;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.specs.Spec;
 import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.util.PatternSet;
 import org.gradle.language.jvm.tasks.ProcessResources;
 
 import javax.inject.Inject;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * Extension that configures the resource processing.
@@ -43,22 +55,43 @@ public abstract class ResourceProcessingExtension implements ExtensionAware {
         this.project = project;
 
         getIsEnabled().convention(true);
+        getEngine().convention(Engine.GROOVY);
 
-        project.afterEvaluate(ignored -> {
+        project.getPlugins().withType(JavaBasePlugin.class, javaBasePlugin -> {
             //Get all source sets.
             final SourceSetContainer container = project.getExtensions().getByType(SourceSetContainer.class);
             container.configureEach(sourceSet -> {
+                //Without matching patterns nothing is interpolated, and the tasks have no sources.
+                final Provider<Object> matchingResources = project.provider(() -> getMatching().get().isEmpty()
+                        ? List.of()
+                        : sourceSet.getResources().matching(patterns -> patterns.include(getMatching().get())));
+
+                //Index the keys the matching resources of each source set reference.
+                final TaskProvider<ScanResourceTokens> scan = project.getTasks().register(sourceSet.getTaskName("scan", "resourceTokens"), ScanResourceTokens.class, task -> {
+                    task.getSources().from(matchingResources);
+                });
+
+                //Write the values of the referenced keys, so that a changed value only renders the resources using it again.
+                final TaskProvider<ResolveResourceProperties> resolve = project.getTasks().register(sourceSet.getTaskName("resolve", "resourceProperties"), ResolveResourceProperties.class, task -> {
+                    task.getTokenIndex().set(scan.flatMap(ScanResourceTokens::getTokenIndex));
+                    task.getProperties().set(getProperties());
+                });
 
-                //For each source set get its process resources task
+                //Interpolate the matching resources of each source set, into a directory of its own.
+                final TaskProvider<InterpolateResources> interpolate = project.getTasks().register(sourceSet.getTaskName("interpolate", "resources"), InterpolateResources.class, task -> {
+                    task.getSources().from(matchingResources);
+                    task.getTokenIndex().set(scan.flatMap(ScanResourceTokens::getTokenIndex));
+                    task.getReferencedValues().set(resolve.flatMap(ResolveResourceProperties::getReferencedValues));
+                    task.getProperties().set(getProperties());
+                    task.getEngine().set(getEngine());
+                    task.getOutputDirectory().convention(project.getLayout().getBuildDirectory().dir("interpolatedResources/" + sourceSet.getName()));
+                });
+
+                //Then process the interpolated resources, instead of the matching originals.
                 project.getTasks().named(sourceSet.getProcessResourcesTaskName(), ProcessResources.class, task -> {
-                    //Configure interpolation. The following .get() calls is why this is in an afterEvaluate block.
-                    getMatching().get().forEach(match -> {
-                        task.filesMatching(match, fileCopyDetails -> {
-                            fileCopyDetails.expand(getProperties().get());
-                        });
-                    });
-
-                    task.getInputs().properties(getProperties().get());
+                    final Provider<Directory> interpolated = interpolate.flatMap(InterpolateResources::getOutputDirectory);
+                    task.from(interpolated);
+                    task.exclude(new InterpolatedOriginalsSpec(getMatching(), interpolated));
                 });
             });
         });
@@ -80,6 +113,23 @@ public abstract class ResourceProcessingExtension implements ExtensionAware {
      */
     public abstract MapProperty<String, Object> getProperties();
 
+    /**
+     * The engine which renders the interpolated resources.
+     * <p>
+     *     Defaults to {@link Engine#GROOVY}, which has the exact semantics of {@code expand}.
+     *
+     * @return The interpolation engine.
+     */
+    public abstract Property<Engine> getEngine();
+
+    /**
+     * Uses the streaming engine, which only substitutes {@code ${key}} tokens but is much faster on large resource trees.
+     * See {@link Engine#STREAMING} for how its output can differ from the default engine.
+     */
+    public void streaming() {
+        getEngine().set(Engine.STREAMING);
+    }
+
     /**
      * Uses the project properties as interpolation values.
      */
@@ -95,6 +145,8 @@ public abstract class ResourceProcessingExtension implements ExtensionAware {
 
     /**
      * A list of glob patterns that match file paths in the project which should receive interpolation.
+     * <p>
+     *     Empty by default, in which case no resources are interpolated.
      *
      * @return The matching patterns, which select the files to interpolate.
      */
@@ -124,4 +176,64 @@ public abstract class ResourceProcessingExtension implements ExtensionAware {
     public void all() {
         getMatching().add("**/**");
     }
+
+    /**
+     * The engines which can render the resources.
+     */
+    public enum Engine {
+        /**
+         * Renders every resource as a Groovy template, exactly like {@code expand} does.
+         */
+        GROOVY,
+        /**
+         * Substitutes only {@code ${key}} tokens while streaming, and copies resources without tokens as they are.
+         * <p>
+         *     This is not a template engine, so the same resource can render differently than with {@link #GROOVY}:
+         *     <ul>
+         *         <li>{@code $key} references without braces are copied unchanged, Groovy substitutes them.</li>
+         *         <li>{@code \${key}} is no escape, the backslash is copied and the token is substituted. Groovy
+         *         writes the literal {@code ${key}} instead.</li>
+         *         <li>{@code $$} is no escape either, the first dollar is copied and a following token is substituted.
+         *         Groovy fails on it.</li>
+         *         <li>Tokens whose key has no value, or which are not a plain key, are copied unchanged, Groovy fails on
+         *         unknown keys and evaluates expressions.</li>
+         *         <li>Keys with dots, like {@code ${minecraft.version}}, are looked up as one key, Groovy resolves them
+         *         as property access on the value of the first part.</li>
+         *         <li>{@code <% ... %>} blocks are copied unchanged, Groovy runs them.</li>
+         *         <li>Tokens longer than 256 characters are copied unchanged.</li>
+         *     </ul>
+         *     Spaces around a key, like {@code ${ key }}, are ignored by both engines.
+         */
+        STREAMING
+    }
+
+    /**
+     * Excludes the originals of interpolated resources from resource processing.
+     * <p>
+     *     The patterns are only resolved when the first file is processed, so that they can be configured lazily.
+     */
+    private static final class InterpolatedOriginalsSpec implements Spec<FileTreeElement> {
+
+        private final Provider<List<String>> matching;
+        private final Provider<Directory> interpolated;
+        private transient Spec<FileTreeElement> matches;
+        private transient Path interpolatedPath;
+
+        private InterpolatedOriginalsSpec(Provider<List<String>> matching, Provider<Directory> interpolated) {
+            this.matching = matching;
+            this.interpolated = interpolated;
+        }
+
+        @Override
+        public boolean isSatisfiedBy(FileTreeElement element) {
+            if (matches == null) {
+                //An empty pattern set matches everything, but without patterns nothing is interpolated.
+                final List<String> patterns = matching.get();
+                matches = patterns.isEmpty() ? ignored -> false : new PatternSet().include(patterns).getAsSpec();
+                interpolatedPath = interpolated.get().getAsFile().toPath();
+            }
+
+            return !element.isDirectory() && !element.getFile().toPath().startsWith(interpolatedPath) && matches.isSatisfiedBy(element);
+        }
+    }
 }
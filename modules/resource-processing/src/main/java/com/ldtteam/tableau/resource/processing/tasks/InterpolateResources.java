@@ -0,0 +1,312 @@
+package com.ldtteam.tableau.resource.processing.tasks;
+
+import com.ldtteam.tableau.resource.processing.extensions.ResourceProcessingExtension.Engine;
+import com.ldtteam.tableau.resource.processing.utils.KeyValueFile;
+import com.ldtteam.tableau.resource.processing.utils.StreamingInterpolator;
+import com.ldtteam.tableau.resource.processing.utils.TokenIndex;
+import groovy.text.SimpleTemplateEngine;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.*;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A task that interpolates resource files, with the same template semantics as {@code expand}.
+ * <p>
+ *     The keys each resource references are indexed by {@link ScanResourceTokens}, and only the values of those keys
+ *     are inputs of this task, through the file written by {@link ResolveResourceProperties}. Changing a property no
+ *     resource references therefore leaves resource processing up-to-date.
+ * <p>
+ *     Both the resources and the referenced values are incremental inputs. The task keeps the signature of the values
+ *     each resource was last rendered with as local state, and renders only the resources which changed, or whose
+ *     referenced values changed, again.
+ * <p>
+ *     Resources are rendered as Groovy templates by default, see {@link Engine} for the alternatives.
+ */
+@CacheableTask
+public abstract class InterpolateResources extends DefaultTask {
+
+    /**
+     * Creates a new interpolate resources task.
+     *
+     * @param layout The layout of the project the task belongs to.
+     */
+    @Inject
+    public InterpolateResources(ProjectLayout layout) {
+        setGroup("Build");
+        setDescription("Interpolates the resources which reference properties.");
+
+        getEngine().convention(Engine.GROOVY);
+        getRenderedSignatures().convention(layout.getBuildDirectory().file("resourceTokens/" + getName() + "/signatures.index"));
+    }
+
+    /**
+     * Interpolates the changed resources as the task action.
+     *
+     * @param inputChanges The changes to the resources and referenced values since the last execution.
+     * @throws IOException when a resource could not be read or written.
+     */
+    @TaskAction
+    public void interpolate(InputChanges inputChanges) throws IOException {
+        final Path outputDirectory = getOutputDirectory().get().getAsFile().toPath();
+        final File signaturesFile = getRenderedSignatures().get().getAsFile();
+
+        final SortedMap<String, String> signatures = new TreeMap<>();
+        boolean knowsSignatures = false;
+        if (!inputChanges.isIncremental()) {
+            //The engine changed, or there is no previous execution, so every resource is rendered again.
+            getFileSystemOperations().delete(spec -> spec.delete(outputDirectory.toFile(), signaturesFile));
+        } else if (signaturesFile.isFile()) {
+            try {
+                signatures.putAll(KeyValueFile.read(signaturesFile));
+                knowsSignatures = true;
+            } catch (IOException e) {
+                getLogger().info("Failed to read the rendered signatures of {}, all resources are rendered again", getName(), e);
+            }
+        }
+
+        final Renderer renderer = new Renderer(
+                outputDirectory,
+                TokenIndex.read(getTokenIndex().get().getAsFile()),
+                KeyValueFile.read(getReferencedValues().get().getAsFile()),
+                ResolveResourceProperties.resolve(getProperties().get()),
+                getEngine().get());
+
+        final Set<String> changed = new HashSet<>();
+        for (final FileChange change : inputChanges.getFileChanges(getSources())) {
+            if (change.getFileType() == FileType.DIRECTORY) {
+                continue;
+            }
+
+            changed.add(change.getNormalizedPath());
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                Files.deleteIfExists(outputDirectory.resolve(change.getNormalizedPath()));
+                signatures.remove(change.getNormalizedPath());
+            } else {
+                signatures.put(change.getNormalizedPath(), renderer.render(change.getNormalizedPath(), change.getFile().toPath()));
+            }
+        }
+
+        //Unchanged resources are only rendered again when the values they reference changed, or the signatures they
+        //were rendered with are unknown, for example because the outputs were loaded from the build cache.
+        final boolean valuesChanged = inputChanges.getFileChanges(getReferencedValues()).iterator().hasNext();
+        if (inputChanges.isIncremental() && (valuesChanged || !knowsSignatures)) {
+            final boolean renderAll = !knowsSignatures;
+            getSources().getAsFileTree().visit(details -> {
+                final String path = details.getRelativePath().getPathString();
+                if (details.isDirectory() || changed.contains(path)) {
+                    return;
+                }
+
+                if (renderAll || !renderer.signature(path).equals(signatures.get(path))) {
+                    signatures.put(path, render(renderer, details));
+                }
+            });
+        }
+
+        KeyValueFile.write(signaturesFile, signatures);
+    }
+
+    private static String render(Renderer renderer, FileVisitDetails details) {
+        try {
+            return renderer.render(details.getRelativePath().getPathString(), details.getFile().toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to interpolate the resource: " + details.getFile(), e);
+        }
+    }
+
+    /**
+     * The file system operations used to clean the output directory.
+     *
+     * @return The file system operations.
+     */
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    /**
+     * The resource files which should be interpolated.
+     *
+     * @return The resources to interpolate.
+     */
+    //Skip when empty already makes the property incremental, declaring both is rejected by Gradle.
+    @InputFiles
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getSources();
+
+    /**
+     * All properties which are available during interpolation.
+     * <p>
+     *     A value can also be a {@link org.gradle.api.provider.Provider}, which is resolved when the resources are
+     *     interpolated. Only the values of the properties which are referenced by the resources are inputs of this
+     *     task, see {@link #getReferencedValues()}.
+     *
+     * @return The interpolation properties.
+     */
+    @Internal
+    public abstract MapProperty<String, Object> getProperties();
+
+    /**
+     * The values of the properties which are referenced by at least one of the resources, as written by
+     * {@link ResolveResourceProperties}.
+     * <p>
+     *     Changes to the values never require all resources to be rendered again, only the resources which reference
+     *     a changed value are.
+     *
+     * @return The referenced values file.
+     */
+    @Incremental
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getReferencedValues();
+
+    /**
+     * The engine which renders the resources.
+     *
+     * @return The interpolation engine.
+     */
+    @Input
+    public abstract Property<Engine> getEngine();
+
+    /**
+     * The index of the keys each resource references, as written by {@link ScanResourceTokens}.
+     * <p>
+     *     Changes to the index are covered by {@link #getSources()} and {@link #getReferencedValues()}, so they
+     *     never require all resources to be rendered again.
+     *
+     * @return The token index file.
+     */
+    @Incremental
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getTokenIndex();
+
+    /**
+     * The signature of the referenced values each resource was last rendered with.
+     *
+     * @return The rendered signatures file.
+     */
+    @LocalState
+    public abstract RegularFileProperty getRenderedSignatures();
+
+    /**
+     * The directory into which the interpolated resources are written.
+     *
+     * @return The output directory.
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    /**
+     * Renders single resources, and computes the signature of the values they reference.
+     */
+    private static final class Renderer {
+
+        private final Path outputDirectory;
+        private final TokenIndex index;
+        private final Map<String, String> values;
+        private final Map<String, Object> properties;
+        private final Engine engine;
+        private final SimpleTemplateEngine templateEngine = new SimpleTemplateEngine();
+
+        private Renderer(Path outputDirectory, TokenIndex index, Map<String, String> values, Map<String, Object> properties, Engine engine) {
+            this.outputDirectory = outputDirectory;
+            this.index = index;
+            this.values = values;
+            this.properties = properties;
+            this.engine = engine;
+        }
+
+        /**
+         * Renders the given resource into the output directory.
+         *
+         * @param path   The path of the resource, relative to its resource root.
+         * @param source The resource.
+         * @return The signature of the values the resource was rendered with.
+         * @throws IOException When the resource could not be read or written.
+         */
+        private String render(String path, Path source) throws IOException {
+            final Path target = outputDirectory.resolve(path);
+            Files.createDirectories(target.getParent());
+            if (index.isBinary(path) || (engine == Engine.STREAMING && index.getKeys(path).isEmpty())) {
+                //Nothing to substitute, or not text at all, so the file is copied through as it is.
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                try (Reader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+                     Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+                    if (engine == Engine.STREAMING) {
+                        StreamingInterpolator.interpolate(reader, writer, properties);
+                    } else {
+                        templateEngine.createTemplate(reader).make(new HashMap<>(properties)).writeTo(writer);
+                    }
+                }
+            }
+
+            return signature(path);
+        }
+
+        /**
+         * Computes the signature of the values the given resource references.
+         *
+         * @param path The path of the resource, relative to its resource root.
+         * @return The signature.
+         */
+        private String signature(String path) {
+            final List<String> keys = index.getKeys(path);
+            try {
+                final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (final String key : keys) {
+                    final String value = values.get(key);
+                    if (value != null) {
+                        //Length prefixed, so that no combination of keys and values can produce the same input.
+                        update(digest, key);
+                        update(digest, value);
+                    }
+                }
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        private static void update(MessageDigest digest, String value) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ldtteam.tableau.resource.processing.tasks;
+
+import com.ldtteam.tableau.resource.processing.utils.KeyValueFile;
+import com.ldtteam.tableau.resource.processing.utils.TokenIndex;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.*;
+import org.gradle.work.DisableCachingByDefault;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A task that writes the values of the properties the resources reference.
+ * <p>
+ *     The written file is an incremental input of {@link InterpolateResources}, so a changed value does not require
+ *     all resources to be rendered again, only those which reference the changed key.
+ */
+@DisableCachingByDefault(because = "Writing the values is cheaper than loading them from the cache")
+public abstract class ResolveResourceProperties extends DefaultTask {
+
+    /**
+     * Creates a new resolve resource properties task.
+     *
+     * @param layout The layout of the project the task belongs to.
+     */
+    @Inject
+    public ResolveResourceProperties(ProjectLayout layout) {
+        setGroup("Build");
+        setDescription("Resolves the values of the properties the resources reference.");
+
+        getReferencedValues().convention(layout.getBuildDirectory().file("resourceTokens/" + getName() + "/values.index"));
+    }
+
+    /**
+     * Writes the referenced values as the task action.
+     *
+     * @throws IOException when the values could not be written.
+     */
+    @TaskAction
+    public void resolve() throws IOException {
+        KeyValueFile.write(getReferencedValues().get().getAsFile(), getReferencedProperties());
+    }
+
+    /**
+     * Resolves the values of the given properties, a value can be a provider, which is replaced by its value.
+     * Properties whose provider has no value are left out.
+     *
+     * @param properties The properties to resolve.
+     * @return The resolved properties.
+     */
+    static Map<String, Object> resolve(Map<String, Object> properties) {
+        final Map<String, Object> resolved = new HashMap<>();
+        properties.forEach((key, value) -> {
+            final Object resolvedValue = value instanceof Provider<?> provider ? provider.getOrNull() : value;
+            if (resolvedValue != null) {
+                resolved.put(key, resolvedValue);
+            }
+        });
+        return resolved;
+    }
+
+    /**
+     * All properties which are available during interpolation.
+     * <p>
+     *     A value can also be a {@link Provider}, which is resolved when the values are written.
+     *
+     * @return The interpolation properties.
+     */
+    @Internal
+    public abstract MapProperty<String, Object> getProperties();
+
+    /**
+     * The properties which are referenced by at least one of the resources, with their value as string.
+     *
+     * @return The referenced properties.
+     */
+    @Input
+    public SortedMap<String, String> getReferencedProperties() {
+        final TokenIndex index;
+        try {
+            index = TokenIndex.read(getTokenIndex().get().getAsFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the token index: " + getTokenIndex().get().getAsFile(), e);
+        }
+
+        final Map<String, Object> properties = resolve(getProperties().get());
+        final SortedMap<String, String> referenced = new TreeMap<>();
+        for (final String key : index.getAllKeys()) {
+            if (properties.containsKey(key)) {
+                referenced.put(key, String.valueOf(properties.get(key)));
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * The index of the keys each resource references, as written by {@link ScanResourceTokens}.
+     *
+     * @return The token index file.
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getTokenIndex();
+
+    /**
+     * The file into which the referenced values are written.
+     *
+     * @return The referenced values file.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getReferencedValues();
+}
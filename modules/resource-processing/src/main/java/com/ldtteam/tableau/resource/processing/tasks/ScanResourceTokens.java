@@ -0,0 +1,85 @@
+package com.ldtteam.tableau.resource.processing.tasks;
+
+import com.ldtteam.tableau.resource.processing.utils.TokenIndex;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.*;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A task that indexes the interpolation keys each resource file references.
+ * <p>
+ *     Only the resources which changed since the last execution are scanned again, the keys of the other resources
+ *     are taken from the previous index. The index decides which properties are inputs of {@link InterpolateResources}.
+ */
+@CacheableTask
+public abstract class ScanResourceTokens extends DefaultTask {
+
+    /**
+     * Creates a new scan resource tokens task.
+     *
+     * @param layout The layout of the project the task belongs to.
+     */
+    @Inject
+    public ScanResourceTokens(ProjectLayout layout) {
+        setGroup("Build");
+        setDescription("Indexes the properties the resources reference.");
+
+        getTokenIndex().convention(layout.getBuildDirectory().file("resourceTokens/" + getName() + "/tokens.index"));
+    }
+
+    /**
+     * Scans the changed resources as the task action.
+     *
+     * @param inputChanges The changes to the resources since the last execution.
+     * @throws IOException when a resource could not be scanned, or the index could not be written.
+     */
+    @TaskAction
+    public void scan(InputChanges inputChanges) throws IOException {
+        final File indexFile = getTokenIndex().get().getAsFile();
+        final TokenIndex index = inputChanges.isIncremental() ? TokenIndex.read(indexFile) : TokenIndex.empty();
+
+        for (final FileChange change : inputChanges.getFileChanges(getSources())) {
+            if (change.getFileType() == FileType.DIRECTORY) {
+                continue;
+            }
+
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                index.remove(change.getNormalizedPath());
+            } else {
+                index.scan(change.getNormalizedPath(), change.getFile());
+            }
+        }
+
+        index.write(indexFile);
+    }
+
+    /**
+     * The resource files which should be scanned.
+     *
+     * @return The resources to scan.
+     */
+    @Incremental
+    @InputFiles
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getSources();
+
+    /**
+     * The index of the keys each resource references, with the paths of the resources relative to their root.
+     *
+     * @return The token index file.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getTokenIndex();
+}
@@ -0,0 +1,82 @@
+package com.ldtteam.tableau.resource.processing.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes sorted string maps, like the referenced property values and the signatures of rendered resources.
+ * <p>
+ * The entries are written sorted and without any timestamp, so that the same map always produces the same file, and
+ * a file only changes, as task input, when its content does.
+ */
+public final class KeyValueFile {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private KeyValueFile() {
+    }
+
+    /**
+     * Reads the map from the given file.
+     *
+     * @param file The file the map is stored in.
+     * @return The map.
+     * @throws IOException When the file could not be read, or was not written by this version.
+     */
+    public static SortedMap<String, String> read(File file) throws IOException {
+        final SortedMap<String, String> values = new TreeMap<>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported key value file format: " + file);
+            }
+
+            final int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                values.put(readString(input), readString(input));
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Writes the given map to the given file.
+     *
+     * @param file   The file to write the map to.
+     * @param values The map to write.
+     * @throws IOException When the file could not be written.
+     */
+    public static void write(File file, Map<String, String> values) throws IOException {
+        Files.createDirectories(file.toPath().toAbsolutePath().getParent());
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(values.size());
+            for (final Map.Entry<String, String> entry : new TreeMap<>(values).entrySet()) {
+                writeString(output, entry.getKey());
+                writeString(output, entry.getValue());
+            }
+        }
+    }
+
+    //Values can be longer than writeUTF allows, so strings are written with a length prefix instead.
+    private static String readString(DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ldtteam.tableau.resource.processing.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Interpolation engine which substitutes {@code ${key}} tokens while streaming the content.
+ * <p>
+ * Unlike a Groovy template nothing is compiled, the content is copied in chunks and only the tokens are replaced.
+ * Tokens which are not a plain key, or whose key has no value, are copied through unchanged.
+ */
+public final class StreamingInterpolator {
+
+    /**
+     * The keys which can be substituted.
+     */
+    private static final Pattern KEY = Pattern.compile("[A-Za-z_][A-Za-z0-9_.-]*");
+
+    /**
+     * Tokens longer than this are never a key, and are copied through as they are.
+     */
+    private static final int MAX_TOKEN_LENGTH = 256;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Utility class, not meant to be instantiated.
+     */
+    private StreamingInterpolator() {
+    }
+
+    /**
+     * Copies the content of the given reader to the given writer, substituting all {@code ${key}} tokens.
+     *
+     * @param reader     The content to interpolate.
+     * @param writer     The writer to write the interpolated content to.
+     * @param properties The values of the keys.
+     * @throws IOException When the content could not be read or written.
+     */
+    public static void interpolate(Reader reader, Writer writer, Map<String, ?> properties) throws IOException {
+        final char[] buffer = new char[BUFFER_SIZE];
+        final StringBuilder token = new StringBuilder();
+        //0 in plain text, 1 after a '$', 2 inside '${'.
+        int state = 0;
+
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            int plainStart = 0;
+            for (int i = 0; i < read; i++) {
+                final char current = buffer[i];
+                switch (state) {
+                    case 0 -> {
+                        if (current == '$') {
+                            writer.write(buffer, plainStart, i - plainStart);
+                            state = 1;
+                        }
+                    }
+                    case 1 -> {
+                        if (current == '{') {
+                            state = 2;
+                            token.setLength(0);
+                        } else {
+                            writer.write('$');
+                            state = current == '$' ? 1 : 0;
+                            plainStart = current == '$' ? i + 1 : i;
+                        }
+                    }
+                    default -> {
+                        if (current == '}') {
+                            writeToken(writer, token, properties);
+                            state = 0;
+                            plainStart = i + 1;
+                        } else if (token.length() >= MAX_TOKEN_LENGTH) {
+                            writer.write("${");
+                            writer.append(token);
+                            state = 0;
+                            plainStart = i;
+                            //Process the current character again, as plain text.
+                            i--;
+                        } else {
+                            token.append(current);
+                        }
+                    }
+                }
+            }
+
+            if (state == 0) {
+                writer.write(buffer, plainStart, read - plainStart);
+            }
+        }
+
+        //Copy a trailing incomplete token through.
+        if (state == 1) {
+            writer.write('$');
+        } else if (state == 2) {
+            writer.write("${");
+            writer.append(token);
+        }
+    }
+
+    private static void writeToken(Writer writer, CharSequence token, Map<String, ?> properties) throws IOException {
+        final String key = token.toString().strip();
+        if (KEY.matcher(key).matches() && properties.containsKey(key)) {
+            writer.write(String.valueOf(properties.get(key)));
+            return;
+        }
+
+        writer.write("${");
+        writer.append(token);
+        writer.write('}');
+    }
+}
@@ -0,0 +1,239 @@
+package com.ldtteam.tableau.resource.processing.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Index of the interpolation keys each resource file references.
+ * <p>
+ * The index is the output of a scan task, and is written sorted so that the same resources always produce the same
+ * index. Changes to the resources are applied incrementally, by rescanning or removing the changed files only.
+ * Files which are not valid UTF-8, like binary resources matched by a broad pattern, are recorded as binary. They
+ * reference no keys, and are never rendered.
+ */
+public final class TokenIndex {
+
+    private static final int FORMAT_VERSION = 3;
+
+    private static final Pattern DOTTED_KEY = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*[.-][A-Za-z0-9_.-]*");
+
+    private final SortedMap<String, List<String>> entries = new TreeMap<>();
+    private final SortedSet<String> binaries = new TreeSet<>();
+
+    private TokenIndex() {
+    }
+
+    /**
+     * Creates an index without files.
+     *
+     * @return The empty index.
+     */
+    public static TokenIndex empty() {
+        return new TokenIndex();
+    }
+
+    /**
+     * Reads the index from the given file.
+     *
+     * @param file The file the index is stored in.
+     * @return The index.
+     * @throws IOException When the file could not be read, or was not written by this version.
+     */
+    public static TokenIndex read(File file) throws IOException {
+        final TokenIndex index = new TokenIndex();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported token index format: " + file);
+            }
+
+            final int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                final String path = input.readUTF();
+                if (input.readBoolean()) {
+                    index.binaries.add(path);
+                }
+                final int count = input.readInt();
+                final List<String> keys = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    keys.add(input.readUTF());
+                }
+                index.entries.put(path, List.copyOf(keys));
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Scans the given file, and records the keys it references.
+     *
+     * @param path The path of the file, relative to its resource root.
+     * @param file The file.
+     * @throws IOException When the file could not be scanned.
+     */
+    public void scan(String path, File file) throws IOException {
+        //Decode exactly like the resources are rendered, so that a file is either text for both or binary for both.
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            entries.put(path, List.copyOf(scan(reader)));
+            binaries.remove(path);
+        } catch (CharacterCodingException e) {
+            entries.put(path, List.of());
+            binaries.add(path);
+        }
+    }
+
+    /**
+     * Removes the given file from the index.
+     *
+     * @param path The path of the file, relative to its resource root.
+     */
+    public void remove(String path) {
+        entries.remove(path);
+        binaries.remove(path);
+    }
+
+    /**
+     * Indicates whether the given file is not valid UTF-8, and should therefore be copied instead of rendered.
+     *
+     * @param path The path of the file, relative to its resource root.
+     * @return {@code true} when the file is binary.
+     */
+    public boolean isBinary(String path) {
+        return binaries.contains(path);
+    }
+
+    /**
+     * Gets the keys referenced by the given file.
+     *
+     * @param path The path of the file, relative to its resource root.
+     * @return The referenced keys, sorted, or an empty list when the file is not indexed.
+     */
+    public List<String> getKeys(String path) {
+        return entries.getOrDefault(path, List.of());
+    }
+
+    /**
+     * Gets the keys referenced by any of the indexed files.
+     *
+     * @return The referenced keys, sorted.
+     */
+    public SortedSet<String> getAllKeys() {
+        final SortedSet<String> keys = new TreeSet<>();
+        entries.values().forEach(keys::addAll);
+        return keys;
+    }
+
+    /**
+     * Writes the index to the given file.
+     *
+     * @param file The file to write the index to.
+     * @throws IOException When the index could not be written.
+     */
+    public void write(File file) throws IOException {
+        Files.createDirectories(file.toPath().toAbsolutePath().getParent());
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(entries.size());
+            for (final Map.Entry<String, List<String>> entry : entries.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeBoolean(binaries.contains(entry.getKey()));
+                output.writeInt(entry.getValue().size());
+                for (final String key : entry.getValue()) {
+                    output.writeUTF(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans the given template for the keys it can reference.
+     * <p>
+     * Every identifier in a {@code ${...}} expression, a {@code <%...%>} block, and every {@code $key} reference is
+     * collected, as well as {@code ${...}} expressions which are a key with dots or dashes. The result may contain identifiers which are not keys, but never misses a key the template uses.
+     *
+     * @param reader The template.
+     * @return The identifiers the template references, sorted.
+     * @throws IOException When the template could not be read.
+     */
+    public static Set<String> scan(Reader reader) throws IOException {
+        final Set<String> keys = new TreeSet<>();
+        final StringBuilder identifier = new StringBuilder();
+        final StringBuilder expression = new StringBuilder();
+        //The closing character of the expression we are in, or 0 when in plain text.
+        char closing = 0;
+        boolean simpleReference = false;
+        int previous = -1;
+
+        int read;
+        while ((read = reader.read()) != -1) {
+            final char current = (char) read;
+
+            if (closing == '}' && current != '}') {
+                expression.append(current);
+            }
+
+            if (simpleReference || closing != 0) {
+                if (identifier.isEmpty() ? Character.isJavaIdentifierStart(current) : Character.isJavaIdentifierPart(current)) {
+                    identifier.append(current);
+                    previous = read;
+                    continue;
+                }
+
+                if (!identifier.isEmpty()) {
+                    keys.add(identifier.toString());
+                    identifier.setLength(0);
+                }
+
+                if (simpleReference) {
+                    //A $key reference ends at the first character which is not part of the identifier.
+                    simpleReference = false;
+                } else if (current == closing && (closing == '}' || previous == '%')) {
+                    if (closing == '}' && DOTTED_KEY.matcher(expression.toString().strip()).matches()) {
+                        //A dotted key, like ${minecraft.version}, as the streaming engine substitutes it.
+                        keys.add(expression.toString().strip());
+                    }
+                    closing = 0;
+                    previous = read;
+                    continue;
+                } else {
+                    previous = read;
+                    continue;
+                }
+            }
+
+            if (previous == '$' && current == '{') {
+                closing = '}';
+                expression.setLength(0);
+            } else if (previous == '<' && current == '%') {
+                closing = '>';
+            } else if (previous == '$' && Character.isJavaIdentifierStart(current)) {
+                simpleReference = true;
+                identifier.append(current);
+            }
+            previous = read;
+        }
+
+        if (!identifier.isEmpty()) {
+            keys.add(identifier.toString());
+        }
+
+        return keys;
+    }
+}
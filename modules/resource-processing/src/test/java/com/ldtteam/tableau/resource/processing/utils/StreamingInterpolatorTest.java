@@ -0,0 +1,118 @@
+package com.ldtteam.tableau.resource.processing.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamingInterpolatorTest {
+
+    private static final Map<String, Object> PROPERTIES = Map.of(
+            "a", "1",
+            "version", 42,
+            "minecraft.version", "1.21.3"
+    );
+
+    private static String interpolate(Reader reader) throws IOException {
+        final StringWriter writer = new StringWriter();
+        StreamingInterpolator.interpolate(reader, writer, PROPERTIES);
+        return writer.toString();
+    }
+
+    private static String interpolate(String content) throws IOException {
+        return interpolate(new StringReader(content));
+    }
+
+    /**
+     * A reader which returns at most the given amount of characters per read, to move tokens across reads.
+     */
+    private static Reader chunked(String content, int chunkSize) {
+        return new StringReader(content) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, chunkSize));
+            }
+        };
+    }
+
+    @Test
+    public void testSubstitutesKnownKeys() throws IOException {
+        assertEquals("a = 1, version = 42, minecraft = 1.21.3", interpolate("a = ${a}, version = ${version}, minecraft = ${minecraft.version}"));
+    }
+
+    @Test
+    public void testCopiesContentWithoutTokens() throws IOException {
+        assertEquals("plain content\nwith { braces } and 100$\n", interpolate("plain content\nwith { braces } and 100$\n"));
+    }
+
+    @Test
+    public void testKeepsUnknownKeys() throws IOException {
+        assertEquals("${unknown} ${a b} ${1a} ${}", interpolate("${unknown} ${a b} ${1a} ${}"));
+    }
+
+    @Test
+    public void testStripsSpacesAroundKeys() throws IOException {
+        assertEquals("1 1 1.21.3", interpolate("${ a } ${a\t} ${ minecraft.version}"));
+    }
+
+    @Test
+    public void testDoubleDollarIsNoEscape() throws IOException {
+        assertEquals("$1 $$1 $$ $", interpolate("$${a} $$${a} $$ $"));
+    }
+
+    @Test
+    public void testKeepsReferencesWithoutBraces() throws IOException {
+        assertEquals("$a $version", interpolate("$a $version"));
+    }
+
+    @Test
+    public void testBackslashIsNoEscape() throws IOException {
+        assertEquals("\\1", interpolate("\\${a}"));
+    }
+
+    @Test
+    public void testKeepsTrailingIncompleteTokens() throws IOException {
+        assertEquals("value $", interpolate("value $"));
+        assertEquals("value ${", interpolate("value ${"));
+        assertEquals("value ${a", interpolate("value ${a"));
+        assertEquals("1 ${minecraft.vers", interpolate("${a} ${minecraft.vers"));
+    }
+
+    @Test
+    public void testKeepsTokensLongerThanTheLimit() throws IOException {
+        final String longKey = "k".repeat(300);
+        assertEquals("${" + longKey + "} 1", interpolate("${" + longKey + "} ${a}"));
+    }
+
+    @Test
+    public void testLongTokenEndingInANewTokenIsProcessedAgain() throws IOException {
+        final String text = "x".repeat(256);
+        assertEquals("${" + text + "1}", interpolate("${" + text + "${a}}"));
+    }
+
+    @Test
+    public void testSubstitutesTokensAcrossTheBufferBoundary() throws IOException {
+        //Move the token over the end of the first 8192 character read, from the '$' up to the '}' being the first character of the next.
+        for (int padding = 8185; padding <= 8193; padding++) {
+            final String prefix = "x".repeat(padding);
+            assertEquals(prefix + "1.21.3 end", interpolate(prefix + "${minecraft.version} end"), "padding " + padding);
+            assertEquals(prefix + "${unknown} end", interpolate(prefix + "${unknown} end"), "padding " + padding);
+            assertEquals(prefix + "$1 end", interpolate(prefix + "$${a} end"), "padding " + padding);
+        }
+    }
+
+    @Test
+    public void testSubstitutesTokensAcrossSmallReads() throws IOException {
+        final String content = "a = ${a}, $$, ${ minecraft.version }, ${unknown}, $a, ${" + "k".repeat(300) + "} ${";
+        final String expected = interpolate(content);
+
+        for (int chunkSize = 1; chunkSize <= 7; chunkSize++) {
+            assertEquals(expected, interpolate(chunked(content, chunkSize)), "chunk size " + chunkSize);
+        }
+    }
+}
@@ -1,23 +1,33 @@
 package com.ldtteam.tableau.scripting.extensions;
 
 import com.ldtteam.tableau.scripting.ScriptingPlugin;
+import groovy.lang.MissingMethodException;
+import groovy.lang.MissingPropertyException;
+import org.codehaus.groovy.runtime.InvokerHelper;
 import org.gradle.api.Project;
 import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.api.problems.ProblemGroup;
 
 import javax.inject.Inject;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Core class that defines the root of the tableau scripting DSL.
  * This class does not provide any functionality, other than being the root of the DSL.
  * <p>
  *     Statically this class provides an API to register an retrieve DSL extensions for a given project.
+ * <p>
+ *     DSL components can also be registered on demand, in which case the component is only created, by running its
+ *     activation, the first time it is accessed.
  */
 @SuppressWarnings("UnstableApiUsage")
 public abstract class TableauScriptingExtension implements ExtensionAware {
 
     private static final ProblemGroup ROOT_GROUP = ProblemGroup.create("tableau", "Tableau");
 
+    private final Map<String, OnDemandComponent> onDemandComponents = new LinkedHashMap<>();
+
     /**
      * Creates a new root DSL scripting extension.
      */
@@ -55,7 +65,15 @@ public abstract class TableauScriptingExtension implements ExtensionAware {
      * @param <T> the type of the extension
      */
     public static <T> T get(final Project project, final Class<T> type) {
-        return get(project).getExtensions().getByType(type);
+        final TableauScriptingExtension extension = get(project);
+        final T component = extension.getExtensions().findByType(type);
+        if (component != null) {
+            return component;
+        }
+
+        //The component might be registered on demand, only the registrations which provide the type are activated.
+        extension.activateProviding(type);
+        return extension.getExtensions().getByType(type);
     }
 
     /**
@@ -75,8 +93,95 @@ public abstract class TableauScriptingExtension implements ExtensionAware {
         return get(project).getExtensions().create(name, type, args);
     }
 
+    /**
+     * Registers a DSL component with the given name for the given project, which is only created on demand.
+     * <p>
+     * The activation is run the first time the component is accessed, by name or by type, and is expected to register
+     * the component under the given name and type.
+     *
+     * @param project the project to register the component to
+     * @param name the name of the component
+     * @param type the type of the component
+     * @param activation the action which registers the component
+     */
+    public static void registerOnDemand(final Project project, final String name, final Class<?> type, final Runnable activation) {
+        if (!project.getPlugins().hasPlugin(ScriptingPlugin.class))
+            project.getPlugins().apply(ScriptingPlugin.class);
+
+        get(project).onDemandComponents.put(name, new OnDemandComponent(type, activation));
+    }
+
+    /**
+     * Activates the on demand DSL component with the given name, if it has not been activated yet.
+     *
+     * @param name the name of the component
+     * @return true when the component was activated by this call, false when it was not registered on demand or already activated
+     */
+    public boolean activate(final String name) {
+        final OnDemandComponent component = onDemandComponents.remove(name);
+        if (component == null) {
+            return false;
+        }
+
+        component.activation().run();
+        return true;
+    }
+
+    /**
+     * Activates the on demand DSL components which provide the given type, if they have not been activated yet.
+     *
+     * @param type the type of the component
+     */
+    public void activateProviding(final Class<?> type) {
+        onDemandComponents.entrySet().stream()
+                .filter(entry -> type.isAssignableFrom(entry.getValue().type()))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(this::activate);
+    }
+
+    /**
+     * Invoked by the Groovy DSL when a property which does not exist is accessed.
+     * Activates the on demand DSL component with the given name, and returns it.
+     *
+     * @param name the name of the property
+     * @return the activated component
+     */
+    public Object propertyMissing(final String name) {
+        if (!activate(name)) {
+            throw new MissingPropertyException(name, TableauScriptingExtension.class);
+        }
+
+        return getExtensions().getByName(name);
+    }
+
+    /**
+     * Invoked by the Groovy DSL when a method which does not exist is called, for example to configure a component.
+     * Activates the on demand DSL component with the given name, and invokes the method again.
+     *
+     * @param name the name of the method
+     * @param args the arguments of the method
+     * @return the result of the method
+     */
+    public Object methodMissing(final String name, final Object args) {
+        if (!activate(name)) {
+            throw new MissingMethodException(name, TableauScriptingExtension.class, InvokerHelper.asArray(args));
+        }
+
+        return InvokerHelper.invokeMethod(this, name, args);
+    }
+
     /**
      * The name of the TableauScripting extension.
      */
     public static final String EXTENSION_NAME = "tableau";
+
+    /**
+     * A DSL component which is registered on demand.
+     *
+     * @param type the type of the component
+     * @param activation the action which registers the component
+     */
+    private record OnDemandComponent(Class<?> type, Runnable activation) {
+    }
 }
@@ -0,0 +1,233 @@
+package com.ldtteam.tableau.scripting.profiling;
+
+import groovy.json.JsonOutput;
+import org.gradle.api.Action;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Build service which records how much time Tableau spends configuring each project.
+ * <p>
+ * Profiling is enabled with the {@value #PROPERTY} Gradle property. When enabled, the wall time and count of every
+ * measured plugin application, feature, after evaluate hook and value source is recorded per project. Measured actions
+ * often run other measured actions, so next to the total time, which includes those, the self time of every action is
+ * recorded, which does not. At the end of the build a JSON report is written to {@value #REPORT_FILE} in the root
+ * project, and a summary of the actions with the highest self time is logged. When disabled, measured actions are
+ * simply run.
+ */
+public abstract class ConfigurationProfiler implements BuildService<ConfigurationProfiler.Parameters>, AutoCloseable {
+
+    private static final Logger LOGGER = Logging.getLogger(ConfigurationProfiler.class);
+
+    /**
+     * The Gradle property which enables profiling.
+     */
+    public static final String PROPERTY = "tableau.profiling";
+
+    /**
+     * The name under which the service is registered.
+     */
+    public static final String SERVICE_NAME = "tableauConfigurationProfiler";
+
+    /**
+     * The file, relative to the root project directory, the report is written to.
+     */
+    public static final String REPORT_FILE = "build/reports/tableau/configuration-profile.json";
+
+    private static final int SUMMARY_SIZE = 10;
+
+    private final Map<Key, Measurement> measurements = new ConcurrentHashMap<>();
+
+    /**
+     * The time spent in measured actions nested in the innermost running measured action, per thread.
+     */
+    private final ThreadLocal<Deque<AtomicLong>> nested = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * Creates a new service.
+     */
+    public ConfigurationProfiler() {
+    }
+
+    /**
+     * Registers the service with the build of the given project, if it is not already registered.
+     *
+     * @param project The project whose build to register the service with.
+     * @return The provider for the service.
+     */
+    public static Provider<ConfigurationProfiler> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(SERVICE_NAME, ConfigurationProfiler.class, spec -> {
+            spec.getParameters().getEnabled().set(project.getProviders().gradleProperty(PROPERTY).map(Boolean::parseBoolean).orElse(false));
+            spec.getParameters().getReportFile().set(project.getIsolated().getRootProject().getProjectDirectory().file(REPORT_FILE));
+        });
+    }
+
+    /**
+     * Measures the given action for the given project.
+     *
+     * @param project  The project the action configures.
+     * @param category The category of the action, for example {@code plugin} or {@code valueSource}.
+     * @param name     The name of the action.
+     * @param action   The action to measure.
+     */
+    public static void profile(Project project, String category, String name, Runnable action) {
+        register(project).get().record(project.getPath(), category, name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Registers an after evaluate hook on the given project, which is measured.
+     *
+     * @param project The project to register the hook on.
+     * @param name    The name of the hook.
+     * @param action  The hook.
+     */
+    public static void afterEvaluate(Project project, String name, Action<? super Project> action) {
+        final Provider<ConfigurationProfiler> profiler = register(project);
+        project.afterEvaluate(evaluated -> profiler.get().record(evaluated.getPath(), "afterEvaluate", name, () -> {
+            action.execute(evaluated);
+            return null;
+        }));
+    }
+
+    /**
+     * Measures the given action.
+     *
+     * @param projectPath The path of the project the action is for.
+     * @param category    The category of the action, for example {@code plugin} or {@code valueSource}.
+     * @param name        The name of the action.
+     * @param action      The action to measure.
+     * @param <T>         The type of the result of the action.
+     * @return The result of the action.
+     */
+    public <T> T record(String projectPath, String category, String name, Supplier<T> action) {
+        if (!getParameters().getEnabled().get()) {
+            return action.get();
+        }
+
+        final Deque<AtomicLong> stack = nested.get();
+        final AtomicLong nestedTime = new AtomicLong();
+        stack.push(nestedTime);
+        final long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            final long duration = System.nanoTime() - start;
+            stack.pop();
+            if (!stack.isEmpty()) {
+                stack.peek().addAndGet(duration);
+            }
+            measurements.computeIfAbsent(new Key(projectPath, category, name), key -> new Measurement()).add(duration, duration - nestedTime.get());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (measurements.isEmpty()) {
+            return;
+        }
+
+        final List<Map.Entry<Key, Measurement>> entries = new ArrayList<>(measurements.entrySet());
+        entries.sort(Map.Entry.comparingByKey(Comparator.comparing(Key::project).thenComparing(Key::category).thenComparing(Key::name)));
+
+        final Map<String, List<Map<String, Object>>> projects = new TreeMap<>();
+        for (final Map.Entry<Key, Measurement> entry : entries) {
+            final Map<String, Object> measurement = new LinkedHashMap<>();
+            measurement.put("category", entry.getKey().category());
+            measurement.put("name", entry.getKey().name());
+            measurement.put("count", entry.getValue().count.sum());
+            measurement.put("totalMillis", toMillis(entry.getValue().total.sum()));
+            measurement.put("selfMillis", toMillis(entry.getValue().self.sum()));
+            measurement.put("maxMillis", toMillis(entry.getValue().max.get()));
+            projects.computeIfAbsent(entry.getKey().project(), project -> new ArrayList<>()).add(measurement);
+        }
+
+        final Path reportFile = getParameters().getReportFile().get().getAsFile().toPath();
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.writeString(reportFile, JsonOutput.prettyPrint(JsonOutput.toJson(Map.of("projects", projects))));
+        } catch (IOException e) {
+            //The report is diagnostic only, failing to write it should never fail the build.
+            LOGGER.warn("Failed to write the Tableau configuration profile to: {}", reportFile, e);
+            return;
+        }
+
+        //Sorted by self time, the total time of an action includes the actions it runs, and would count them twice.
+        entries.sort(Map.Entry.comparingByValue(Comparator.comparingLong((Measurement measurement) -> measurement.self.sum()).reversed()));
+        final StringBuilder summary = new StringBuilder("Tableau configuration profile, written to ").append(reportFile).append(System.lineSeparator())
+                .append("  %13s  %13s  %6s  %s%n".formatted("self", "total", "count", "action"));
+        entries.stream().limit(SUMMARY_SIZE).forEach(entry -> summary.append("  %10.2f ms  %10.2f ms  %4d x  %s %s %s%n".formatted(
+                toMillis(entry.getValue().self.sum()),
+                toMillis(entry.getValue().total.sum()),
+                entry.getValue().count.sum(),
+                entry.getKey().project(),
+                entry.getKey().category(),
+                entry.getKey().name())));
+        LOGGER.lifecycle(summary.toString().stripTrailing());
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000d) / 1_000d;
+    }
+
+    /**
+     * The parameters of the service.
+     */
+    public interface Parameters extends BuildServiceParameters {
+
+        /**
+         * Whether measurements are recorded.
+         *
+         * @return True when profiling is enabled.
+         */
+        Property<Boolean> getEnabled();
+
+        /**
+         * The file the report is written to.
+         *
+         * @return The report file.
+         */
+        RegularFileProperty getReportFile();
+    }
+
+    private record Key(String project, String category, String name) {
+    }
+
+    private static final class Measurement {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAdder self = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private void add(long duration, long selfDuration) {
+            count.increment();
+            total.add(duration);
+            self.add(selfDuration);
+            max.accumulateAndGet(duration, Math::max);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.ldtteam.tableau.scripting.profiling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import groovy.json.JsonSlurper;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConfigurationProfilerTest {
+
+    @TempDir
+    private File projectDir;
+
+    private File reportFile() {
+        return new File(projectDir, ConfigurationProfiler.REPORT_FILE);
+    }
+
+    private ConfigurationProfiler profiler(boolean enabled) {
+        final Project project = ProjectBuilder.builder().withProjectDir(projectDir).build();
+        return project.getGradle().getSharedServices().registerIfAbsent(ConfigurationProfiler.SERVICE_NAME, ConfigurationProfiler.class, spec -> {
+            spec.getParameters().getEnabled().set(enabled);
+            spec.getParameters().getReportFile().set(reportFile());
+        }).get();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> report() {
+        final Map<String, Object> report = (Map<String, Object>) new JsonSlurper().parse(reportFile());
+        final Map<String, List<Map<String, Object>>> projects = (Map<String, List<Map<String, Object>>>) report.get("projects");
+        final List<Map<String, Object>> measurements = projects.get(":");
+        return measurements.stream().collect(Collectors.toMap(measurement -> measurement.get("category") + " " + measurement.get("name"), measurement -> measurement));
+    }
+
+    private static double millis(Map<String, Object> measurement, String field) {
+        return ((Number) measurement.get(field)).doubleValue();
+    }
+
+    @Test
+    public void testDisabledProfilerOnlyRunsActions() {
+        final ConfigurationProfiler profiler = profiler(false);
+
+        assertEquals("result", profiler.record(":", "plugin", "Test", () -> "result"));
+        profiler.close();
+
+        assertFalse(reportFile().exists());
+    }
+
+    @Test
+    public void testEnabledProfilerWritesReport() {
+        final ConfigurationProfiler profiler = profiler(true);
+
+        assertEquals("result", profiler.record(":", "plugin", "Test", () -> "result"));
+        profiler.record(":", "plugin", "Test", () -> null);
+        profiler.record(":", "afterEvaluate", "Hook", () -> null);
+        profiler.close();
+
+        assertTrue(reportFile().isFile());
+        final Map<String, Map<String, Object>> report = report();
+        assertEquals(2, report.size());
+
+        final Map<String, Object> plugin = report.get("plugin Test");
+        assertEquals("plugin", plugin.get("category"));
+        assertEquals("Test", plugin.get("name"));
+        assertEquals(2, ((Number) plugin.get("count")).intValue());
+        assertEquals(List.of("category", "name", "count", "totalMillis", "selfMillis", "maxMillis"), List.copyOf(plugin.keySet()));
+        assertEquals(1, ((Number) report.get("afterEvaluate Hook").get("count")).intValue());
+    }
+
+    @Test
+    public void testNestedActionsAreNotCountedAsSelfTime() {
+        final ConfigurationProfiler profiler = profiler(true);
+
+        profiler.record(":", "plugin", "Outer", () -> {
+            profiler.record(":", "feature", "Inner", () -> {
+                sleep(100);
+                return null;
+            });
+            return null;
+        });
+        profiler.close();
+
+        final Map<String, Map<String, Object>> report = report();
+        final Map<String, Object> outer = report.get("plugin Outer");
+        final Map<String, Object> inner = report.get("feature Inner");
+
+        assertTrue(millis(inner, "selfMillis") >= 100);
+        assertEquals(millis(inner, "totalMillis"), millis(inner, "selfMillis"));
+        assertTrue(millis(outer, "totalMillis") >= millis(inner, "totalMillis"));
+        assertTrue(millis(outer, "selfMillis") < 50, "The outer action only ran the inner action, but has a self time of %s ms".formatted(outer.get("selfMillis")));
+    }
+
+    @Test
+    public void testFailingActionIsMeasured() {
+        final ConfigurationProfiler profiler = profiler(true);
+
+        try {
+            profiler.record(":", "plugin", "Outer", () -> profiler.record(":", "plugin", "Failing", () -> {
+                throw new IllegalStateException("Failure");
+            }));
+        } catch (IllegalStateException expected) {
+            //The failure is rethrown, but still measured.
+        }
+        profiler.record(":", "plugin", "After", () -> null);
+        profiler.close();
+
+        final Map<String, Map<String, Object>> report = report();
+        assertEquals(1, ((Number) report.get("plugin Failing").get("count")).intValue());
+        assertEquals(1, ((Number) report.get("plugin Outer").get("count")).intValue());
+        assertEquals(1, ((Number) report.get("plugin After").get("count")).intValue());
+    }
+}
@@ -9,6 +9,7 @@ import com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar;
 import com.ldtteam.tableau.extensions.NeoGradleExtension;
 import com.ldtteam.tableau.neogradle.NeoGradlePlugin;
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import com.ldtteam.tableau.shadowing.extensions.ShadowingExtension;
 import com.ldtteam.tableau.sourceset.management.extensions.SourceSetExtension;
 import org.gradle.api.Project;
@@ -69,7 +70,7 @@ public class ShadowingProjectPlugin implements Plugin<Project> {
         final Configuration implementation = project.getConfigurations().getByName(JavaPlugin.IMPLEMENTATION_CONFIGURATION_NAME);
 
         final ShadowingExtension shadow = ShadowingExtension.get(project);
-        project.afterEvaluate(ignored -> {
+        ConfigurationProfiler.afterEvaluate(project, "ShadowingProjectPlugin", ignored -> {
             configuration.setTransitive(!shadow.getUsesNoneTransitiveShadow().get());
 
             if (shadow.getExtendImplementation().get()) {
@@ -82,8 +83,7 @@ public class ShadowingProjectPlugin implements Plugin<Project> {
 
         //Needs to go through matching to ensure that the source set is lazily looked up.
         sourceSets.matching(sourceSet -> SourceSet.isMain(sourceSet.getSourceSet()))
-                .configureEach(sourceSet -> {
-                    final SourceSetExtension.SourceSetConfiguration main = sourceSets.maybeCreate(SourceSet.MAIN_SOURCE_SET_NAME);
+                .configureEach(main -> {
                     final DependencyCollectorInjector
                         inject = project.getObjects().newInstance(DependencyCollectorInjector.class);
                     final DependencyCollector collector = inject.getDependencyCollector();
@@ -1,15 +1,19 @@
 package com.ldtteam.tableau.sourceset.management.extensions;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
 import org.gradle.api.Action;
 import org.gradle.api.Named;
 import org.gradle.api.NamedDomainObjectFactory;
+import org.gradle.api.NamedDomainObjectProvider;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.dsl.Dependencies;
@@ -29,6 +33,7 @@ import org.jetbrains.annotations.NotNull;
 
 import com.ldtteam.tableau.common.extensions.ProjectExtension;
 import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import com.ldtteam.tableau.utilities.utils.DelegatingNamedDomainObjectContainer;
 
 /**
@@ -51,6 +56,12 @@ public abstract class SourceSetExtension extends DelegatingNamedDomainObjectCont
      */
     public static final String EXTENSION_NAME = "sourceSets";
 
+    //Which source sets are published or part of the primary jar is tracked by name, so that querying them only realizes
+    //the source sets which were registered as such, and not every registered source set.
+    private final Set<String> realizedNames = new LinkedHashSet<>();
+    private final Set<String> registeredAsPublished = new LinkedHashSet<>();
+    private final Set<String> registeredAsPartOfPrimaryJar = new LinkedHashSet<>();
+
     /**
      * Creates a new extension.
      *
@@ -75,93 +86,157 @@ public abstract class SourceSetExtension extends DelegatingNamedDomainObjectCont
             }
         }));
 
-        whenObjectAdded(configuration -> {
-            final SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
-            final SourceSet sourceSet = sourceSets.getByName(configuration.getName());
-            final JavaPluginExtension java = project.getExtensions().getByType(JavaPluginExtension.class);
-
-            final Configuration implementation = project.getConfigurations()
-                    .maybeCreate(sourceSet.getImplementationConfigurationName());
-            final Configuration api = project.getConfigurations()
-                    .maybeCreate(sourceSet.getApiConfigurationName());
+        configureEach(configuration -> {
+            final SourceSet sourceSet = configuration.getSourceSet();
+            realizedNames.add(configuration.getName());
 
-            final Configuration tableauImplementation = project.getConfigurations()
-                    .maybeCreate(sourceSet.getImplementationConfigurationName() + "Tableau");
-            final Configuration tableauApi = project.getConfigurations()
-                    .maybeCreate(sourceSet.getApiConfigurationName() + "Tableau");
+            final NamedDomainObjectProvider<Configuration> tableauImplementation = maybeRegister(project.getConfigurations(),
+                    sourceSet.getImplementationConfigurationName() + "Tableau");
+            final NamedDomainObjectProvider<Configuration> tableauApi = maybeRegister(project.getConfigurations(),
+                    sourceSet.getApiConfigurationName() + "Tableau");
 
-            tableauImplementation.setCanBeResolved(true);
-            tableauApi.setCanBeResolved(true);
-
-            tableauImplementation.setCanBeConsumed(false);
-            tableauApi.setCanBeConsumed(false);
+            tableauImplementation.configure(tableau -> {
+                tableau.setCanBeResolved(true);
+                tableau.setCanBeConsumed(false);
+                tableau.fromDependencyCollector(configuration.getDependencies().getImplementation());
+            });
+            tableauApi.configure(tableau -> {
+                tableau.setCanBeResolved(true);
+                tableau.setCanBeConsumed(false);
+                tableau.fromDependencyCollector(configuration.getDependencies().getApi());
+            });
 
-            implementation.extendsFrom(tableauImplementation);
-            api.extendsFrom(tableauApi);
+            maybeRegister(project.getConfigurations(), sourceSet.getImplementationConfigurationName())
+                    .configure(implementation -> implementation.extendsFrom(tableauImplementation.get()));
+            maybeRegister(project.getConfigurations(), sourceSet.getApiConfigurationName())
+                    .configure(api -> api.extendsFrom(tableauApi.get()));
+        });
 
-            project.afterEvaluate(p -> {
-                if (SourceSet.isMain(sourceSet)) {
-                    if (configuration.getIsSourcesPublished().get())
-                        java.withSourcesJar();
+        getUniversalJarSourceSets().addAll(project.provider(() -> sourceSets(registeredAsPartOfPrimaryJar, SourceSetConfiguration::getIsPartOfPrimaryJar)));
+        getPublishedSourceSets().addAll(project.provider(() -> sourceSets(registeredAsPublished, SourceSetConfiguration::getIsPublished)));
 
-                    if (configuration.getIsJavadocPublished().get())
-                        java.withJavadocJar();
+        final SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
+        getUniversalJarSourceSets().add(sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME));
+        List<SourceSet> elements = new ArrayList<>();
+        elements.add(sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME));
+        getPublishedSourceSets().convention(elements);
 
-                    return;
-                }
+        ConfigurationProfiler.afterEvaluate(project, "SourceSetExtension", p -> {
+            //Run this in an afterEval, because we need a group configured, which is not available at apply and construction time.
+            //The main source set is always needed, so it is registered and realized here.
+            maybeRegister(SourceSet.MAIN_SOURCE_SET_NAME, main -> main.getResources().srcDir(ProjectExtension.get(project).getModId().map("src/datagen/generated/%s"::formatted)))
+                    .get();
+
+            //Source sets which were registered as published or as part of the primary jar are needed by the jar and publishing
+            //configuration, so they are realized here, before it runs. Other registered source sets stay unrealized.
+            Stream.concat(registeredAsPublished.stream(), registeredAsPartOfPrimaryJar.stream())
+                    .toList()
+                    .forEach(this::getByName);
+
+            //Every realized source set becomes a feature. The project can not be mutated from the lazy configuration of
+            //a source set, so this is done here, for all source sets at once.
+            final JavaPluginExtension java = project.getExtensions().getByType(JavaPluginExtension.class);
+            List.copyOf(realizedNames).forEach(name -> configureFeature(java, getByName(name)));
+        });
+    }
 
-                java.registerFeature(sourceSet.getName(), feature -> {
-                    feature.usingSourceSet(sourceSet);
+    /**
+     * Configures the publishing feature of the given source set.
+     * <p>
+     * The main source set publishes its sources and javadoc jars through the java component itself, every other source
+     * set becomes a feature of it.
+     *
+     * @param java          The java extension of the project.
+     * @param configuration The source set.
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    private static void configureFeature(final JavaPluginExtension java, final SourceSetConfiguration configuration) {
+        final SourceSet sourceSet = configuration.getSourceSet();
+        if (SourceSet.isMain(sourceSet)) {
+            if (configuration.getIsSourcesPublished().get())
+                java.withSourcesJar();
 
-                    if (configuration.getIsSourcesPublished().get())
-                        feature.withSourcesJar();
+            if (configuration.getIsJavadocPublished().get())
+                java.withJavadocJar();
 
-                    if (configuration.getIsJavadocPublished().get())
-                        feature.withJavadocJar();
-                });
-            });
+            return;
+        }
 
-            getUniversalJarSourceSets().addAll(
-                    configuration.getIsPartOfPrimaryJar()
-                            .map(isPartOfUniversalJar -> isPartOfUniversalJar ? sourceSet : null)
-                            .filter(Objects::nonNull)
-                            .map(Collections::singletonList)
-                            .orElse(Collections.emptyList())
-            );
+        java.registerFeature(sourceSet.getName(), feature -> {
+            feature.usingSourceSet(sourceSet);
 
-            getPublishedSourceSets().addAll(
-                    configuration.getIsPublished()
-                            .map(isPublished -> isPublished ? sourceSet : null)
-                            .filter(Objects::nonNull)
-                            .map(Collections::singletonList)
-                            .orElse(Collections.emptyList())
-            );
+            if (configuration.getIsSourcesPublished().get())
+                feature.withSourcesJar();
 
-            tableauImplementation.fromDependencyCollector(configuration.getDependencies().getImplementation());
-            tableauApi.fromDependencyCollector(configuration.getDependencies().getApi());
+            if (configuration.getIsJavadocPublished().get())
+                feature.withJavadocJar();
         });
+    }
 
-        final SourceSetContainer sourceSets = project.getExtensions().getByType(SourceSetContainer.class);
-        getUniversalJarSourceSets().add(sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME));
-        List<SourceSet> elements = new ArrayList<>();
-        elements.add(sourceSets.getByName(SourceSet.MAIN_SOURCE_SET_NAME));
-        getPublishedSourceSets().convention(elements);
+    /**
+     * Collects the source sets whose flag is set, from the realized source sets and the given registered ones.
+     * <p>
+     * Only the registered source sets are realized, the flag of a source set which is neither realized nor registered
+     * with it can not be set.
+     *
+     * @param registered The names of the source sets which were registered with the flag.
+     * @param flag       The flag.
+     * @return The source sets.
+     */
+    private List<SourceSet> sourceSets(final Set<String> registered, final Function<SourceSetConfiguration, Property<Boolean>> flag) {
+        final Set<String> names = new LinkedHashSet<>(realizedNames);
+        names.addAll(registered);
+
+        return names.stream()
+                .map(this::getByName)
+                .filter(configuration -> flag.apply(configuration).get())
+                .map(SourceSetConfiguration::getSourceSet)
+                .toList();
+    }
 
-        project.afterEvaluate(p -> {
-            //Run this in an afterEval, because we need a group configured, which is not available at apply and construction time.
-            final SourceSetConfiguration main = maybeCreate(SourceSet.MAIN_SOURCE_SET_NAME);
+    /**
+     * Registers a source set, which is published when the given flag is set.
+     * <p>
+     * Unlike setting {@link SourceSetConfiguration#getIsPublished()} in the configuration action, the source set is
+     * known to be published without realizing it, so it is included in the {@link #getPublishedSourceSets() published
+     * source sets} even when nothing else realizes it.
+     *
+     * @param name      The name of the source set.
+     * @param published Indicates whether the source set is published.
+     * @param action    The configuration action.
+     * @return The provider for the source set.
+     */
+    public NamedDomainObjectProvider<SourceSetConfiguration> register(final String name, final boolean published, final Action<? super SourceSetConfiguration> action) {
+        if (published) {
+            registeredAsPublished.add(name);
+        }
 
-            main.getResources().srcDir(ProjectExtension.get(project).getModId().map("src/datagen/generated/%s"::formatted));
+        return register(name, configuration -> {
+            configuration.getIsPublished().set(published);
+            action.execute(configuration);
         });
     }
 
+    /**
+     * Registers a source set, which is published when the given flag is set.
+     *
+     * @param name      The name of the source set.
+     * @param published Indicates whether the source set is published.
+     * @return The provider for the source set.
+     * @see #register(String, boolean, Action)
+     */
+    public NamedDomainObjectProvider<SourceSetConfiguration> register(final String name, final boolean published) {
+        return register(name, published, configuration -> {});
+    }
+
     /**
      * Adds and configures a sourceset for an API.
      *
      * @param action The configuration action.
      */
     public void api(final Action<@NotNull SourceSetConfiguration> action) {
-         create(JavaPlugin.API_CONFIGURATION_NAME, configuration -> {
+         registeredAsPartOfPrimaryJar.add(JavaPlugin.API_CONFIGURATION_NAME);
+         register(JavaPlugin.API_CONFIGURATION_NAME, configuration -> {
             action.execute(configuration);
             configuration.getIsPartOfPrimaryJar().set(true);
          });
@@ -45,6 +45,50 @@ public class DelegatingNamedDomainObjectContainer<N> implements NamedDomainObjec
         this.delegate = delegate;
     }
 
+    /**
+     * Looks up the element with the given name in the given container, or registers it when it does not exist yet.
+     * <p>
+     * The lazy counterpart of {@link NamedDomainObjectContainer#maybeCreate(String)}, neither path realizes the element.
+     *
+     * @param container The container to look the element up in.
+     * @param name      The name of the element.
+     * @param <T>       The type of the elements in the container.
+     * @return The provider for the element.
+     */
+    public static <T> NamedDomainObjectProvider<T> maybeRegister(NamedDomainObjectContainer<T> container, String name) {
+        if (container.getNames().contains(name)) {
+            return container.named(name);
+        }
+
+        return container.register(name);
+    }
+
+    /**
+     * Looks up the element with the given name, or registers it when it does not exist yet.
+     * <p>
+     * The lazy counterpart of {@link #maybeCreate(String)}, neither path realizes the element.
+     *
+     * @param name The name of the element.
+     * @return The provider for the element.
+     */
+    public NamedDomainObjectProvider<N> maybeRegister(String name) {
+        return maybeRegister(delegate, name);
+    }
+
+    /**
+     * Looks up the element with the given name, or registers it when it does not exist yet, and configures it
+     * when it is realized.
+     *
+     * @param name                The name of the element.
+     * @param configurationAction The action which configures the element.
+     * @return The provider for the element.
+     */
+    public NamedDomainObjectProvider<N> maybeRegister(String name, Action<? super N> configurationAction) {
+        final NamedDomainObjectProvider<N> provider = maybeRegister(name);
+        provider.configure(configurationAction);
+        return provider;
+    }
+
     public boolean add(N e) {
         return delegate.add(e);
     }
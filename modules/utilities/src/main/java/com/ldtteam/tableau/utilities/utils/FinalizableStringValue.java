@@ -0,0 +1,94 @@
+package com.ldtteam.tableau.utilities.utils;
+
+import org.gradle.api.provider.Provider;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * A value, like a project version, whose {@link #toString()} returns the value of a provider.
+ * <p>
+ * Until the value is finalized every call queries the provider, so changes to its inputs are picked up.
+ * Once finalized, the provider is queried a single time and its value is returned from then on, which avoids
+ * evaluating the provider chain every time the value is converted to a string. Changes to the inputs of a finalized
+ * value are not picked up, {@link #changedValue()} detects them.
+ */
+public class FinalizableStringValue {
+
+    private final Provider<String> provider;
+    private volatile boolean finalized = false;
+    private volatile String value;
+
+    /**
+     * Creates a new value.
+     *
+     * @param provider The provider of the value.
+     */
+    public FinalizableStringValue(Provider<String> provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Finalizes the value, its inputs are no longer expected to change.
+     * <p>
+     * The provider is not queried until the value is used, so a value which is never used is never computed.
+     */
+    public void finalizeValue() {
+        finalized = true;
+    }
+
+    /**
+     * Indicates whether the value is finalized.
+     *
+     * @return True when the value is finalized.
+     */
+    public boolean isFinalized() {
+        return finalized;
+    }
+
+    /**
+     * Checks whether the inputs of the value changed after it was finalized and used.
+     * <p>
+     * Queries the provider once more, the memoized value is kept either way.
+     *
+     * @return The value the provider returns now, or {@code null} when the value was not used since it was finalized,
+     * or when it is unchanged.
+     */
+    public @Nullable String changedValue() {
+        final String memoized = value;
+        if (memoized == null) {
+            return null;
+        }
+
+        final String current = provider.getOrNull();
+        return Objects.equals(memoized, current) ? null : current;
+    }
+
+    /**
+     * Gets the provider of the value.
+     *
+     * @return The provider.
+     */
+    public Provider<String> provider() {
+        return provider;
+    }
+
+    @Override
+    public String toString() {
+        final String memoized = value;
+        if (memoized != null) {
+            return memoized;
+        }
+
+        if (!finalized) {
+            return provider.get();
+        }
+
+        synchronized (this) {
+            if (value == null) {
+                value = provider.get();
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.ldtteam.tableau.utilities.utils;
+
+import org.gradle.api.invocation.Gradle;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Access to the caches Tableau keeps in the Gradle user home, below {@value #ROOT_DIRECTORY}.
+ * <p>
+ * Every cache lives in its own directory, which contains a subdirectory per format version, so that a format change
+ * never needs to read files written by an older version. Files are written atomically, and files which can not be
+ * read are treated as missing. Reading a file marks it as used, and when a cache is written, at most once a day,
+ * files and format versions which were not used for {@link #MAX_UNUSED_AGE} are deleted.
+ */
+public final class PersistentCache {
+
+    private static final Logger LOGGER = Logging.getLogger(PersistentCache.class);
+
+    /**
+     * The directory, relative to the Gradle user home, which contains all caches of Tableau.
+     */
+    public static final String ROOT_DIRECTORY = "caches/tableau";
+
+    /**
+     * How long a file may remain unused before it is deleted.
+     */
+    public static final Duration MAX_UNUSED_AGE = Duration.ofDays(30);
+
+    private static final Duration CLEANUP_INTERVAL = Duration.ofDays(1);
+    private static final Duration USE_GRANULARITY = Duration.ofHours(1);
+    private static final String CLEANUP_MARKER = "cleanup.marker";
+    private static final String VERSION_PREFIX = "v";
+
+    /**
+     * Private constructor as this is a utility class.
+     */
+    private PersistentCache() {
+    }
+
+    /**
+     * Determines the directory of the given cache, in the Gradle user home of the given build.
+     *
+     * @param gradle  The build.
+     * @param name    The name of the cache.
+     * @param version The format version of the files in the cache.
+     * @return The directory of the cache.
+     */
+    public static File directory(Gradle gradle, String name, int version) {
+        return directory(gradle.getGradleUserHomeDir(), name, version);
+    }
+
+    /**
+     * Determines the directory of the given cache, in the given Gradle user home.
+     *
+     * @param gradleUserHome The Gradle user home.
+     * @param name           The name of the cache.
+     * @param version        The format version of the files in the cache.
+     * @return The directory of the cache.
+     */
+    public static File directory(File gradleUserHome, String name, int version) {
+        return new File(gradleUserHome, ROOT_DIRECTORY + "/" + name + "/" + VERSION_PREFIX + version);
+    }
+
+    /**
+     * Creates a file name from an arbitrary key, like an absolute path.
+     *
+     * @param key The key.
+     * @return A file name which is unique for the key.
+     */
+    public static String fileName(String key) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Reads a file of a cache, and marks it as used.
+     *
+     * @param file   The file to read.
+     * @param reader Reads the content of the file.
+     * @param <T>    The type of the content.
+     * @return The content, or {@code null} when the file does not exist or could not be read.
+     */
+    public static <T> @Nullable T read(Path file, ContentReader<T> reader) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            final T content = reader.read(input);
+            markUsed(file);
+            return content;
+        } catch (IOException | RuntimeException e) {
+            //The content is only a cache, a corrupt or truncated file is treated as missing, and rebuilt by the caller.
+            LOGGER.debug("Ignoring the unreadable cache file: {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a file of a cache.
+     * <p>
+     * The content is written to a temporary file first, which then replaces the file atomically, so that concurrent
+     * builds never observe a partially written file. Failures are logged, as a cache which could not be stored should
+     * never fail the build. When the file is part of a cache in the Gradle user home, the cache is cleaned up afterwards.
+     *
+     * @param file   The file to write.
+     * @param writer Writes the content of the file.
+     * @return True when the file was written.
+     */
+    public static boolean write(Path file, ContentWriter writer) {
+        try {
+            Files.createDirectories(file.getParent());
+
+            final Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary))) {
+                    writer.write(output);
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store the cache file: {}", file, e);
+            return false;
+        }
+
+        if (isCacheDirectory(file.getParent())) {
+            cleanUp(file.getParent());
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the files of the given cache directory, and its other format versions, which were not used recently.
+     * <p>
+     * Does nothing when the directory was cleaned up within the last day.
+     *
+     * @param directory The directory of the cache, as returned by {@link #directory(File, String, int)}.
+     */
+    public static void cleanUp(Path directory) {
+        final Path marker = directory.resolve(CLEANUP_MARKER);
+        final Instant now = Instant.now();
+        try {
+            if (Files.isRegularFile(marker) && Files.getLastModifiedTime(marker).toInstant().isAfter(now.minus(CLEANUP_INTERVAL))) {
+                return;
+            }
+
+            Files.createDirectories(directory);
+            Files.write(marker, new byte[0]);
+
+            final Instant unusedSince = now.minus(MAX_UNUSED_AGE);
+            final Path parent = directory.getParent();
+            if (isCacheDirectory(directory)) {
+                for (final Path sibling : list(parent)) {
+                    if (!sibling.equals(directory) && Files.isDirectory(sibling) && sibling.getFileName().toString().startsWith(VERSION_PREFIX)
+                            && lastUsed(sibling).isBefore(unusedSince)) {
+                        delete(sibling);
+                    }
+                }
+            }
+
+            for (final Path file : list(directory)) {
+                if (!file.equals(marker) && Files.getLastModifiedTime(file).toInstant().isBefore(unusedSince)) {
+                    delete(file);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.info("Failed to clean up the cache directory: {}", directory, e);
+        }
+    }
+
+    private static boolean isCacheDirectory(Path directory) {
+        final Path cache = directory.getParent();
+        return directory.getFileName().toString().startsWith(VERSION_PREFIX)
+                && cache != null && cache.getParent() != null
+                && cache.getParent().endsWith(ROOT_DIRECTORY);
+    }
+
+    private static void markUsed(Path file) throws IOException {
+        final Instant now = Instant.now();
+        if (Files.getLastModifiedTime(file).toInstant().isBefore(now.minus(USE_GRANULARITY))) {
+            Files.setLastModifiedTime(file, FileTime.from(now));
+        }
+    }
+
+    private static Instant lastUsed(Path directory) throws IOException {
+        Instant lastUsed = Files.getLastModifiedTime(directory).toInstant();
+        for (final Path file : list(directory)) {
+            final Instant modified = Files.getLastModifiedTime(file).toInstant();
+            if (modified.isAfter(lastUsed)) {
+                lastUsed = modified;
+            }
+        }
+        return lastUsed;
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+
+    private static void delete(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            for (final Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Reads the content of a cache file.
+     *
+     * @param <T> The type of the content.
+     */
+    @FunctionalInterface
+    public interface ContentReader<T> {
+
+        /**
+         * Reads the content from the given stream.
+         *
+         * @param input The stream to read from.
+         * @return The content.
+         * @throws IOException When the content could not be read.
+         */
+        T read(InputStream input) throws IOException;
+    }
+
+    /**
+     * Writes the content of a cache file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * Writes the content to the given stream.
+         *
+         * @param output The stream to write to.
+         * @throws IOException When the content could not be written.
+         */
+        void write(OutputStream output) throws IOException;
+    }
+}
@@ -73,4 +73,47 @@ public class UtilityFunctionsTest {
 
         assertEquals("1.3.3", result);
     }
+
+    @Test
+    public void testSplitVersionNumberDropsTrailingEmptyParts() {
+        when(utilityFunctions.splitVersionNumber(any())).thenCallRealMethod();
+
+        assertArrayEquals(new String[]{"1", "", "3"}, utilityFunctions.splitVersionNumber("1..3."));
+        assertArrayEquals(new String[]{"1"}, utilityFunctions.splitVersionNumber("1"));
+        assertArrayEquals(new String[]{""}, utilityFunctions.splitVersionNumber(""));
+        assertArrayEquals(new String[0], utilityFunctions.splitVersionNumber(".."));
+    }
+
+    @Test
+    public void testBuildVersionNumberWithOffsetDropsTrailingSeparators() {
+        when(utilityFunctions.buildVersionNumberWithOffset(
+                "1.2.3.", "1.21.4", "1.20.1", 1, 1)).thenCallRealMethod();
+
+        String result = utilityFunctions.buildVersionNumberWithOffset(
+                "1.2.3.", "1.21.4", "1.20.1", 1, 1);
+
+        assertEquals("1.3.3", result);
+    }
+
+    @Test
+    public void testBuildVersionNumberWithOffsetMissingProjectElement() {
+        when(utilityFunctions.buildVersionNumberWithOffset(
+                "1.2", "1.21.4", "1.20.1", 3, 1)).thenCallRealMethod();
+
+        String result = utilityFunctions.buildVersionNumberWithOffset(
+                "1.2", "1.21.4", "1.20.1", 3, 1);
+
+        assertEquals("1.2", result);
+    }
+
+    @Test
+    public void testBuildVersionNumberWithOffsetMissingSourceElement() {
+        when(utilityFunctions.buildVersionNumberWithOffset(
+                "1.2.3", "1.21", "1.20", 1, 2)).thenCallRealMethod();
+
+        Executable executable = () -> utilityFunctions.buildVersionNumberWithOffset(
+                "1.2.3", "1.21", "1.20", 1, 2);
+
+        assertThrows(ArrayIndexOutOfBoundsException.class, executable);
+    }
 }
@@ -0,0 +1,78 @@
+package com.ldtteam.tableau.utilities.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gradle.api.Project;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FinalizableStringValueTest {
+
+    private Property<String> input;
+    private AtomicInteger evaluations;
+    private FinalizableStringValue value;
+
+    @BeforeEach
+    public void setup() {
+        final Project project = ProjectBuilder.builder().build();
+        input = project.getObjects().property(String.class);
+        input.set("1.0.0");
+
+        evaluations = new AtomicInteger();
+        final Provider<String> provider = input.map(version -> {
+            evaluations.incrementAndGet();
+            return version;
+        });
+        value = new FinalizableStringValue(provider);
+    }
+
+    @Test
+    public void testFollowsInputsUntilFinalized() {
+        assertEquals("1.0.0", value.toString());
+
+        input.set("2.0.0");
+        assertEquals("2.0.0", value.toString());
+        assertFalse(value.isFinalized());
+    }
+
+    @Test
+    public void testEvaluatesOnceWhenFinalized() {
+        value.finalizeValue();
+        assertTrue(value.isFinalized());
+        assertEquals(0, evaluations.get());
+
+        assertEquals("1.0.0", value.toString());
+        assertEquals("1.0.0", value.toString());
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    public void testIgnoresInputChangesAfterUse() {
+        value.finalizeValue();
+        assertEquals("1.0.0", value.toString());
+
+        input.set("2.0.0");
+        assertEquals("1.0.0", value.toString());
+    }
+
+    @Test
+    public void testReportsChangesAfterUse() {
+        value.finalizeValue();
+        assertNull(value.changedValue());
+
+        assertEquals("1.0.0", value.toString());
+        assertNull(value.changedValue());
+
+        input.set("2.0.0");
+        assertEquals("2.0.0", value.changedValue());
+        assertEquals("1.0.0", value.toString());
+    }
+}
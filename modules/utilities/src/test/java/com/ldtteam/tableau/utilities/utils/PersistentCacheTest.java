@@ -0,0 +1,129 @@
+package com.ldtteam.tableau.utilities.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PersistentCacheTest {
+
+    @TempDir
+    private Path userHome;
+
+    private Path file(int version, String name) {
+        return PersistentCache.directory(userHome.toFile(), "test", version).toPath().resolve(name);
+    }
+
+    private static String readString(Path file) {
+        return PersistentCache.read(file, input -> new String(input.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static void age(Path path, Duration age) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(age)));
+    }
+
+    @Test
+    public void testWrittenFileCanBeRead() {
+        final Path file = file(1, "content.txt");
+
+        assertTrue(PersistentCache.write(file, output -> output.write("content".getBytes(StandardCharsets.UTF_8))));
+        assertEquals("content", readString(file));
+    }
+
+    @Test
+    public void testMissingFileIsNull() {
+        assertNull(readString(file(1, "missing.txt")));
+    }
+
+    @Test
+    public void testUnreadableFileIsNull() throws IOException {
+        final Path file = file(1, "corrupt.bin");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "corrupt");
+
+        assertNull(PersistentCache.read(file, input -> {
+            throw new IOException("Corrupt");
+        }));
+    }
+
+    @Test
+    public void testFailedWriteKeepsPreviousContent() {
+        final Path file = file(1, "content.txt");
+        PersistentCache.write(file, output -> output.write("previous".getBytes(StandardCharsets.UTF_8)));
+
+        assertFalse(PersistentCache.write(file, output -> {
+            output.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("Failed");
+        }));
+        assertEquals("previous", readString(file));
+    }
+
+    @Test
+    public void testReadingMarksFileAsUsed() throws IOException {
+        final Path file = file(1, "content.txt");
+        PersistentCache.write(file, output -> output.write(1));
+        age(file, Duration.ofDays(40));
+
+        readString(file);
+
+        assertTrue(Files.getLastModifiedTime(file).toInstant().isAfter(Instant.now().minus(Duration.ofDays(1))));
+    }
+
+    @Test
+    public void testCleanUpDeletesUnusedFilesAndVersions() throws IOException {
+        final Path unusedVersion = file(1, "old.bin");
+        final Path recentVersion = file(2, "recent.bin");
+        PersistentCache.write(unusedVersion, output -> output.write(1));
+        PersistentCache.write(recentVersion, output -> output.write(1));
+        age(unusedVersion, Duration.ofDays(40));
+        age(unusedVersion.getParent().resolve("cleanup.marker"), Duration.ofDays(40));
+        age(unusedVersion.getParent(), Duration.ofDays(40));
+
+        final Path unused = file(3, "unused.bin");
+        final Path used = file(3, "used.bin");
+        PersistentCache.write(unused, output -> output.write(1));
+        age(unused, Duration.ofDays(40));
+        age(unused.getParent().resolve("cleanup.marker"), Duration.ofDays(2));
+
+        PersistentCache.write(used, output -> output.write(1));
+
+        assertFalse(Files.exists(unusedVersion.getParent()));
+        assertTrue(Files.exists(recentVersion));
+        assertFalse(Files.exists(unused));
+        assertTrue(Files.exists(used));
+    }
+
+    @Test
+    public void testCleanUpRunsAtMostDaily() throws IOException {
+        final Path unused = file(1, "unused.bin");
+        PersistentCache.write(unused, output -> output.write(1));
+        age(unused, Duration.ofDays(40));
+
+        PersistentCache.write(file(1, "used.bin"), output -> output.write(1));
+
+        assertTrue(Files.exists(unused));
+    }
+
+    @Test
+    public void testFilesOutsideOfCachesAreNotCleanedUp() throws IOException {
+        final Path unused = userHome.resolve("build/v1/unused.bin");
+        PersistentCache.write(unused, output -> output.write(1));
+        age(unused, Duration.ofDays(40));
+
+        PersistentCache.write(userHome.resolve("build/v1/used.bin"), output -> output.write(1));
+
+        assertTrue(Files.exists(unused));
+        assertFalse(Files.exists(unused.getParent().resolve("cleanup.marker")));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ldtteam.tableau;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class ConfigurationCacheFunctionalTest {
+
+    private static final String[] ARGUMENTS = {"assemble", "--configuration-cache", "--stacktrace"};
+
+    @TempDir
+    private Path projectDirectory;
+
+    static List<String> examples() {
+        return ExampleProject.names();
+    }
+
+    @ParameterizedTest
+    @MethodSource("examples")
+    public void testConfigurationCacheIsReused(String example) {
+        final ExampleProject project = ExampleProject.copy(example, projectDirectory);
+
+        final BuildResult first = project.runner(ARGUMENTS).build();
+        assertTrue(first.getOutput().contains("Configuration cache entry stored."),
+                "The first build of %s did not store a configuration cache entry".formatted(example));
+
+        final BuildResult second = project.runner(ARGUMENTS).build();
+        assertTrue(second.getOutput().contains("Reusing configuration cache."),
+                "The second build of %s did not reuse the configuration cache".formatted(example));
+    }
+}
@@ -0,0 +1,162 @@
+package com.ldtteam.tableau;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import org.gradle.testkit.runner.GradleRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zaproxy.gradle.crowdin.CrowdinPlugin;
+
+/**
+ * Runs the Crowdin synchronization of the basic example against a local stub server.
+ * <p>
+ * The Crowdin plugin talks to a fixed API endpoint, so the remote call of each Crowdin task is replaced by a request
+ * to the stub server, which counts the requests per task. Everything else, including the skip decisions and the
+ * recorded source hashes, is the wiring of the plugin under test.
+ */
+public class CrowdinSynchronizationFunctionalTest {
+
+    private static final String EXAMPLE = "basic";
+
+    private static final String SOURCE = "src/main/resources/assets/modid/lang/en_us.json";
+
+    private static final String FEATURES = """
+
+            features {
+                usesCrowdin = true
+            }
+            """;
+
+    private static final String CONFIGURATION = """
+
+            tableau {
+                crowdin {
+                    projectId = 123456
+                }
+            }
+
+            tasks.matching { it.name.startsWith('crowdin') }.configureEach { task ->
+                task.actions = []
+                task.doFirst {
+                    new URL("%s/${task.name}").text
+                }
+            }
+            """;
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+
+    @TempDir
+    private Path projectDirectory;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            final String task = exchange.getRequestURI().getPath().substring(1);
+            requests.computeIfAbsent(task, ignored -> new AtomicInteger()).incrementAndGet();
+
+            exchange.sendResponseHeaders(failing.contains(task) ? 500 : 200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private ExampleProject copy() throws IOException {
+        final ExampleProject project = ExampleProject.copy(EXAMPLE, projectDirectory);
+
+        Files.writeString(projectDirectory.resolve("settings.gradle"), FEATURES, StandardOpenOption.APPEND);
+        Files.writeString(projectDirectory.resolve("build.gradle"),
+                CONFIGURATION.formatted("http://127.0.0.1:" + server.getAddress().getPort()),
+                StandardOpenOption.APPEND);
+        writeSource("{\"item.example\": \"Example\"}");
+
+        return project;
+    }
+
+    private void writeSource(String content) throws IOException {
+        final Path source = projectDirectory.resolve(SOURCE);
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, content);
+    }
+
+    private static GradleRunner synchronize(ExampleProject project) {
+        final Map<String, String> environment = new HashMap<>(System.getenv());
+        environment.put("CROWDIN_API_KEY", "stub-token");
+
+        return project.runner("processResources", "--stacktrace").withEnvironment(environment);
+    }
+
+    private int requests(String task) {
+        final AtomicInteger count = requests.get(task);
+        return count == null ? 0 : count.get();
+    }
+
+    @Test
+    public void testUnchangedSourceIsNotSynchronizedAgain() throws IOException {
+        final ExampleProject project = copy();
+
+        synchronize(project).build();
+        assertEquals(1, requests(CrowdinPlugin.UPLOAD_SOURCE_FILES_TASK_NAME));
+        assertEquals(1, requests(CrowdinPlugin.BUILD_PROJECT_TRANSLATION_TASK_NAME));
+        assertEquals(1, requests(CrowdinPlugin.COPY_PROJECT_TRANSLATIONS_TASK_NAME));
+
+        synchronize(project).build();
+        assertEquals(1, requests(CrowdinPlugin.UPLOAD_SOURCE_FILES_TASK_NAME));
+        assertEquals(1, requests(CrowdinPlugin.BUILD_PROJECT_TRANSLATION_TASK_NAME));
+        //The translations change on Crowdin even when the source does not, so they are always downloaded.
+        assertEquals(2, requests(CrowdinPlugin.COPY_PROJECT_TRANSLATIONS_TASK_NAME));
+    }
+
+    @Test
+    public void testChangedSourceIsSynchronizedAgain() throws IOException {
+        final ExampleProject project = copy();
+
+        synchronize(project).build();
+        writeSource("{\"item.example\": \"Changed example\"}");
+        synchronize(project).build();
+
+        assertEquals(2, requests(CrowdinPlugin.UPLOAD_SOURCE_FILES_TASK_NAME));
+        assertEquals(2, requests(CrowdinPlugin.BUILD_PROJECT_TRANSLATION_TASK_NAME));
+    }
+
+    @Test
+    public void testFailedTranslationBuildIsRunAgain() throws IOException {
+        final ExampleProject project = copy();
+
+        failing.add(CrowdinPlugin.BUILD_PROJECT_TRANSLATION_TASK_NAME);
+        synchronize(project).buildAndFail();
+        assertEquals(1, requests(CrowdinPlugin.UPLOAD_SOURCE_FILES_TASK_NAME));
+        assertEquals(1, requests(CrowdinPlugin.BUILD_PROJECT_TRANSLATION_TASK_NAME));
+
+        //The upload completed and is skipped, the translation build did not and runs again for the same source.
+        failing.clear();
+        synchronize(project).build();
+        assertEquals(1, requests(CrowdinPlugin.UPLOAD_SOURCE_FILES_TASK_NAME));
+        assertEquals(2, requests(CrowdinPlugin.BUILD_PROJECT_TRANSLATION_TASK_NAME));
+
+        synchronize(project).build();
+        assertEquals(2, requests(CrowdinPlugin.BUILD_PROJECT_TRANSLATION_TASK_NAME));
+    }
+}
@@ -0,0 +1,115 @@
+package com.ldtteam.tableau;
+
+import org.gradle.testkit.runner.GradleRunner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A copy of one of the projects in the {@code examples} directory, prepared to run against the plugin under test.
+ * <p>
+ * The examples normally load Tableau through the bootstrap plugin from a local repository, the copies apply the
+ * plugin under test directly instead, so no publishing is required before running the functional tests.
+ */
+final class ExampleProject {
+
+    private static final String EXAMPLES_PROPERTY = "tableau.examples";
+
+    private static final Set<String> EXCLUDED_DIRECTORIES = Set.of(".gradle", "build", "run", "runs");
+
+    private static final Pattern PLUGIN_MANAGEMENT = Pattern.compile("pluginManagement\\s*\\{.*?\\n}\\s*", Pattern.DOTALL);
+    private static final Pattern BOOTSTRAP_PLUGIN = Pattern.compile("id\\s+['\"]com\\.ldtteam\\.tableau['\"]\\s+version\\s+['\"][^'\"]+['\"]");
+    private static final String PLUGIN_UNDER_TEST = "id 'com.ldtteam.tableau.all'";
+
+    private final Path directory;
+
+    private ExampleProject(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Lists the names of all example projects.
+     *
+     * @return The names of the example projects.
+     */
+    static List<String> names() {
+        try (Stream<Path> examples = Files.list(examplesDirectory())) {
+            return examples.filter(example -> Files.isRegularFile(example.resolve("settings.gradle")))
+                    .map(example -> example.getFileName().toString())
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list the example projects", e);
+        }
+    }
+
+    /**
+     * Copies the given example into the target directory, and rewrites its settings to apply the plugin under test.
+     *
+     * @param name   The name of the example.
+     * @param target The directory to copy the example into.
+     * @return The prepared example project.
+     */
+    static ExampleProject copy(String name, Path target) {
+        final Path source = examplesDirectory().resolve(name);
+        try (Stream<Path> files = Files.walk(source)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                final Path relative = source.relativize(file);
+                if (isExcluded(relative)) {
+                    continue;
+                }
+
+                final Path destination = target.resolve(relative.toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+
+            final Path settings = target.resolve("settings.gradle");
+            String content = Files.readString(settings);
+            content = PLUGIN_MANAGEMENT.matcher(content).replaceFirst("");
+            content = BOOTSTRAP_PLUGIN.matcher(content).replaceFirst(PLUGIN_UNDER_TEST);
+            Files.writeString(settings, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to copy the example project: " + name, e);
+        }
+
+        return new ExampleProject(target);
+    }
+
+    /**
+     * Creates a runner for this example, which has the plugin under test on its classpath.
+     *
+     * @param arguments The arguments to run the build with.
+     * @return The runner.
+     */
+    GradleRunner runner(String... arguments) {
+        return GradleRunner.create()
+                .withProjectDir(directory.toFile())
+                .withPluginClasspath()
+                .withArguments(arguments)
+                .forwardOutput();
+    }
+
+    private static boolean isExcluded(Path relative) {
+        return relative.getNameCount() > 0 && EXCLUDED_DIRECTORIES.contains(relative.getName(0).toString());
+    }
+
+    private static Path examplesDirectory() {
+        final String examples = System.getProperty(EXAMPLES_PROPERTY);
+        if (examples == null) {
+            throw new IllegalStateException("The %s system property is not set".formatted(EXAMPLES_PROPERTY));
+        }
+
+        return Path.of(examples);
+    }
+}
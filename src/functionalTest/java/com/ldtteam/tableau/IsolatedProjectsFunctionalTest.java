@@ -0,0 +1,28 @@
+package com.ldtteam.tableau;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Path;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IsolatedProjectsFunctionalTest {
+
+    private static final String EXAMPLE = "multi-project";
+
+    @TempDir
+    private Path projectDirectory;
+
+    @Test
+    public void testMultiProjectConfiguresWithIsolatedProjects() {
+        final ExampleProject project = ExampleProject.copy(EXAMPLE, projectDirectory);
+
+        //Isolation violations are reported as configuration cache problems, which fail the build.
+        final BuildResult result = project.runner("assemble", "-Dorg.gradle.unsafe.isolated-projects=true", "--stacktrace").build();
+
+        assertFalse(result.getOutput().contains("problems were found"),
+                "Configuring %s under isolated projects reported problems".formatted(EXAMPLE));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ldtteam.tableau;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JarContentsFunctionalTest {
+
+    private static final String EXAMPLE = "basic";
+
+    @TempDir
+    private Path projectDirectory;
+
+    private List<Path> jars(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(projectDirectory.resolve("build/libs"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .filter(file -> {
+                        final String name = file.getFileName().toString();
+                        return suffix.isEmpty()
+                                ? !name.endsWith("-sources.jar") && !name.endsWith("-javadoc.jar")
+                                : name.endsWith(suffix);
+                    })
+                    .toList();
+        }
+    }
+
+    private static void assertContains(Path jar, String... entries) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            for (final String entry : entries) {
+                assertNotNull(file.getEntry(entry), "%s does not contain %s".formatted(jar.getFileName(), entry));
+            }
+        }
+    }
+
+    @Test
+    public void testAssembledJarsContainTheirContent() throws IOException {
+        final ExampleProject project = ExampleProject.copy(EXAMPLE, projectDirectory);
+
+        project.runner("assemble", "--stacktrace").build();
+
+        final List<Path> main = jars("");
+        assertEquals(1, main.size(), "Expected a single primary jar, found: " + main);
+        assertContains(main.get(0), "META-INF/MANIFEST.MF", "net/ldtteam/example/ExampleMod.class");
+        try (JarFile file = new JarFile(main.get(0).toFile())) {
+            assertNotNull(file.getManifest());
+        }
+
+        final List<Path> sources = jars("-sources.jar");
+        assertEquals(1, sources.size(), "Expected a single sources jar, found: " + sources);
+        assertContains(sources.get(0), "net/ldtteam/example/ExampleMod.java");
+
+        final List<Path> javadoc = jars("-javadoc.jar");
+        assertEquals(1, javadoc.size(), "Expected a single javadoc jar, found: " + javadoc);
+        assertContains(javadoc.get(0), "index.html");
+    }
+}
@@ -0,0 +1,109 @@
+package com.ldtteam.tableau;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OnDemandFeaturesFunctionalTest {
+
+    private static final String EXAMPLE = "basic";
+
+    private static final String FEATURES = """
+
+            features {
+                usesCurse = true
+                activatesOnDemand = true
+            }
+            """;
+
+    private static final String REPORT = """
+
+            println "curseforge applied: ${pluginManager.hasPlugin('com.ldtteam.tableau.curseforge')}"
+            """;
+
+    @TempDir
+    private Path projectDirectory;
+
+    private ExampleProject copy(String configuration) throws IOException {
+        final ExampleProject project = ExampleProject.copy(EXAMPLE, projectDirectory);
+
+        Files.writeString(projectDirectory.resolve("settings.gradle"), FEATURES, StandardOpenOption.APPEND);
+        Files.writeString(projectDirectory.resolve("build.gradle"), configuration + REPORT, StandardOpenOption.APPEND);
+
+        return project;
+    }
+
+    @Test
+    public void testFeatureIsNotAppliedWhenUnused() throws IOException {
+        final ExampleProject project = copy("");
+
+        final BuildResult result = project.runner("help", "--stacktrace").build();
+
+        assertTrue(result.getOutput().contains("curseforge applied: false"));
+    }
+
+    @Test
+    public void testFeatureIsAppliedWhenConfigured() throws IOException {
+        final ExampleProject project = copy("""
+
+                tableau {
+                    curse {
+                        debug = true
+                    }
+                }
+                """);
+
+        final BuildResult result = project.runner("help", "--stacktrace").build();
+
+        assertTrue(result.getOutput().contains("curseforge applied: true"));
+    }
+
+    @Test
+    public void testFeatureIsAppliedWhenAccessed() throws IOException {
+        final ExampleProject project = copy("""
+
+                tableau.curse.debug = true
+                """);
+
+        final BuildResult result = project.runner("help", "--stacktrace").build();
+
+        assertTrue(result.getOutput().contains("curseforge applied: true"));
+    }
+
+    @Test
+    public void testFeatureIsAppliedWhenItsTaskIsRequestedByPrefix() throws IOException {
+        final ExampleProject project = copy("");
+
+        final BuildResult byName = project.runner("cursef", "--dry-run", "-Pcurse.id=123456", "--stacktrace").build();
+        assertTrue(byName.getOutput().contains("curseforge applied: true"));
+
+        final BuildResult byPath = project.runner(":curseforg", "--dry-run", "-Pcurse.id=123456", "--stacktrace").build();
+        assertTrue(byPath.getOutput().contains("curseforge applied: true"));
+    }
+
+    @Test
+    public void testFeatureIsAppliedWhenTheTaskItHooksIntoIsRequested() throws IOException {
+        final ExampleProject project = copy("");
+
+        //Only the decision to apply the plugin is checked, publishing itself needs a git repository and credentials.
+        final BuildResult result = project.runner("publish", "--dry-run", "-Pcurse.id=123456", "--stacktrace").run();
+
+        assertTrue(result.getOutput().contains("curseforge applied: true"));
+    }
+
+    @Test
+    public void testFeatureIsNotAppliedForOtherPublishingTasks() throws IOException {
+        final ExampleProject project = copy("");
+
+        final BuildResult result = project.runner("publishToMavenLocal", "--dry-run", "--stacktrace").run();
+
+        assertTrue(result.getOutput().contains("curseforge applied: false"));
+    }
+}
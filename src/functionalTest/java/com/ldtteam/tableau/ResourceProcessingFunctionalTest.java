@@ -0,0 +1,101 @@
+package com.ldtteam.tableau;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResourceProcessingFunctionalTest {
+
+    private static final String EXAMPLE = "basic";
+
+    private static final String TEMPLATE = "minecraft = ${mcVersion}, literal = ${notAProperty}\n";
+
+    @TempDir
+    private Path projectDirectory;
+
+    private ExampleProject copy(String configuration) throws IOException {
+        final ExampleProject project = ExampleProject.copy(EXAMPLE, projectDirectory);
+
+        final Path template = projectDirectory.resolve("src/main/resources/template.txt");
+        Files.createDirectories(template.getParent());
+        Files.writeString(template, TEMPLATE);
+        Files.writeString(projectDirectory.resolve("build.gradle"), configuration, StandardOpenOption.APPEND);
+
+        return project;
+    }
+
+    private String processed() throws IOException {
+        return Files.readString(projectDirectory.resolve("build/resources/main/template.txt"));
+    }
+
+    @Test
+    public void testResourcesAreNotInterpolatedWithoutMatching() throws IOException {
+        final ExampleProject project = copy("");
+
+        final BuildResult result = project.runner("processResources", "--stacktrace").build();
+
+        assertEquals(TaskOutcome.NO_SOURCE, result.task(":interpolateResources").getOutcome());
+        assertEquals(TEMPLATE, processed());
+    }
+
+    @Test
+    public void testReferencedVersionChangeInterpolatesAgain() throws IOException {
+        final ExampleProject project = copy("""
+
+                tableau {
+                    resourceProcessing {
+                        matching '**/template.txt'
+                        streaming()
+                    }
+                }
+                """);
+
+        final BuildResult first = project.runner("processResources", "--no-build-cache", "-Pminecraft.version.minimal=1.21.0", "--stacktrace").build();
+        assertEquals(TaskOutcome.SUCCESS, first.task(":interpolateResources").getOutcome());
+        assertEquals("minecraft = [1.21.0,1.21.3]), literal = ${notAProperty}\n", processed());
+
+        final BuildResult unchanged = project.runner("processResources", "--no-build-cache", "-Pminecraft.version.minimal=1.21.0", "--stacktrace").build();
+        assertEquals(TaskOutcome.UP_TO_DATE, unchanged.task(":interpolateResources").getOutcome());
+
+        final BuildResult changed = project.runner("processResources", "--no-build-cache", "-Pminecraft.version.minimal=1.21.1", "--stacktrace").build();
+        assertEquals(TaskOutcome.SUCCESS, changed.task(":interpolateResources").getOutcome());
+        assertEquals("minecraft = [1.21.1,1.21.3]), literal = ${notAProperty}\n", processed());
+    }
+
+    @Test
+    public void testReferencedVersionChangeOnlyInterpolatesItsResources() throws IOException {
+        final ExampleProject project = copy("""
+
+                tableau {
+                    resourceProcessing {
+                        matching '**/template.txt', '**/greeting.txt'
+                        properties.put('greeting', 'hello')
+                        streaming()
+                    }
+                }
+                """);
+        Files.writeString(projectDirectory.resolve("src/main/resources/greeting.txt"), "greeting = ${greeting}\n");
+
+        project.runner("processResources", "--no-build-cache", "-Pminecraft.version.minimal=1.21.0", "--stacktrace").build();
+        final Path greeting = projectDirectory.resolve("build/interpolatedResources/main/greeting.txt");
+        assertEquals("greeting = hello\n", Files.readString(greeting));
+
+        //A resource which is rendered again gets a new modification time, the others keep this one.
+        final FileTime marker = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(greeting, marker);
+
+        final BuildResult changed = project.runner("processResources", "--no-build-cache", "-Pminecraft.version.minimal=1.21.1", "--stacktrace").build();
+        assertEquals(TaskOutcome.SUCCESS, changed.task(":interpolateResources").getOutcome());
+        assertEquals("minecraft = [1.21.1,1.21.3]), literal = ${notAProperty}\n", processed());
+        assertEquals(marker, Files.getLastModifiedTime(greeting));
+    }
+}
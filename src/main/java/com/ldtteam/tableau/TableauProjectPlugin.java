@@ -4,6 +4,7 @@ import com.ldtteam.tableau.changelog.ChangelogPlugin;
 import com.ldtteam.tableau.common.CommonPlugin;
 import com.ldtteam.tableau.crowdin.CrowdinPlugin;
 import com.ldtteam.tableau.curseforge.CurseForgePlugin;
+import com.ldtteam.tableau.curseforge.extensions.CurseForgeExtension;
 import com.ldtteam.tableau.extensions.ModuleFeatures;
 import com.ldtteam.tableau.features.FeaturePluginManager;
 import com.ldtteam.tableau.git.GitPlugin;
@@ -14,8 +15,10 @@ import com.ldtteam.tableau.local.file.configuration.LocalFileConfigurationPlugin
 import com.ldtteam.tableau.maven.publishing.MavenPublishingPlugin;
 import com.ldtteam.tableau.neogradle.NeoGradlePlugin;
 import com.ldtteam.tableau.parchment.ParchmentPlugin;
+import com.ldtteam.tableau.parchment.extensions.ParchmentExtension;
 import com.ldtteam.tableau.resource.processing.ResourceProcessingPlugin;
 import com.ldtteam.tableau.scripting.ScriptingPlugin;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import com.ldtteam.tableau.shadowing.ShadowingPlugin;
 import com.ldtteam.tableau.sourceset.management.SourcesetManagementPlugin;
 import com.ldtteam.tableau.utilities.UtilitiesPlugin;
@@ -39,24 +42,29 @@ public class TableauProjectPlugin implements Plugin<Project> {
 
     @Override
     public void apply(@NotNull Project target) {
-        target.getPlugins().apply(ScriptingPlugin.class);
-        target.getPlugins().apply(UtilitiesPlugin.class);
-        target.getPlugins().apply(LocalFileConfigurationPlugin.class);
-        target.getPlugins().apply(CommonPlugin.class);
-        target.getPlugins().apply(JavaPlugin.class);
-        target.getPlugins().apply(SourcesetManagementPlugin.class);
-        target.getPlugins().apply(ResourceProcessingPlugin.class);
-        target.getPlugins().apply(NeoGradlePlugin.class);
-        target.getPlugins().apply(JetbrainsAnnotationsPlugin.class);
-        target.getPlugins().apply(MavenPublishingPlugin.class);
-        target.getPlugins().apply(ChangelogPlugin.class);
-
-        FeaturePluginManager.applyFeaturePlugin(target, GitPlugin.class, ModuleFeatures::getUsesGit);
-        FeaturePluginManager.applyFeaturePlugin(target, ParchmentPlugin.class, ModuleFeatures::getUsesParchment);
-        FeaturePluginManager.applyFeaturePlugin(target, ShadowingPlugin.class, ModuleFeatures::getUsesShadowing);
-        FeaturePluginManager.applyFeaturePlugin(target, JarJarPlugin.class, ModuleFeatures::getUsesJarJar);
-        FeaturePluginManager.applyFeaturePlugin(target, CurseForgePlugin.class, ModuleFeatures::getUsesCurse);
-        FeaturePluginManager.applyFeaturePlugin(target, CrowdinPlugin.class, ModuleFeatures::getUsesCrowdin);
+        ConfigurationProfiler.profile(target, "plugin", "TableauProjectPlugin", () -> {
+            target.getPlugins().apply(ScriptingPlugin.class);
+            target.getPlugins().apply(UtilitiesPlugin.class);
+            target.getPlugins().apply(LocalFileConfigurationPlugin.class);
+            target.getPlugins().apply(CommonPlugin.class);
+            target.getPlugins().apply(JavaPlugin.class);
+            target.getPlugins().apply(SourcesetManagementPlugin.class);
+            target.getPlugins().apply(ResourceProcessingPlugin.class);
+            target.getPlugins().apply(NeoGradlePlugin.class);
+            target.getPlugins().apply(JetbrainsAnnotationsPlugin.class);
+            target.getPlugins().apply(MavenPublishingPlugin.class);
+            target.getPlugins().apply(ChangelogPlugin.class);
 
+            //Maven publishing, which is always applied, needs git, so git is never deferred.
+            FeaturePluginManager.applyFeaturePlugin(target, GitPlugin.class, ModuleFeatures::getUsesGit);
+            FeaturePluginManager.applyFeaturePlugin(target, ParchmentPlugin.class, ModuleFeatures::getUsesParchment, ParchmentExtension.EXTENSION_NAME, ParchmentExtension.class);
+            //Shadowing and jar-in-jar change the primary jar, and add DSL outside of their component, so they are always applied eagerly.
+            FeaturePluginManager.applyFeaturePlugin(target, ShadowingPlugin.class, ModuleFeatures::getUsesShadowing);
+            FeaturePluginManager.applyFeaturePlugin(target, JarJarPlugin.class, ModuleFeatures::getUsesJarJar);
+            //CurseForge hooks its upload into publish, so publish has to apply it as well.
+            FeaturePluginManager.applyFeaturePlugin(target, CurseForgePlugin.class, ModuleFeatures::getUsesCurse, CurseForgeExtension.EXTENSION_NAME, CurseForgeExtension.class, "curseforge", "publish");
+            //Crowdin adds the translations to the processed resources, which is needed even when its DSL is never accessed.
+            FeaturePluginManager.applyFeaturePlugin(target, CrowdinPlugin.class, ModuleFeatures::getUsesCrowdin);
+        });
     }
 }
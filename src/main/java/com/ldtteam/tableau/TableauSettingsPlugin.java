@@ -31,7 +31,8 @@ public class TableauSettingsPlugin implements Plugin<Settings> {
         ModuleFeatures moduleFeatures = target.getGradle().getExtensions().create(ModuleFeatures.EXTENSION_NAME, ModuleFeatures.class);
         target.getExtensions().add(ModuleFeatures.EXTENSION_NAME, moduleFeatures);
 
-        target.getGradle().beforeProject(project -> {
+        //Registered as an isolated action, so that projects can be configured in parallel under isolated projects.
+        target.getGradle().getLifecycle().beforeProject(project -> {
             project.getPlugins().apply(TableauPlugin.class);
         });
     }
@@ -41,6 +41,7 @@ public abstract class ModuleFeatures {
         getUsesCurse().convention(false);
         getUsesParchment().convention(false);
         getUsesGit().convention(false);
+        getActivatesOnDemand().convention(false);
     }
 
     /**
@@ -84,4 +85,14 @@ public abstract class ModuleFeatures {
      * @return The property for whether the project uses git.
      */
     public abstract Property<Boolean> getUsesGit();
+
+    /**
+     * Gets the property for whether enabled features are activated on demand.
+     * <p>
+     * When set, features which support it are only applied once their DSL is accessed, or one of their tasks is requested.
+     * Currently these are Parchment and CurseForge, the other features are always applied when enabled.
+     *
+     * @return The property for whether enabled features are activated on demand.
+     */
+    public abstract Property<Boolean> getActivatesOnDemand();
 }
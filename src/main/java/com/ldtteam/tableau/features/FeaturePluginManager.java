@@ -1,11 +1,15 @@
 package com.ldtteam.tableau.features;
 
 import com.ldtteam.tableau.extensions.ModuleFeatures;
+import com.ldtteam.tableau.scripting.extensions.TableauScriptingExtension;
+import com.ldtteam.tableau.scripting.profiling.ConfigurationProfiler;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.provider.Property;
 
+import java.util.Arrays;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * Manager for features.
@@ -29,7 +33,78 @@ public class FeaturePluginManager {
         final ModuleFeatures features = ModuleFeatures.get(project);
 
         if (featureEnabled.apply(features).get()) {
-            project.getPlugins().apply(plugin);
+            apply(project, plugin);
         }
     }
+
+    /**
+     * Apply a feature if it is enabled, on demand if the features are activated on demand.
+     * <p>
+     * When activated on demand, the plugin is applied the first time its DSL component is accessed, by name or by type,
+     * or immediately when one of its tasks, or a task it hooks into, is requested. This way neither the plugin, nor the third party plugins it
+     * depends on, are loaded for projects which do not use the feature.
+     *
+     * @param project        The project to apply the feature to.
+     * @param plugin         The plugin to apply.
+     * @param featureEnabled The feature enabled property.
+     * @param componentName  The name of the DSL component the plugin registers.
+     * @param componentType  The type of the DSL component the plugin registers.
+     * @param taskNames      The names of the tasks the plugin registers, or hooks into.
+     */
+    public static void applyFeaturePlugin(final Project project, final Class<? extends Plugin<?>> plugin, final Function<ModuleFeatures, Property<Boolean>> featureEnabled,
+                                          final String componentName, final Class<?> componentType, final String... taskNames) {
+        final ModuleFeatures features = ModuleFeatures.get(project);
+
+        if (!featureEnabled.apply(features).get()) {
+            return;
+        }
+
+        if (!features.getActivatesOnDemand().get() || isRequested(project, taskNames)) {
+            apply(project, plugin);
+            return;
+        }
+
+        TableauScriptingExtension.registerOnDemand(project, componentName, componentType, () -> apply(project, plugin));
+    }
+
+    private static void apply(final Project project, final Class<? extends Plugin<?>> plugin) {
+        ConfigurationProfiler.profile(project, "feature", plugin.getSimpleName(), () -> project.getPlugins().apply(plugin));
+    }
+
+    private static boolean isRequested(final Project project, final String... taskNames) {
+        return project.getGradle().getStartParameter().getTaskNames().stream()
+                //Task options, like --tests, are part of the requested tasks as well.
+                .filter(taskPath -> !taskPath.startsWith("-"))
+                .map(taskPath -> taskPath.substring(taskPath.lastIndexOf(':') + 1))
+                .anyMatch(requested -> Arrays.stream(taskNames).anyMatch(taskName -> matches(requested, taskName)));
+    }
+
+    /**
+     * Checks whether the requested name selects the given task name, the way Gradle selects tasks from the command line.
+     * <p>
+     * Every camel case part of the requested name has to be a prefix of the matching part of the task name, so that
+     * {@code cUp} selects {@code crowdinUpload}. A prefix of the task name, ignoring case, selects it as well.
+     * Selecting a task which does not exist only applies the plugin early, so the match errs on the side of a match.
+     *
+     * @param requested The name requested on the command line, without its project path.
+     * @param taskName  The name of a task.
+     * @return True when the requested name may select the task.
+     */
+    private static boolean matches(final String requested, final String taskName) {
+        if (requested.isEmpty()) {
+            return false;
+        }
+
+        final StringBuilder pattern = new StringBuilder();
+        int start = 0;
+        for (int i = 1; i <= requested.length(); i++) {
+            if (i == requested.length() || Character.isUpperCase(requested.charAt(i))) {
+                pattern.append(Pattern.quote(requested.substring(start, i))).append("[\\p{javaLowerCase}\\p{Digit}]*");
+                start = i;
+            }
+        }
+
+        return taskName.regionMatches(true, 0, requested, 0, requested.length())
+                || Pattern.compile(pattern.toString()).matcher(taskName).lookingAt();
+    }
 }
@@ -0,0 +1,191 @@
+package com.ldtteam.tableau;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The stored timings the performance scenarios are compared against, and the timings measured in this run.
+ * <p>
+ * Timings are stored in milliseconds, keyed by {@code <example>.<scenario>}. The measured timings are always written
+ * to the results file, and replace the stored baselines when updating the baselines is requested.
+ * <p>
+ * Timings depend on the machine, so next to the scenarios a calibration build, an empty project without Tableau, is
+ * measured and stored under {@value #CALIBRATION_KEY}. Stored baselines are scaled by the ratio of the calibration
+ * measured in this run to the stored calibration, so that baselines recorded on one machine can be compared on another.
+ * Baselines without a stored calibration can not be scaled, and are treated as missing.
+ */
+final class Baselines {
+
+    private static final String BASELINES_PROPERTY = "tableau.performance.baselines";
+    private static final String RESULTS_PROPERTY = "tableau.performance.results";
+    private static final String THRESHOLD_PROPERTY = "tableau.performance.threshold";
+    private static final String UPDATE_PROPERTY = "tableau.performance.updateBaselines";
+    private static final String REQUIRED_PROPERTY = "tableau.performance.requireBaselines";
+
+    private static final String CALIBRATION_KEY = "calibration";
+
+    private static final String HEADER = "Median wall time in milliseconds per example and scenario, and of the calibration build, see src/performanceTest.";
+
+    private final Properties stored;
+    private final Map<String, Long> measured = new TreeMap<>();
+    private long calibration = -1;
+
+    private Baselines(Properties stored) {
+        this.stored = stored;
+    }
+
+    /**
+     * Loads the stored baselines.
+     *
+     * @return The baselines.
+     */
+    static Baselines load() {
+        final Properties stored = new Properties();
+        final Path file = Path.of(requireProperty(BASELINES_PROPERTY));
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                stored.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load the performance baselines: " + file, e);
+            }
+        }
+        return new Baselines(stored);
+    }
+
+    /**
+     * Records the timing of the calibration build in this run, which the stored baselines are scaled by.
+     *
+     * @param millis The measured timing in milliseconds.
+     */
+    synchronized void calibrate(long millis) {
+        calibration = millis;
+        measured.put(CALIBRATION_KEY, millis);
+    }
+
+    /**
+     * The stored baseline of the given scenario, scaled to the machine of this run.
+     *
+     * @param example  The name of the example.
+     * @param scenario The scenario.
+     * @return The baseline in milliseconds, or empty when none is stored, or it can not be scaled.
+     */
+    synchronized OptionalLong baseline(String example, PerformanceScenario scenario) {
+        return scaled(key(example, scenario));
+    }
+
+    private OptionalLong scaled(String key) {
+        final String value = stored.getProperty(key);
+        final String storedCalibration = stored.getProperty(CALIBRATION_KEY);
+        if (value == null || storedCalibration == null || calibration < 0) {
+            return OptionalLong.empty();
+        }
+
+        return OptionalLong.of(Math.round(Long.parseLong(value.strip()) * (double) calibration / Long.parseLong(storedCalibration.strip())));
+    }
+
+    /**
+     * Records the timing measured for the given scenario.
+     *
+     * @param example  The name of the example.
+     * @param scenario The scenario.
+     * @param millis   The measured timing in milliseconds.
+     */
+    synchronized void record(String example, PerformanceScenario scenario, long millis) {
+        measured.put(key(example, scenario), millis);
+    }
+
+    /**
+     * The timing measured for the given scenario in this run.
+     *
+     * @param example  The name of the example.
+     * @param scenario The scenario.
+     * @return The timing in milliseconds, or empty when the scenario was not measured.
+     */
+    synchronized OptionalLong measured(String example, PerformanceScenario scenario) {
+        final Long millis = measured.get(key(example, scenario));
+        return millis == null ? OptionalLong.empty() : OptionalLong.of(millis);
+    }
+
+    /**
+     * The relative slowdown over the baseline which is tolerated.
+     *
+     * @return The threshold, for example {@code 0.2} for twenty percent.
+     */
+    static double threshold() {
+        return Double.parseDouble(System.getProperty(THRESHOLD_PROPERTY, "0.2"));
+    }
+
+    /**
+     * Indicates whether a scenario without a baseline fails, instead of only being recorded.
+     * <p>
+     *     Enabled on CI, where a missing baseline means the comparison silently never happens.
+     *
+     * @return True when baselines are required.
+     */
+    static boolean isRequired() {
+        return Boolean.getBoolean(REQUIRED_PROPERTY);
+    }
+
+    /**
+     * Indicates whether the measured timings should replace the stored baselines.
+     *
+     * @return True when the baselines are updated.
+     */
+    static boolean isUpdating() {
+        return Boolean.getBoolean(UPDATE_PROPERTY);
+    }
+
+    /**
+     * Writes the measured timings to the results file, and to the baselines file when updating.
+     */
+    synchronized void write() {
+        if (measured.isEmpty()) {
+            return;
+        }
+
+        write(Path.of(requireProperty(RESULTS_PROPERTY)), measured);
+        if (isUpdating()) {
+            //Baselines which were not measured in this run are kept, scaled to the calibration they are stored with.
+            final Map<String, Long> updated = new TreeMap<>();
+            stored.stringPropertyNames().forEach(key -> scaled(key).ifPresent(value -> updated.put(key, value)));
+            updated.putAll(measured);
+            write(Path.of(requireProperty(BASELINES_PROPERTY)), updated);
+        }
+    }
+
+    private static void write(Path file, Map<String, Long> timings) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                //Written by hand instead of through Properties#store, so the file is sorted and has no timestamp.
+                writer.write("# " + HEADER + System.lineSeparator());
+                for (final Map.Entry<String, Long> timing : timings.entrySet()) {
+                    writer.write(timing.getKey() + "=" + timing.getValue() + System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the performance timings: " + file, e);
+        }
+    }
+
+    private static String key(String example, PerformanceScenario scenario) {
+        return example + "." + scenario.key();
+    }
+
+    private static String requireProperty(String name) {
+        final String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalStateException("The %s system property is not set".formatted(name));
+        }
+        return value;
+    }
+}
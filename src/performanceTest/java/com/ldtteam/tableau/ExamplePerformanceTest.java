@@ -0,0 +1,153 @@
+package com.ldtteam.tableau;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.gradle.testkit.runner.GradleRunner;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Runs the scenarios over every example project, and compares their timings against the stored baselines.
+ * <p>
+ * All runs use the {@link LocalServices local stand-ins} of the remote services, and are offline. Each scenario is
+ * warmed up first, and the median of the wall times of the measured runs is compared against the baseline, scaled by
+ * the calibration build, see {@link Baselines}. A scenario fails when it is slower than its baseline by more than the threshold.
+ * Scenarios without a baseline fail when baselines are required, which they are on CI, and are otherwise recorded
+ * with a warning.
+ * <p>
+ * When seeding the local services, every scenario runs once against the real repositories, and nothing is measured.
+ */
+public class ExamplePerformanceTest {
+
+    private static final int WARM_UP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    private static Baselines baselines;
+    private static LocalServices services;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeAll
+    static void loadBaselines(@TempDir Path calibrationDirectory) throws IOException {
+        baselines = Baselines.load();
+        services = LocalServices.start(calibrationDirectory);
+        if (LocalServices.isSeeding()) {
+            return;
+        }
+
+        //An empty build, which measures the speed of this machine, not of Tableau.
+        Files.writeString(calibrationDirectory.resolve("settings.gradle"), "rootProject.name = 'calibration'" + System.lineSeparator());
+        Files.writeString(calibrationDirectory.resolve("build.gradle"), "");
+        final GradleRunner runner = services.configure(GradleRunner.create()
+                .withProjectDir(calibrationDirectory.toFile())
+                .withArguments("help", "--no-configuration-cache"));
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            measure(runner);
+        }
+        baselines.calibrate(median(() -> measure(runner)));
+    }
+
+    @AfterAll
+    static void writeResults() {
+        services.close();
+        if (LocalServices.isSeeding()) {
+            services.export();
+            return;
+        }
+
+        baselines.write();
+
+        //Reports how the parallel jar writer compares against the stock jar implementation on each example.
+        for (final String example : ExampleProject.names()) {
+            final OptionalLong parallel = baselines.measured(example, PerformanceScenario.JAR);
+            final OptionalLong stock = baselines.measured(example, PerformanceScenario.JAR_STOCK);
+            if (parallel.isPresent() && stock.isPresent()) {
+                System.out.printf("Jar of %s: %d ms with parallel compression, %d ms with the stock implementation%n",
+                        example, parallel.getAsLong(), stock.getAsLong());
+            }
+        }
+    }
+
+    static Stream<Arguments> scenarios() {
+        return ExampleProject.names().stream()
+                .flatMap(example -> Arrays.stream(PerformanceScenario.values()).map(scenario -> Arguments.of(example, scenario)));
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("scenarios")
+    public void testScenarioDoesNotRegress(String example, PerformanceScenario scenario) throws Exception {
+        final Path projectDirectory = directory.resolve(example);
+        final ExampleProject project = ExampleProject.copy(example, projectDirectory);
+        assumeTrue(scenario.appliesTo(projectDirectory), "%s does not apply to %s".formatted(scenario, example));
+        scenario.configure(projectDirectory);
+
+        LocalServices.initializeGit(projectDirectory, directory.resolve("origin.git"));
+
+        if (LocalServices.isSeeding()) {
+            run(project, scenario);
+            return;
+        }
+
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            run(project, scenario);
+        }
+        final long median = median(() -> run(project, scenario));
+        baselines.record(example, scenario, median);
+
+        final OptionalLong baseline = baselines.baseline(example, scenario);
+        if (Baselines.isUpdating()) {
+            return;
+        }
+
+        if (baseline.isEmpty()) {
+            final String message = "%s of %s has no baseline, store the baselines with: ./gradlew performanceTest -PupdateBaselines"
+                    .formatted(scenario, example);
+            if (Baselines.isRequired()) {
+                fail(message);
+            }
+
+            System.err.println("WARNING: " + message);
+            return;
+        }
+
+        final long limit = Math.round(baseline.getAsLong() * (1 + Baselines.threshold()));
+        assertTrue(median <= limit, "%s of %s took %d ms, the baseline is %d ms and at most %d ms are tolerated"
+                .formatted(scenario, example, median, baseline.getAsLong(), limit));
+    }
+
+    private static long median(LongSupplier measured) {
+        final long[] timings = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            timings[i] = measured.getAsLong();
+        }
+        Arrays.sort(timings);
+        return timings[MEASURED_RUNS / 2];
+    }
+
+    private static long measure(GradleRunner runner) {
+        final long start = System.nanoTime();
+        runner.build();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static long run(ExampleProject project, PerformanceScenario scenario) {
+        final String[] arguments = Stream.concat(Arrays.stream(scenario.arguments()), Stream.of("--stacktrace"))
+                .toArray(String[]::new);
+        return measure(services.configure(project.runner(arguments)));
+    }
+}
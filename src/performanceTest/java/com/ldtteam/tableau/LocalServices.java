@@ -0,0 +1,227 @@
+package com.ldtteam.tableau;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.sun.net.httpserver.HttpServer;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.transport.URIish;
+import org.gradle.testkit.runner.GradleRunner;
+
+/**
+ * Local stand-ins for the remote services the example projects use.
+ * <p>
+ * The examples read their repository information from git, the stand-in is a local repository with a local
+ * bare repository as origin.
+ * <p>
+ * Dependencies are resolved from a local file repository: an init script points every maven repository of the
+ * examples at it, and all runs are offline, so the game files NeoGradle downloads outside of maven repositories
+ * are taken from the Gradle user home the runs share. Both are created once by seeding, which runs every scenario
+ * against the real repositories without measuring it, and copies what was downloaded into the local repository.
+ * <p>
+ * The Crowdin and CurseForge integrations are configured with stub credentials, and the init script replaces the
+ * remote call of their tasks by a request to a local stub server.
+ */
+final class LocalServices implements AutoCloseable {
+
+    private static final String DIRECTORY_PROPERTY = "tableau.performance.services";
+    private static final String SEED_PROPERTY = "tableau.performance.seed";
+
+    private static final Set<String> CREDENTIALS = Set.of(
+            "CROWDIN_API_KEY",
+            "CURSE_API_KEY",
+            "GITHUB_TOKEN",
+            "GITHUB_USERNAME",
+            "MAVEN_PASSWORD",
+            "MAVEN_TOKEN",
+            "MAVEN_USERNAME"
+    );
+
+    private static final Map<String, String> STUB_CREDENTIALS = Map.of(
+            "CROWDIN_API_KEY", "stub-token",
+            "CURSE_API_KEY", "stub-token"
+    );
+
+    private static final String REPOSITORY_REDIRECT = """
+            def repository = new URI('%s')
+            def redirect = { repositories ->
+                repositories.withType(MavenArtifactRepository).configureEach { it.url = repository }
+            }
+
+            beforeSettings { settings ->
+                redirect(settings.pluginManagement.repositories)
+                redirect(settings.dependencyResolutionManagement.repositories)
+            }
+
+            allprojects { project ->
+                redirect(project.buildscript.repositories)
+                redirect(project.repositories)
+            }
+            """;
+
+    private static final String REMOTE_TASKS = """
+            allprojects { project ->
+                project.tasks.matching { it.name.startsWith('crowdin') || it.name == 'curseforge' }.configureEach { task ->
+                    task.actions = []
+                    task.doFirst {
+                        new URL("%s/${task.name}").text
+                    }
+                }
+            }
+            """;
+
+    private static final PersonIdent AUTHOR = new PersonIdent("Tableau", "tableau@example.com", Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private final Path repository;
+    private final Path gradleHome;
+    private final Path initScript;
+    private final HttpServer server;
+
+    private LocalServices(Path repository, Path gradleHome, Path initScript, HttpServer server) {
+        this.repository = repository;
+        this.gradleHome = gradleHome;
+        this.initScript = initScript;
+        this.server = server;
+    }
+
+    /**
+     * Starts the stub server, and writes the init script which redirects the examples to the local services.
+     *
+     * @param directory The directory to write the init script to.
+     * @return The started services.
+     * @throws IOException When the stub server could not be started, or the init script could not be written.
+     */
+    static LocalServices start(Path directory) throws IOException {
+        final Path services = Path.of(requireProperty(DIRECTORY_PROPERTY));
+        final Path repository = services.resolve("repository");
+        final Path gradleHome = services.resolve("gradle-home");
+        if (!isSeeding() && !Files.isDirectory(repository)) {
+            throw new IllegalStateException("The local repository %s does not exist, seed it with: ./gradlew performanceTest -PseedPerformanceServices"
+                    .formatted(repository));
+        }
+
+        final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        //While seeding the real repositories are used, to download what the local repository will contain.
+        final StringBuilder script = new StringBuilder();
+        if (!isSeeding()) {
+            script.append(REPOSITORY_REDIRECT.formatted(repository.toUri())).append(System.lineSeparator());
+        }
+        script.append(REMOTE_TASKS.formatted("http://127.0.0.1:" + server.getAddress().getPort()));
+
+        final Path initScript = directory.resolve("local-services.gradle");
+        Files.writeString(initScript, script);
+
+        return new LocalServices(repository, gradleHome, initScript, server);
+    }
+
+    /**
+     * Indicates whether this run seeds the local repository instead of measuring.
+     *
+     * @return True when seeding.
+     */
+    static boolean isSeeding() {
+        return Boolean.getBoolean(SEED_PROPERTY);
+    }
+
+    /**
+     * Turns the given example into a git repository, with a single commit and a local origin.
+     *
+     * @param project The directory of the example.
+     * @param origin  The directory to create the origin repository in.
+     * @throws GitAPIException When a repository could not be created.
+     */
+    static void initializeGit(Path project, Path origin) throws GitAPIException {
+        Git.init().setBare(true).setDirectory(origin.toFile()).call().close();
+
+        try (Git git = Git.init().setDirectory(project.toFile()).setInitialBranch("main").call()) {
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("Initial commit").setAuthor(AUTHOR).setCommitter(AUTHOR).setSign(false).call();
+            git.remoteAdd().setName("origin").setUri(new URIish(origin.toUri().toString())).call();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid origin: " + origin, e);
+        }
+    }
+
+    /**
+     * Configures the given runner to use the local services: the shared Gradle user home, the init script, the
+     * environment with stub credentials, and offline mode unless seeding.
+     *
+     * @param runner The runner to configure.
+     * @return The configured runner.
+     */
+    GradleRunner configure(GradleRunner runner) {
+        final Stream<String> arguments = Stream.concat(runner.getArguments().stream(), Stream.of("--init-script", initScript.toString()));
+        return runner.withTestKitDir(gradleHome.toFile())
+                .withEnvironment(environment())
+                .withArguments((isSeeding() ? arguments : Stream.concat(arguments, Stream.of("--offline"))).toList());
+    }
+
+    /**
+     * Copies the dependencies which were downloaded while seeding from the Gradle user home into the local repository,
+     * in the layout of a maven repository.
+     */
+    void export() {
+        final Path files = gradleHome.resolve("caches/modules-2/files-2.1");
+        if (!Files.isDirectory(files)) {
+            return;
+        }
+
+        //The cache stores files as <group>/<module>/<version>/<hash>/<file>.
+        try (Stream<Path> cached = Files.walk(files)) {
+            for (final Path file : (Iterable<Path>) cached.filter(Files::isRegularFile)::iterator) {
+                final Path relative = files.relativize(file);
+                if (relative.getNameCount() != 5) {
+                    continue;
+                }
+
+                final Path destination = repository.resolve(relative.getName(0).toString().replace('.', '/'))
+                        .resolve(relative.getName(1).toString())
+                        .resolve(relative.getName(2).toString())
+                        .resolve(relative.getName(4).toString());
+                Files.createDirectories(destination.getParent());
+                Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export the local repository: " + repository, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static Map<String, String> environment() {
+        final Map<String, String> environment = new HashMap<>(System.getenv());
+        environment.keySet().removeAll(CREDENTIALS);
+        environment.putAll(STUB_CREDENTIALS);
+        return environment;
+    }
+
+    private static String requireProperty(String name) {
+        final String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalStateException("The %s system property is not set".formatted(name));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ldtteam.tableau;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * The measured scenarios, each scenario runs a single part of the build of an example project.
+ * <p>
+ * Task scenarios force their task to run with {@code --rerun}, so that the task action is measured and not just the
+ * up-to-date check. A scenario can append configuration to the build script of the example before it runs.
+ */
+enum PerformanceScenario {
+    /**
+     * Configures the example, without running any work.
+     */
+    CONFIGURATION(project -> true, "help", "--no-configuration-cache"),
+    /**
+     * Processes the resources of the example.
+     */
+    PROCESS_RESOURCES(project -> true, "processResources", "--rerun"),
+    /**
+     * Generates the neoforge metadata file, only for the examples which configure metadata.
+     */
+    METADATA(project -> contains(project.resolve("build.gradle"), "metadata"), "writeNeoForgeMetadata", "--rerun"),
+    /**
+     * Assembles the jar of the example, with the entries compressed in parallel by Tableau.
+     */
+    JAR(project -> true, "jar", "--rerun"),
+    /**
+     * Assembles the jar of the example, with the entries compressed by the stock jar implementation, to compare
+     * against {@link #JAR}.
+     */
+    JAR_STOCK("""
+
+            tasks.withType(com.ldtteam.tableau.java.tasks.TableauJar).configureEach {
+                parallelCompression = false
+            }
+            """, project -> true, "jar", "--rerun");
+
+    private final Predicate<Path> appliesTo;
+    private final String configuration;
+    private final String[] arguments;
+
+    PerformanceScenario(Predicate<Path> appliesTo, String... arguments) {
+        this("", appliesTo, arguments);
+    }
+
+    PerformanceScenario(String configuration, Predicate<Path> appliesTo, String... arguments) {
+        this.appliesTo = appliesTo;
+        this.configuration = configuration;
+        this.arguments = arguments;
+    }
+
+    /**
+     * Indicates whether this scenario can be run for the given example.
+     *
+     * @param project The directory of the example.
+     * @return True when the example supports this scenario.
+     */
+    boolean appliesTo(Path project) {
+        return appliesTo.test(project);
+    }
+
+    /**
+     * Appends the configuration of this scenario to the build script of the given example.
+     *
+     * @param project The directory of the example.
+     */
+    void configure(Path project) {
+        if (configuration.isEmpty()) {
+            return;
+        }
+
+        try {
+            Files.writeString(project.resolve("build.gradle"), configuration, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to configure: " + project, e);
+        }
+    }
+
+    /**
+     * The arguments which run this scenario.
+     *
+     * @return The arguments.
+     */
+    String[] arguments() {
+        return arguments.clone();
+    }
+
+    /**
+     * The key of this scenario in the baselines.
+     *
+     * @return The key.
+     */
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean contains(Path file, String text) {
+        try {
+            return Files.isRegularFile(file) && Files.readString(file).contains(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read: " + file, e);
+        }
+    }
+}